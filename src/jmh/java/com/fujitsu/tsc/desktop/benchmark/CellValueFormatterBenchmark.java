@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2022 Fujitsu Limited. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0(the "License").
+ * You may obtain a copy of the License at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.fujitsu.tsc.desktop.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fujitsu.tsc.desktop.util.CellValueFormatter;
+
+/**
+ * This benchmark formats all cells of the bundled excel/*.xlsx templates as strings:
+ * with a new DataFormatter for each cell (as ExcelReader did), with one shared DataFormatter, and with {@link CellValueFormatter}.
+ * Another folder of templates can be given with "-Dtsc.benchmark.templates=folder".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CellValueFormatterBenchmark {
+
+	public static final String DEFAULT_TEMPLATES = "excel";
+
+	private List<Workbook> workbooks = new ArrayList<>();
+	private List<Cell> cells = new ArrayList<>();
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		File[] templates = new File(System.getProperty("tsc.benchmark.templates", DEFAULT_TEMPLATES)).listFiles((dir, name) -> name.endsWith(".xlsx"));
+		if (templates == null || templates.length == 0) {
+			throw new IllegalStateException("No templates are found. Run from the project root, or set tsc.benchmark.templates.");
+		}
+		Arrays.sort(templates);
+		for (File template : templates) {
+			Workbook workbook = WorkbookFactory.create(template, null, true);
+			workbooks.add(workbook);
+			for (Sheet sheet : workbook) {
+				for (Row row : sheet) {
+					for (Cell cell : row) {
+						cells.add(cell);
+					}
+				}
+			}
+		}
+		/* Fail early if CellValueFormatter does not format the cells in the same way as DataFormatter. */
+		DataFormatter formatter = new DataFormatter();
+		for (Cell cell : cells) {
+			if (!formatter.formatCellValue(cell).equals(CellValueFormatter.format(cell))) {
+				throw new IllegalStateException("Different value at " + cell.getSheet().getSheetName() + "!" + cell.getAddress());
+			}
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		for (Workbook workbook : workbooks) {
+			workbook.close();
+		}
+	}
+
+	@Benchmark
+	public int newFormatterPerCell() {
+		int length = 0;
+		for (Cell cell : cells) {
+			length += new DataFormatter().formatCellValue(cell).length();
+		}
+		return length;
+	}
+
+	@Benchmark
+	public int sharedFormatter() {
+		DataFormatter formatter = new DataFormatter();
+		int length = 0;
+		for (Cell cell : cells) {
+			length += formatter.formatCellValue(cell).length();
+		}
+		return length;
+	}
+
+	@Benchmark
+	public int cellValueFormatter() {
+		int length = 0;
+		for (Cell cell : cells) {
+			length += CellValueFormatter.format(cell).length();
+		}
+		return length;
+	}
+}
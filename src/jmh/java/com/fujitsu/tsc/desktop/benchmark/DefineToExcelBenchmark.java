@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2022 Fujitsu Limited. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0(the "License").
+ * You may obtain a copy of the License at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.fujitsu.tsc.desktop.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.xml.sax.SAXException;
+
+import com.fujitsu.tsc.desktop.batch.DefineExportService;
+import com.fujitsu.tsc.desktop.importer.DefineImporter;
+import com.fujitsu.tsc.desktop.importer.models.DefineModel;
+import com.fujitsu.tsc.desktop.util.Config;
+
+/**
+ * This benchmark measures each stage of the Define-XML to Excel conversion separately:
+ * import (DefineImporter#validateSoft) and workbook generation (DefineImporter#generateWorkbook and write).
+ * The Define-XML is converted from a specification generated by {@link SyntheticSpecGenerator} at each scale.
+ * Scale 1000 takes too long for a default run, and is measured only when requested with "-p scale=1000".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class DefineToExcelBenchmark {
+
+	@Param({"10", "100"})
+	public int scale;
+
+	private File work_dir;
+	private Config config;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		this.work_dir = Files.createTempDirectory("tsc-benchmark").toFile();
+		File spec = new File(work_dir, "spec.xlsx");
+		File define_xml = new File(work_dir, "define.xml");
+		new SyntheticSpecGenerator(new File(System.getProperty("tsc.benchmark.template", SyntheticSpecGenerator.DEFAULT_TEMPLATE))).generate(scale, spec);
+
+		Config e2d_config = new Config();
+		e2d_config.e2dDefineVersion = "2.1.n";
+		e2d_config.e2dDatasetType = Config.DatasetType.SDTM;
+		e2d_config.e2dStylesheetLocation = "define2-1.xsl";
+		e2d_config.e2dDataSourceLocation = spec.getPath();
+		e2d_config.e2dOutputLocation = define_xml.getPath();
+		DefineExportService.ExportResult result = DefineExportService.export(e2d_config);
+		if (result.hasErrors()) {
+			throw new IllegalStateException("Failed to generate " + define_xml, result.getException());
+		}
+
+		this.config = new Config();
+		config.d2eDefineVersion = "2.1.n";
+		config.d2eDatasetType = "SDTM";
+		config.d2eDataSourceLocation = define_xml.getPath();
+		config.d2eOutputLocation = new File(work_dir, "define.xlsx").getPath();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(work_dir);
+	}
+
+	@Benchmark
+	public DefineModel importDefine() throws SAXException, ParserConfigurationException, IOException {
+		DefineImporter importer = new DefineImporter(config);
+		importer.validateSoft();
+		return importer.getDefineModel();
+	}
+
+	/**
+	 * generateWorkbook() updates the model, so a new model is imported before each invocation.
+	 */
+	@State(Scope.Thread)
+	public static class ImportedModel {
+		DefineModel define;
+
+		@Setup(Level.Invocation)
+		public void setUp(DefineToExcelBenchmark benchmark) throws SAXException, ParserConfigurationException, IOException {
+			this.define = benchmark.importDefine();
+		}
+	}
+
+	@Benchmark
+	public void generateWorkbook(ImportedModel model) throws IOException {
+		DefineImporter importer = new DefineImporter(config);
+		importer.setDefineModel(model.define);
+		try (SXSSFWorkbook wb = importer.generateWorkbook()) {
+			try (OutputStream out = new FileOutputStream(config.d2eOutputLocation)) {
+				wb.write(out);
+			} finally {
+				wb.dispose();
+			}
+		}
+	}
+}
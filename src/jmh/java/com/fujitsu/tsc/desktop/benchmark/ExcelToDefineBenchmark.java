@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2022 Fujitsu Limited. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0(the "License").
+ * You may obtain a copy of the License at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.fujitsu.tsc.desktop.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fujitsu.tsc.desktop.exporter.DefineXmlWriter2;
+import com.fujitsu.tsc.desktop.exporter.model.XmlDocument;
+import com.fujitsu.tsc.desktop.importer.ExcelSheetSource;
+import com.fujitsu.tsc.desktop.importer.SdtmAdamSpecImporter;
+import com.fujitsu.tsc.desktop.importer.models.DefineModel;
+import com.fujitsu.tsc.desktop.util.Config;
+import com.fujitsu.tsc.desktop.util.ErrorLog;
+
+/**
+ * This benchmark measures each stage of the Excel to Define-XML conversion separately:
+ * parse (SdtmAdamSpecImporter), bind (DefineXmlWriter2#bind) and serialize (DefineXmlWriter2#writeout).
+ * The specification is generated by {@link SyntheticSpecGenerator} at each scale.
+ * Scale 1000 takes too long for a default run, and is measured only when requested with "-p scale=1000".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ExcelToDefineBenchmark {
+
+	@Param({"10", "100"})
+	public int scale;
+
+	private File work_dir;
+	private Config config;
+	private DefineModel define;
+	private XmlDocument xml_document;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		this.work_dir = Files.createTempDirectory("tsc-benchmark").toFile();
+		File spec = new File(work_dir, "spec.xlsx");
+		new SyntheticSpecGenerator(new File(System.getProperty("tsc.benchmark.template", SyntheticSpecGenerator.DEFAULT_TEMPLATE))).generate(scale, spec);
+
+		this.config = new Config();
+		config.e2dDefineVersion = "2.1.n";
+		config.e2dDatasetType = Config.DatasetType.SDTM;
+		config.e2dStylesheetLocation = "define2-1.xsl";
+		config.e2dDataSourceLocation = spec.getPath();
+		config.e2dOutputLocation = new File(work_dir, "define.xml").getPath();
+
+		/* Fail early rather than measuring a conversion that stops at parse errors. */
+		try (ExcelSheetSource source = ExcelSheetSource.open(spec)) {
+			SdtmAdamSpecImporter importer = new SdtmAdamSpecImporter(config, source);
+			for (ErrorLog error_log : importer.parse()) {
+				if (error_log.getErrorLevel() == ErrorLog.ErrorLevel.ERROR) {
+					throw new IllegalStateException(error_log.print());
+				}
+			}
+			this.define = importer.getDefineModel();
+		}
+		this.xml_document = bind();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(work_dir);
+	}
+
+	@Benchmark
+	public DefineModel parse() throws IOException {
+		try (ExcelSheetSource source = ExcelSheetSource.open(new File(config.e2dDataSourceLocation))) {
+			SdtmAdamSpecImporter importer = new SdtmAdamSpecImporter(config, source);
+			importer.parse();
+			return importer.getDefineModel();
+		}
+	}
+
+	@Benchmark
+	public XmlDocument bind() throws IOException {
+		return new DefineXmlWriter2(config).bind(define);
+	}
+
+	/**
+	 * Sorting the MetaDataVersion children in writeout() is stable, so the same document can be written repeatedly.
+	 */
+	@Benchmark
+	public void serialize() throws IOException {
+		new DefineXmlWriter2(config).writeout(xml_document);
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2022 Fujitsu Limited. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0(the "License").
+ * You may obtain a copy of the License at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.fujitsu.tsc.desktop.benchmark;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import com.fujitsu.tsc.desktop.util.CellValueFormatter;
+
+/**
+ * This class generates a large SDTM/ADaM specification from a bundled template.
+ * The data rows of the DATASET, VARIABLE, VALUE and CODELIST sheets are repeated N times.
+ * Dataset names and codelist IDs of the n-th copy are suffixed with "_n" so that the copies do not collide.
+ */
+public class SyntheticSpecGenerator {
+
+	public static final String DEFAULT_TEMPLATE = "excel/DefineV21n_SDTM_Template.xlsx";
+
+	/* Columns to be suffixed per sheet */
+	private static final Map<String, String[]> KEY_COLUMNS = new HashMap<>();
+	static {
+		KEY_COLUMNS.put("DATASET", new String[] {"Domain", "Dataset Name", "SASDatasetName"});
+		KEY_COLUMNS.put("VARIABLE", new String[] {"Dataset Name", "Codelist"});
+		KEY_COLUMNS.put("VALUE", new String[] {"Dataset Name", "Codelist", "WhereClauseDataset"});
+		KEY_COLUMNS.put("CODELIST", new String[] {"Codelist ID"});
+	}
+
+	private File template;
+
+	public SyntheticSpecGenerator(File template) {
+		this.template = template;
+	}
+
+	/**
+	 * Write the template scaled by the factor to the output file.
+	 * @param scale Number of copies of each data row (1 returns the template as is)
+	 * @param output xlsx file to be created
+	 * @throws IOException
+	 */
+	public void generate(int scale, File output) throws IOException {
+		try (InputStream is = new FileInputStream(template); XSSFWorkbook xssf_wb = new XSSFWorkbook(is)) {
+			/* Existing rows are read from the template, and new rows are streamed out after them. */
+			try (SXSSFWorkbook wb = new SXSSFWorkbook(xssf_wb)) {
+				try {
+					for (Map.Entry<String, String[]> entry : KEY_COLUMNS.entrySet()) {
+						Sheet template_sheet = xssf_wb.getSheet(entry.getKey());
+						if (template_sheet != null) {
+							scaleSheet(template_sheet, wb.getSheet(entry.getKey()), entry.getValue(), scale);
+						}
+					}
+					try (OutputStream out = new FileOutputStream(output)) {
+						wb.write(out);
+					}
+				} finally {
+					wb.dispose();
+				}
+			}
+		}
+	}
+
+	private static void scaleSheet(Sheet template_sheet, Sheet sheet, String[] key_columns, int scale) {
+		/* Find key columns from the header row */
+		Row header = template_sheet.getRow(0);
+		List<Integer> key_indexes = new ArrayList<>();
+		for (Cell cell : header) {
+			String name = CellValueFormatter.format(cell);
+			for (String key_column : key_columns) {
+				if (key_column.equals(name)) {
+					key_indexes.add(cell.getColumnIndex());
+				}
+			}
+		}
+
+		/* Keep the original data rows as strings */
+		List<String[]> rows = new ArrayList<>();
+		for (int row_num = 1; row_num <= template_sheet.getLastRowNum(); row_num++) {
+			Row row = template_sheet.getRow(row_num);
+			if (row == null || row.getLastCellNum() < 0) {
+				continue;
+			}
+			String[] values = new String[row.getLastCellNum()];
+			for (Cell cell : row) {
+				values[cell.getColumnIndex()] = CellValueFormatter.format(cell);
+			}
+			rows.add(values);
+		}
+
+		int row_num = template_sheet.getLastRowNum() + 1;
+		for (int n = 1; n < scale; n++) {
+			String suffix = "_" + n;
+			for (String[] values : rows) {
+				Row row = sheet.createRow(row_num++);
+				for (int col = 0; col < values.length; col++) {
+					String value = values[col];
+					if (value == null || value.isEmpty()) {
+						continue;
+					}
+					if (key_indexes.contains(col)) {
+						value = value + suffix;
+					}
+					row.createCell(col).setCellValue(value);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Usage: SyntheticSpecGenerator scale output.xlsx [template.xlsx]
+	 */
+	public static void main(String[] args) throws IOException {
+		File template = new File(args.length > 2 ? args[2] : DEFAULT_TEMPLATE);
+		new SyntheticSpecGenerator(template).generate(Integer.parseInt(args[0]), new File(args[1]));
+	}
+}
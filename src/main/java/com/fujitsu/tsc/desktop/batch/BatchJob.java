@@ -0,0 +1,234 @@
+/* 
+ * Copyright (c) 2022 Fujitsu Limited. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0(the "License").
+ * You may obtain a copy of the License at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.fujitsu.tsc.desktop.batch;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import com.fujitsu.tsc.desktop.batch.DefineExportService.ExportResult;
+import com.fujitsu.tsc.desktop.exporter.XmlGenerator;
+import com.fujitsu.tsc.desktop.importer.DefineImporter;
+import com.fujitsu.tsc.desktop.importer.OdmImporter;
+import com.fujitsu.tsc.desktop.util.Config;
+import com.fujitsu.tsc.desktop.util.ConversionMetrics;
+import com.fujitsu.tsc.desktop.util.ErrorInfo;
+import com.fujitsu.tsc.desktop.util.ErrorLog;
+import com.fujitsu.tsc.desktop.util.SchemaRegistry;
+import com.fujitsu.tsc.desktop.util.StylesheetRegistry;
+import com.fujitsu.tsc.desktop.util.Utils;
+import com.fujitsu.tsc.desktop.validator.DefaultValidationHandler;
+
+/**
+ * This class runs one conversion with its own {@link Config}, in the same way as the corresponding GUI panel.
+ */
+public class BatchJob {
+	private static Logger logger = LogManager.getLogger();
+
+	public enum Type {
+		E2D,		//Excel to Define-XML
+		D2E,		//Define-XML to Excel
+		E2O,		//Excel to ODM-XML
+		O2E,		//ODM-XML to Excel
+		X2H,		//XML to HTML
+		VALIDATE	//Validate against XML Schema
+	}
+
+	private Type type;
+	private Config config;
+	private String name;
+
+	public BatchJob(Type type, Config config, String name) {
+		this.type = type;
+		this.config = config;
+		this.name = name;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public Config getConfig() {
+		return config;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Run the job.
+	 * @return true if the job has completed without errors. Warnings are logged but do not fail the job.
+	 * @throws Exception
+	 */
+	public boolean run() throws Exception {
+		switch (type) {
+		case E2D:
+			return runExcelToDefine();
+		case D2E:
+			return runDefineToExcel();
+		case E2O:
+			return runExcelToOdm();
+		case O2E:
+			return runOdmToExcel();
+		case X2H:
+			return runXmlToHtml();
+		case VALIDATE:
+			return runValidate();
+		default:
+			return false;
+		}
+	}
+
+	private boolean runExcelToDefine() throws Exception {
+		return reportExcelToDefine(DefineExportService.export(config));
+	}
+
+	/**
+	 * Log the errors and warnings of an E2D job, which may have run on another thread.
+	 * @param result Result of this job
+	 * @return true if the job has completed without errors
+	 * @throws Exception An exception thrown while the job was running
+	 */
+	boolean reportExcelToDefine(ExportResult result) throws Exception {
+		if (result.getException() != null) {
+			throw result.getException();
+		}
+		List<ErrorLog> error_log_errors = result.getErrors();
+		if (!error_log_errors.isEmpty()) {
+			for (ErrorLog error_log_error : error_log_errors) {
+				logger.error(error_log_error.print());
+			}
+			return false;
+		}
+		for (ErrorLog error_log : result.getErrorLogs()) {
+			logger.warn(error_log.print());
+		}
+		return true;
+	}
+
+	private boolean runDefineToExcel() throws Exception {
+		ConversionMetrics metrics = ConversionMetrics.begin("Define-XML to Excel", config.d2eOutputLocation);
+		try {
+			DefineImporter importer = new DefineImporter(config);
+			List<ErrorInfo> errors = ConversionMetrics.time("Validate", () -> importer.validateHard());
+			if (!errors.isEmpty()) {
+				for (ErrorInfo error : errors) {
+					logger.error(error.getMessage());
+				}
+				return false;
+			}
+			errors = ConversionMetrics.time("Import", () -> importer.validateSoft());
+			for (ErrorInfo error : errors) {
+				logger.warn(error.getMessage());
+			}
+			SXSSFWorkbook wb = importer.generateWorkbook();
+			try {
+				ConversionMetrics.time("Write", () -> {
+					try (FileOutputStream out = new FileOutputStream(config.d2eOutputLocation)) {
+						wb.write(out);
+					}
+				});
+			} finally {
+				wb.dispose();
+				wb.close();
+			}
+			metrics.finish().report(logger, config.metricsJson);
+			return true;
+		} finally {
+			metrics.finish();
+		}
+	}
+
+	private boolean runExcelToOdm() throws Exception {
+		XmlGenerator generator = new XmlGenerator(config, Config.RunMode.API);
+		generator.generateOdmXml();
+		return true;
+	}
+
+	/* Sheets written on worker threads by generateExcelAll() are not recorded as stages. */
+	private boolean runOdmToExcel() throws Exception {
+		ConversionMetrics metrics = ConversionMetrics.begin("ODM-XML to Excel", config.o2eOutputLocation);
+		try {
+			OdmImporter importer = new OdmImporter(config);
+			List<ErrorInfo> errors = ConversionMetrics.time("Validate", () -> importer.validateHard());
+			if (!errors.isEmpty()) {
+				for (ErrorInfo error : errors) {
+					logger.error(error.getMessage());
+				}
+				return false;
+			}
+			errors = ConversionMetrics.time("Import", () -> config.o2eAllMetaDataVersions ? importer.validateSoftAll() : importer.validateSoft());
+			for (ErrorInfo error : errors) {
+				logger.warn(error.getMessage());
+			}
+			if (config.o2eAllMetaDataVersions) {
+				int threads = config.o2eThreads > 0 ? config.o2eThreads : Runtime.getRuntime().availableProcessors();
+				for (String output : importer.generateExcelAll(threads)) {
+					logger.info("Created " + output);
+				}
+			} else {
+				importer.generateExcel();
+			}
+			metrics.finish().report(logger, config.metricsJson);
+			return true;
+		} finally {
+			metrics.finish();
+		}
+	}
+
+	/*
+	 * When x2hXmlLocation is a folder, all XML files in it are rendered into the x2hOutputLocation folder.
+	 * If x2hOutputLocation is a file name such as define.html, its folder is used, same as the GUI. A folder that does not exist is created.
+	 */
+	private boolean runXmlToHtml() throws Exception {
+		File xml = new File(config.x2hXmlLocation);
+		if (xml.isDirectory()) {
+			File output = new File(config.x2hOutputLocation);
+			File output_dir;
+			if (output.isDirectory()) {
+				output_dir = output;
+			} else if (StringUtils.endsWithIgnoreCase(output.getName(), ".html") || StringUtils.endsWithIgnoreCase(output.getName(), ".htm")) {
+				output_dir = output.getAbsoluteFile().getParentFile();
+			} else if (output.mkdirs()) {
+				output_dir = output;
+			} else {
+				throw new IOException("x2hOutputLocation must be a folder when x2hXmlLocation is a folder: " + config.x2hOutputLocation);
+			}
+			StylesheetRegistry.transformAll(new File(config.x2hXslLocation), xml, output_dir);
+		} else {
+			StylesheetRegistry.transform(new File(config.x2hXslLocation), xml, new File(config.x2hOutputLocation));
+		}
+		return true;
+	}
+
+	private boolean runValidate() throws Exception {
+		SAXParserFactory sax_factory = SAXParserFactory.newInstance();
+		sax_factory.setSchema(SchemaRegistry.getFileSchema(new File(config.validateSchemaLocation)));
+		sax_factory.setNamespaceAware(true);
+		sax_factory.setValidating(false);
+		Utils.setSaxParserFactorySecureFeatures(sax_factory);
+		SAXParser parser = sax_factory.newSAXParser();
+		DefaultValidationHandler handler = new DefaultValidationHandler();
+		parser.parse(new File(config.validateXmlLocation), handler);
+		for (ErrorInfo error : handler.getErrors()) {
+			logger.error("Line " + error.getLine() + ", Column " + error.getColumn() + ": " + error.getMessage());
+		}
+		return handler.getErrors().isEmpty();
+	}
+}
@@ -0,0 +1,236 @@
+/* 
+ * Copyright (c) 2022 Fujitsu Limited. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0(the "License").
+ * You may obtain a copy of the License at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.fujitsu.tsc.desktop.batch;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fujitsu.tsc.desktop.batch.DefineExportService.ExportResult;
+import com.fujitsu.tsc.desktop.util.Config;
+import com.fujitsu.tsc.desktop.util.InvalidParameterException;
+
+/**
+ * This class is the command line interface that runs jobs listed in a manifest file in one JVM.
+ * Compiled schemas and other resources are shared among the jobs.
+ * <pre>
+ * Usage: BatchRunner [-properties PROPERTIES_FILE] MANIFEST_FILE
+ *
+ * Each line of the manifest is a job type followed by PARAMETER=VALUE pairs separated by ';'.
+ * The parameter names are the same as the ones of main.properties, and override the properties file.
+ * Empty lines and lines starting with '#' are ignored.
+ * Consecutive E2D jobs run at the same time on e2dThreads threads of the properties file. Other jobs run one by one in the order of the manifest.
+ *   E2D e2dDefineVersion=2.1.n;e2dDatasetType=SDTM;e2dDataSourceLocation=./study1/spec.xlsx;e2dOutputLocation=./study1/define.xml
+ *   X2H x2hXmlLocation=./defines;x2hXslLocation=./define2-1.xsl;x2hOutputLocation=./html	(all XML files in a folder)
+ *   VALIDATE validateXmlLocation=./study1/define.xml;validateSchemaLocation=./schema/soft/cdisc-define-2.0/define2-0-0.xsd
+ * </pre>
+ */
+public class BatchRunner {
+	private static Logger logger = LogManager.getLogger();
+	private static final String COMMENT_PREFIX = "#";
+	private static final String PARAMETER_DELIMITER = ";";
+
+	private Properties base_prop;
+	private int e2d_threads;
+
+	/**
+	 * @param base_prop Properties shared by all jobs. Parameters in the manifest precede them.
+	 */
+	public BatchRunner(Properties base_prop) {
+		this.base_prop = base_prop;
+		int threads = new Config(base_prop).e2dThreads;
+		this.e2d_threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Read jobs from a manifest file.
+	 * @param manifest
+	 * @return
+	 * @throws IOException
+	 * @throws InvalidParameterException An unknown job type or a malformed parameter is found.
+	 */
+	public List<BatchJob> readManifest(File manifest) throws IOException, InvalidParameterException {
+		List<BatchJob> jobs = new ArrayList<>();
+		List<String> lines = Files.readAllLines(manifest.toPath(), StandardCharsets.UTF_8);
+		for (int i = 0; i < lines.size(); i++) {
+			String line = lines.get(i).trim();
+			if (StringUtils.isEmpty(line) || line.startsWith(COMMENT_PREFIX)) {
+				continue;
+			}
+			String str_type = StringUtils.substringBefore(line, " ");
+			BatchJob.Type type;
+			try {
+				type = BatchJob.Type.valueOf(str_type.toUpperCase());
+			} catch (IllegalArgumentException ex) {
+				logger.error("An unknown job type is found in line " + (i + 1) + " of " + manifest.getName());
+				throw new InvalidParameterException("Job Type", str_type);
+			}
+			Properties job_prop = new Properties();
+			job_prop.putAll(base_prop);
+			for (String parameter : StringUtils.split(StringUtils.substringAfter(line, " "), PARAMETER_DELIMITER)) {
+				if (StringUtils.isBlank(parameter)) {
+					continue;
+				}
+				if (parameter.indexOf('=') == -1) {
+					logger.error("PARAMETER=VALUE is expected in line " + (i + 1) + " of " + manifest.getName());
+					throw new InvalidParameterException(parameter, "");
+				}
+				job_prop.setProperty(StringUtils.substringBefore(parameter, "=").trim(), StringUtils.substringAfter(parameter, "=").trim());
+			}
+			Config config = new Config(job_prop);
+			config.runMode = Config.RunMode.CLI;
+			jobs.add(new BatchJob(type, config, manifest.getName() + ":" + (i + 1)));
+		}
+		return jobs;
+	}
+
+	/**
+	 * Run jobs in the order of the list. Consecutive E2D jobs run at the same time, because no job uses the output of another in the group.
+	 * A failed job does not stop the following jobs.
+	 * @param jobs
+	 * @return Number of failed jobs
+	 */
+	public int run(List<BatchJob> jobs) {
+		int failed = 0;
+		long batch_start = System.currentTimeMillis();
+		try (DefineExportService service = new DefineExportService(e2d_threads)) {
+			int i = 0;
+			while (i < jobs.size()) {
+				int end = i;
+				while (end < jobs.size() && jobs.get(end).getType() == BatchJob.Type.E2D) {
+					end++;
+				}
+				if (end - i > 1 && e2d_threads > 1) {
+					failed += runExcelToDefineAll(service, jobs.subList(i, end));
+					i = end;
+				} else {
+					if (!runJob(jobs.get(i))) {
+						failed++;
+					}
+					i++;
+				}
+			}
+		}
+		logger.info((jobs.size() - failed) + " job(s) completed, " + failed + " job(s) failed in " + (System.currentTimeMillis() - batch_start) + " ms.");
+		return failed;
+	}
+
+	private boolean runJob(BatchJob job) {
+		logger.info("Running " + job.getType() + " (" + job.getName() + ")...");
+		long start = System.currentTimeMillis();
+		boolean is_success;
+		try {
+			is_success = job.run();
+		} catch (Exception ex) {
+			logger.error(ExceptionUtils.getStackTrace(ex));
+			is_success = false;
+		}
+		logResult(job, is_success, System.currentTimeMillis() - start);
+		return is_success;
+	}
+
+	/*
+	 * Run E2D jobs on the threads of the service. Results are logged in the order of the jobs after all of them have finished.
+	 */
+	private int runExcelToDefineAll(DefineExportService service, List<BatchJob> e2d_jobs) {
+		logger.info("Running " + e2d_jobs.size() + " E2D jobs on " + Math.min(e2d_threads, e2d_jobs.size()) + " threads ("
+				+ e2d_jobs.get(0).getName() + " - " + e2d_jobs.get(e2d_jobs.size() - 1).getName() + ")...");
+		List<ExportResult> results;
+		try {
+			results = service.exportAll(e2d_jobs.stream().map(BatchJob::getConfig).collect(Collectors.toList()));
+		} catch (InterruptedException ex) {
+			logger.error("Interrupted while running E2D jobs.");
+			Thread.currentThread().interrupt();
+			return e2d_jobs.size();
+		}
+		int failed = 0;
+		for (int i = 0; i < e2d_jobs.size(); i++) {
+			BatchJob job = e2d_jobs.get(i);
+			ExportResult result = results.get(i);
+			boolean is_success;
+			try {
+				is_success = job.reportExcelToDefine(result);
+			} catch (Exception ex) {
+				logger.error(ExceptionUtils.getStackTrace(ex));
+				is_success = false;
+			}
+			logResult(job, is_success, result.getTotalTime());
+			if (!is_success) {
+				failed++;
+			}
+		}
+		return failed;
+	}
+
+	private void logResult(BatchJob job, boolean is_success, long elapsed) {
+		if (is_success) {
+			logger.info("Completed " + job.getType() + " (" + job.getName() + ") in " + elapsed + " ms.");
+		} else {
+			logger.error("Failed " + job.getType() + " (" + job.getName() + ") in " + elapsed + " ms.");
+		}
+	}
+
+	private static void printUsage() {
+		logger.error("Usage: BatchRunner [-properties PROPERTIES_FILE] MANIFEST_FILE");
+	}
+
+	public static void main(String[] args) {
+		String properties_path = null;
+		String manifest_path = null;
+		/* Parse command-line arguments */
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-properties") && i + 1 < args.length) {
+				properties_path = args[++i];
+			} else if (manifest_path == null && !args[i].startsWith("-")) {
+				manifest_path = args[i];
+			} else {
+				logger.error("Undefined command-line argument(s): " + args[i]);
+				printUsage();
+				System.exit(-1);
+			}
+		}
+		if (manifest_path == null) {
+			printUsage();
+			System.exit(-1);
+		}
+
+		try {
+			/* main.properties is optional when all parameters are given in the manifest. */
+			Properties prop = new Properties();
+			File properties_file = new File(properties_path == null ? Config.PROPERTIES_PATH : properties_path);
+			if (properties_file.exists()) {
+				try (BufferedReader reader = new BufferedReader(new FileReader(properties_file))) {
+					prop.load(reader);
+				}
+			} else if (properties_path != null) {
+				logger.error("The properties file is not found: " + properties_path);
+				System.exit(-1);
+			}
+			BatchRunner runner = new BatchRunner(prop);
+			List<BatchJob> jobs = runner.readManifest(new File(manifest_path));
+			int failed = runner.run(jobs);
+			System.exit(failed == 0 ? 0 : 1);
+		} catch (IOException | InvalidParameterException ex) {
+			logger.error(ex.getMessage());
+			System.exit(-1);
+		}
+	}
+}
@@ -0,0 +1,206 @@
+/* 
+ * Copyright (c) 2022 Fujitsu Limited. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0(the "License").
+ * You may obtain a copy of the License at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.fujitsu.tsc.desktop.batch;
+
+import java.io.Closeable;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fujitsu.tsc.desktop.exporter.DefineXmlWriter2;
+import com.fujitsu.tsc.desktop.exporter.model.XmlDocument;
+import com.fujitsu.tsc.desktop.importer.ExcelSheetSource;
+import com.fujitsu.tsc.desktop.importer.SdtmAdamSpecImporter;
+import com.fujitsu.tsc.desktop.util.Config;
+import com.fujitsu.tsc.desktop.util.ConversionMetrics;
+import com.fujitsu.tsc.desktop.util.ErrorLog;
+import com.fujitsu.tsc.desktop.util.ErrorLog.ErrorLevel;
+
+/**
+ * This class creates Define-XML for multiple studies in parallel on a fixed number of threads.
+ * Each study runs its own SdtmAdamSpecImporter, DefineModel and DefineXmlWriter2 with a copy of the given {@link Config}.
+ */
+public class DefineExportService implements Closeable {
+	private static Logger logger = LogManager.getLogger();
+
+	private ExecutorService executor;
+
+	/**
+	 * @param thread_count Number of studies processed at the same time
+	 */
+	public DefineExportService(int thread_count) {
+		AtomicInteger thread_num = new AtomicInteger(1);
+		ThreadFactory factory = runnable -> {
+			Thread thread = new Thread(runnable, "define-export-" + thread_num.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		};
+		this.executor = Executors.newFixedThreadPool(thread_count, factory);
+	}
+
+	/**
+	 * Submit a study. The config is copied, so the caller may modify it afterwards.
+	 * @param config Parameters of Generate Define-XML (e2d*)
+	 * @return
+	 */
+	public Future<ExportResult> submit(Config config) {
+		Config job_config = new Config(config);
+		return executor.submit(() -> export(job_config));
+	}
+
+	/**
+	 * Export all studies and wait for them.
+	 * @param configs
+	 * @return Results in the same order as the configs
+	 * @throws InterruptedException
+	 */
+	public List<ExportResult> exportAll(List<Config> configs) throws InterruptedException {
+		List<Future<ExportResult>> futures = new ArrayList<>();
+		for (Config config : configs) {
+			futures.add(submit(config));
+		}
+		List<ExportResult> rtn = new ArrayList<>();
+		for (int i = 0; i < futures.size(); i++) {
+			try {
+				rtn.add(futures.get(i).get());
+			} catch (ExecutionException ex) {
+				//An error such as OutOfMemoryError, because export() catches all exceptions.
+				logger.error(ex.getMessage());
+				ExportResult result = new ExportResult(configs.get(i).e2dDataSourceLocation, configs.get(i).e2dOutputLocation);
+				result.exception = ex;
+				rtn.add(result);
+			}
+		}
+		return rtn;
+	}
+
+	@Override
+	public void close() {
+		executor.shutdown();
+	}
+
+	/**
+	 * Create Define-XML for a study in the calling thread.
+	 * @param config Parameters of Generate Define-XML (e2d*)
+	 * @return
+	 */
+	public static ExportResult export(Config config) {
+		ExportResult result = new ExportResult(config.e2dDataSourceLocation, config.e2dOutputLocation);
+		result.metrics = ConversionMetrics.begin("Excel to Define-XML", config.e2dOutputLocation);
+		long start = System.currentTimeMillis();
+		ConversionMetrics.Stage load_stage = ConversionMetrics.stage("Excel load");
+		try (ExcelSheetSource source = ExcelSheetSource.open(new File(config.e2dDataSourceLocation))) {
+			load_stage.close();
+			SdtmAdamSpecImporter importer = new SdtmAdamSpecImporter(config, source);
+			result.error_logs = ConversionMetrics.time("Parse", () -> importer.parse());
+			result.parse_time = System.currentTimeMillis() - start;
+			if (result.hasErrors()) {
+				return result;
+			}
+			long bind_start = System.currentTimeMillis();
+			DefineXmlWriter2 writer = new DefineXmlWriter2(config);
+			XmlDocument xml_document;
+			try (ConversionMetrics.Stage stage = ConversionMetrics.stage("Bind")) {
+				xml_document = writer.bind(importer.getDefineModel());
+				stage.addCount(xml_document.getRootElement().countElements());
+			}
+			result.bind_time = System.currentTimeMillis() - bind_start;
+			long write_start = System.currentTimeMillis();
+			writer.writeout(xml_document);
+			result.write_time = System.currentTimeMillis() - write_start;
+		} catch (Exception ex) {
+			result.exception = ex;
+		} finally {
+			result.metrics.finish().report(logger, config.metricsJson && !result.hasErrors());
+		}
+		return result;
+	}
+
+	/**
+	 * Result of a study. Times are in milliseconds.
+	 */
+	public static class ExportResult {
+		private String source_location;
+		private String output_location;
+		private List<ErrorLog> error_logs = new ArrayList<>();
+		private Exception exception;
+		private long parse_time;
+		private long bind_time;
+		private long write_time;
+		private ConversionMetrics metrics;
+
+		ExportResult(String source_location, String output_location) {
+			this.source_location = source_location;
+			this.output_location = output_location;
+		}
+
+		public String getSourceLocation() {
+			return source_location;
+		}
+
+		public String getOutputLocation() {
+			return output_location;
+		}
+
+		/**
+		 * @return Errors and warnings found while loading the spreadsheet
+		 */
+		public List<ErrorLog> getErrorLogs() {
+			return error_logs;
+		}
+
+		/**
+		 * @return An exception thrown while processing the study, or null
+		 */
+		public Exception getException() {
+			return exception;
+		}
+
+		public boolean hasErrors() {
+			return exception != null || error_logs.stream().anyMatch(o -> o.getErrorLevel() == ErrorLevel.ERROR);
+		}
+
+		public List<ErrorLog> getErrors() {
+			return error_logs.stream().filter(o -> o.getErrorLevel() == ErrorLevel.ERROR).collect(Collectors.toList());
+		}
+
+		public long getParseTime() {
+			return parse_time;
+		}
+
+		public long getBindTime() {
+			return bind_time;
+		}
+
+		public long getWriteTime() {
+			return write_time;
+		}
+
+		public long getTotalTime() {
+			return parse_time + bind_time + write_time;
+		}
+
+		/**
+		 * @return Timing and memory of each stage of the study
+		 */
+		public ConversionMetrics getMetrics() {
+			return metrics;
+		}
+	}
+}
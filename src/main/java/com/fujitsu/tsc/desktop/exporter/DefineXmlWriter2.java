@@ -17,8 +17,6 @@ import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
-import java.util.Comparator;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -48,6 +46,7 @@ import com.fujitsu.tsc.desktop.importer.models.DefineModel.DocType;
 import com.fujitsu.tsc.desktop.importer.models.DefineModel.DocumentRef;
 import com.fujitsu.tsc.desktop.importer.models.DefineModel.YorN;
 import com.fujitsu.tsc.desktop.importer.models.DefineModel.YorNull;
+import com.fujitsu.tsc.desktop.importer.models.DefineReferences;
 import com.fujitsu.tsc.desktop.importer.models.DefineStandardModel;
 import com.fujitsu.tsc.desktop.importer.models.DefineStudyModel;
 import com.fujitsu.tsc.desktop.importer.models.DefineValueModel;
@@ -57,6 +56,7 @@ import com.fujitsu.tsc.desktop.importer.models.DefineWCModel.DefineWCPk;
 import com.fujitsu.tsc.desktop.importer.models.DefineWCModel.WCCondition;
 import com.fujitsu.tsc.desktop.importer.models.DefineStandardModel.StandardType;
 import com.fujitsu.tsc.desktop.util.Config;
+import com.fujitsu.tsc.desktop.util.ConversionMetrics;
 import com.fujitsu.tsc.desktop.util.Utils;
 
 public class DefineXmlWriter2 {
@@ -570,28 +570,21 @@ public class DefineXmlWriter2 {
 			addAutoSuppElements(define, xml_document);
 		}
 
+		/*
+		 * Collect references to codelists, methods and comments to skip orphaned ones.
+		 */
+		DefineReferences references = new DefineReferences(define, DEFINE_VERSION,
+				this.config.e2dDatasetType == Config.DatasetType.ADaM && this.config.e2dIncludeResultMetadata == true);
+
 		/*
 		 * Add CodeList elements
 		 */
 		List<DefineCodelistModel> codelists = define.listSortedCodelist();
-		Set<String> referenced_cl_ids = new HashSet<>();
-		if ("2.0.0".equals(DEFINE_VERSION)) {
-			referenced_cl_ids.addAll(define.listSortedVariable().stream().filter(o -> o.has_no_data_derived == null)
-					.map(o -> o.codelist).collect(Collectors.toSet()));
-			referenced_cl_ids.addAll(define.listSortedVariable().stream().filter(o -> o.has_no_data_derived == null)
-					.map(o -> o.role_codelist).collect(Collectors.toSet()));
-			referenced_cl_ids.addAll(define.listSortedValue().stream().filter(o -> o.has_no_data_derived == null)
-					.map(o -> o.codelist).collect(Collectors.toSet()));
-		} else {
-			referenced_cl_ids.addAll(define.listSortedVariable().stream().map(o -> o.codelist).collect(Collectors.toSet()));
-			referenced_cl_ids.addAll(define.listSortedVariable().stream().map(o -> o.role_codelist).collect(Collectors.toSet()));
-			referenced_cl_ids.addAll(define.listSortedValue().stream().map(o -> o.codelist).collect(Collectors.toSet()));
-		}
 		XmlElement last_cl_element = null;
 		String last_codelist_id = "";
 		for (DefineCodelistModel codelist : codelists) {
 			/* Do not create codelists that made orphaned due to Has No Data.  */
-			if (!referenced_cl_ids.contains(codelist.codelist_id)) {
+			if (!references.isCodelistReferenced(codelist.codelist_id)) {
 				logger.warn("The codelist " + codelist.codelist_id + " is not referenced and thus skipped.");
 				continue;	//Skip
 			}
@@ -706,18 +699,8 @@ public class DefineXmlWriter2 {
 		 * Add MethodDef elements
 		 */
 		List<DefineMethodModel> methods = define.listSortedMethod();
-		Set<String> referenced_method_oids = new HashSet<>();
-		if ("2.0.0".equals(DEFINE_VERSION)) {
-			referenced_method_oids.addAll(define.listSortedVariable().stream().filter(o -> o.has_no_data_derived == null)
-					.map(o -> o.method_oid).collect(Collectors.toSet()));
-			referenced_method_oids.addAll(define.listSortedValue().stream().filter(o -> o.has_no_data_derived == null)
-					.map(o -> o.method_oid).collect(Collectors.toSet()));
-		} else {
-			referenced_method_oids.addAll(define.listSortedVariable().stream().map(o -> o.method_oid).collect(Collectors.toSet()));
-			referenced_method_oids.addAll(define.listSortedValue().stream().map(o -> o.method_oid).collect(Collectors.toSet()));
-		}
 		for (DefineMethodModel method : methods) {
-			if (!referenced_method_oids.contains(method.oid)) {
+			if (!references.isMethodReferenced(method.oid)) {
 				logger.warn("The method " + method.oid + " is not referenced and thus skipped.");
 				continue;	//Skip No Data
 			}
@@ -760,57 +743,8 @@ public class DefineXmlWriter2 {
 		 * Add def:CommentDef elements
 		 */
 		List<DefineCommentModel> comments = define.listSortedComment();
-		Set<String> referenced_comment_oids = new HashSet<>();
-		if ("2.0.0".equals(DEFINE_VERSION)) {
-			referenced_comment_oids.addAll(define.listSortedDataset().stream().filter(o -> o.has_no_data == null)
-					.map(o -> o.comment_oid).collect(Collectors.toSet()));
-			referenced_comment_oids.addAll(define.listSortedVariable().stream().filter(o -> o.has_no_data_derived == null)
-					.map(o -> o.comment_oid).collect(Collectors.toSet()));
-			List<DefineValueModel> values = define.listSortedValue();
-			for (DefineValueModel value : values) {
-				if (value.has_no_data_derived != null) {
-					continue;
-				}
-				referenced_comment_oids.add(value.comment_oid);
-				for (DefineWCPk wc_pk : value.where_clause_pks) {
-					DefineWCModel wc = define.get(wc_pk);
-					if (wc != null) {
-						referenced_comment_oids.add(wc.comment_oid);
-					}
-				}
-			}
-		} else {
-			if (define.getStudy() != null) {
-				referenced_comment_oids.add(define.getStudy().comment_oid);
-			}
-			referenced_comment_oids.addAll(define.listSortedStandard().stream().map(o -> o.comment_oid).collect(Collectors.toSet()));
-			referenced_comment_oids.addAll(define.listSortedDataset().stream().map(o -> o.comment_oid).collect(Collectors.toSet()));
-			referenced_comment_oids.addAll(define.listSortedVariable().stream().map(o -> o.comment_oid).collect(Collectors.toSet()));
-			referenced_comment_oids.addAll(define.listSortedDictionary().stream().map(o -> o.comment_oid).collect(Collectors.toSet()));
-			referenced_comment_oids.addAll(define.listSortedCodelist().stream().map(o -> o.comment_oid).collect(Collectors.toSet()));
-			List<DefineValueModel> values = define.listSortedValue();
-			for (DefineValueModel value : values) {
-				referenced_comment_oids.add(value.comment_oid);
-				for (DefineWCPk wc_pk : value.where_clause_pks) {
-					DefineWCModel wc = define.get(wc_pk);
-					if (wc != null) {
-						referenced_comment_oids.add(wc.comment_oid);
-					}
-				}
-			}
-		}
-		if (this.config.e2dDatasetType == Config.DatasetType.ADaM && this.config.e2dIncludeResultMetadata == true) {
-			referenced_comment_oids.addAll(define.listSortedARMResult().stream().map(o -> o.dataset_comment_oid).collect(Collectors.toSet()));
-			Set<DefineWCPk> wc_pks = define.listSortedARMDataset().stream().map(o -> o.where_clause_pk).collect(Collectors.toSet());
-			for (DefineWCPk wc_pk : wc_pks) {
-				DefineWCModel wc = define.get(wc_pk);
-				if (wc != null) {
-					referenced_comment_oids.add(wc.comment_oid);
-				}
-			}
-		}
 		for (DefineCommentModel comment : comments) {
-			if (!referenced_comment_oids.contains(comment.oid)) {
+			if (!references.isCommentReferenced(comment.oid)) {
 				logger.warn("The comment " + comment.oid + " is not referenced and thus skipped.");
 				continue;	//Skip No Data
 			}
@@ -1445,41 +1379,28 @@ public class DefineXmlWriter2 {
 		
 		/* Sort elements under MetaDataVersion before writing,
 		 * because elements were not added in the order as defined by the Define-XML specification. */
+		ConversionMetrics.Stage sort_stage = ConversionMetrics.stage("Sort");
 		XmlElement root_element = xml_document.getRootElement();
 		XmlElement study_element = root_element.getElementByName("Study");
 		XmlElement md_ver_element = study_element.getElementByName("MetaDataVersion");
 		final List<String> ordered_child_elements = Arrays.asList(new String[]{"def:AnnotatedCRF", "def:SupplementalDoc", "def:ValueListDef", "def:WhereClauseDef", "ItemGroupDef", "ItemDef", "CodeList", "MethodDef", "def:CommentDef", "def:leaf", "arm:AnalysisResultDisplays"});
-		md_ver_element.sortElements(new Comparator<XmlElement>() {
-
-			@Override
-			public int compare(XmlElement o1, XmlElement o2) {
-				if (StringUtils.equals(o1.getName(), o2.getName())) {
-					return Integer.compare(md_ver_element.getElementIndex(o1), md_ver_element.getElementIndex(o2));
-				} else {
-					return Integer.compare(ordered_child_elements.indexOf(o1.getName()), ordered_child_elements.indexOf(o2.getName()));
-				}
-			}
-		});
+		md_ver_element.orderElements(ordered_child_elements);
 		/* Sort elements under CodeList elements before writing to place Alias to the end. */
 		List<XmlElement> codelist_elements = md_ver_element.getElementsByName("CodeList");
+		final List<String> ordered_child_elements2 = Arrays.asList(new String[]{"EnumeratedItem", "CodeListItem", "ExternalCodeList", "Alias"});
 		for (XmlElement codelist_element : codelist_elements) {
-			final List<String> ordered_child_elements2 = Arrays.asList(new String[]{"EnumeratedItem", "CodeListItem", "ExternalCodeList", "Alias"});
-			codelist_element.sortElements(new Comparator<XmlElement>() {
-
-				@Override
-				public int compare(XmlElement o1, XmlElement o2) {
-					if (StringUtils.equals(o1.getName(), o2.getName())) {
-						return Integer.compare(md_ver_element.getElementIndex(o1), md_ver_element.getElementIndex(o2));
-					} else {
-						return Integer.compare(ordered_child_elements2.indexOf(o1.getName()), ordered_child_elements2.indexOf(o2.getName()));
-					}
-				}
-			});
+			codelist_element.orderElements(ordered_child_elements2);
 		}
 		
-		this.writer.write(xml_document.toString());
-		this.writer.close();
-		this.sw.close();
+		sort_stage.close();
+		
+		/* Stream the document into the buffered writer instead of building the whole text in memory. */
+		try (ConversionMetrics.Stage stage = ConversionMetrics.stage("Write")) {
+			xml_document.writeTo(this.writer);
+			this.writer.close();
+			this.sw.close();
+			stage.addCount(root_element.countElements());
+		}
 	}
 	
 	private static String calendarToIso8601(Calendar cal) {
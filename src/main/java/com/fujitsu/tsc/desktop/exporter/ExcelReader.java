@@ -13,21 +13,24 @@ import org.apache.logging.log4j.Logger;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
+import com.fujitsu.tsc.desktop.util.CellValueFormatter;
 import com.fujitsu.tsc.desktop.util.MetaDataReader;
 
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.DataFormatter;
 
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Hashtable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.Iterator;
 
@@ -36,8 +39,8 @@ public class ExcelReader implements MetaDataReader {
 	private static Logger logger;
 	private FileInputStream in;
 	private Workbook workbook;
-	private Hashtable<String, Sheet> sheetHash;	//Allows to cache multiple excel worksheets
-	private Hashtable<String, Iterator<Row>> iteratorHash;	//Allows to cache multiple excel worksheets
+	private Hashtable<String, CachedTable> tableHash;	//Allows to cache multiple excel worksheets
+	private Hashtable<String, Iterator<String[]>> iteratorHash;	//Current position of each table; created on the first read
 	private Hashtable<String, List<String>> headerListHash;	//Stores headers of cached whorksheets
 //	private List<String> headerList;
 	private String currentTableName;
@@ -117,65 +120,58 @@ public class ExcelReader implements MetaDataReader {
 	}
 
 	public Hashtable<String, String> read(String sheetName) {
+		String[] row = readRow(sheetName);
+		return (row == null) ? null : tableHash.get(sheetName).toHashtable(row);
+	}
+
+	/**
+	 * This method reads a row from the current table as an array indexed by {@link #getColumnIndex(String)}.
+	 * The array is shared with the cache and must not be modified.
+	 */
+	public String[] readRow() {
+		return readRow(this.currentTableName);
+	}
+
+	public String[] readRow(String sheetName) {
 
-		Hashtable<String, String> hash = null;
-		Row r = null;
+		String[] row = null;
+		Iterator<String[]> iterator = iteratorHash.get(sheetName);
+		if (iterator == null) {
+			/* Only rows with the values of an EQ WhereClause are scanned. */
+			iterator = tableHash.get(sheetName).getCandidates(clauseArrayHash.get(sheetName)).iterator();
+			iteratorHash.put(sheetName, iterator);
+		}
 		
 		/*
-		 * Put an entire row into Hashtable.
 		 * Skip if the row does not meet criteria in WhereClause, and repeat.
 		 */
-		while (iteratorHash.get(sheetName).hasNext()) {
-			hash = new Hashtable<String, String>();
-			r = iteratorHash.get(sheetName).next();
-			for (int i = 0; i < headerListHash.get(sheetName).size(); i++) {
-				/*
-				 *  Ignore a column if its name is the same as those of any existing columns.
-				 *  A column on the left is put into hash while any columns on the right are ignored. 
-				 */
-				if (!hash.containsKey(headerListHash.get(sheetName).get(i))) {
-					hash.put(headerListHash.get(sheetName).get(i), new DataFormatter().formatCellValue(r.getCell(i)));
-				}
-				
-				/* 
-				 * If you want to change procedures based on data type,
-				 * uncomment the following lines and add statements.
-				 */
-				
-//				switch (r.getCell(i).getCellType()) {
-//				case Cell.CELL_TYPE_BLANK:
-//					hash.put(list.get(i), r.getCell(i).getStringCellValue());
-//					break;
-//				case Cell.CELL_TYPE_BOOLEAN:
-//					hash.put(list.get(i), new Boolean(r.getCell(i).getBooleanCellValue()).toString());
-//					break;
-//				case Cell.CELL_TYPE_ERROR:
-//					hash.put(list.get(i), new Byte(r.getCell(i).getErrorCellValue()).toString());
-//					break;
-//				case Cell.CELL_TYPE_FORMULA:
-//					hash.put(list.get(i), r.getCell(i).getCellFormula());
-//					break;
-//				case Cell.CELL_TYPE_NUMERIC:
-//					hash.put(list.get(i), new Double(r.getCell(i).getNumericCellValue()).toString());
-//					break;
-//				case Cell.CELL_TYPE_STRING:
-//					hash.put(list.get(i), r.getCell(i).getStringCellValue());
-//					break;
-//				}
-			}
+		while (iterator.hasNext()) {
+			row = iterator.next();
 // Changed for v1.1.0 - now MetaDataReader allows a WhereClause array.
 //			if (clause == null || meetsWhereClause(hash)) {
 			//If the record meets WhereClause, then return the record. Otherwise return null.
-			if (clauseArrayHash.get(sheetName) == null || meetsWhereClause(sheetName, hash)) {
+			if (clauseArrayHash.get(sheetName) == null || meetsWhereClause(sheetName, row)) {
 				//If the record is unique, then return the record. Otherwise return null.
-				if (isUniqueRecord(sheetName, hash)) {
+				if (isUniqueRecord(sheetName, row)) {
 					break;
 				}
 			}
-			hash = null;
+			row = null;
 		}
 		
-		return hash;
+		return row;
+	}
+
+	/**
+	 * This method returns the index of the column in arrays returned by {@link #readRow()}, or -1 if the column does not exist.
+	 * When column names are duplicated, the leftmost column is used.
+	 */
+	public int getColumnIndex(String columnName) {
+		return getColumnIndex(this.currentTableName, columnName);
+	}
+
+	public int getColumnIndex(String tableName, String columnName) {
+		return tableHash.get(tableName).getColumnIndex(columnName);
 	}
 	
 	public String getTableName() {
@@ -208,8 +204,8 @@ public class ExcelReader implements MetaDataReader {
 			}
 			in = new FileInputStream(dataSourceLocation);
 			workbook = new XSSFWorkbook(in);
-			sheetHash = new Hashtable<String, Sheet>();
-			iteratorHash = new Hashtable<String, Iterator<Row>>();
+			tableHash = new Hashtable<String, CachedTable>();
+			iteratorHash = new Hashtable<String, Iterator<String[]>>();
 			headerListHash = new Hashtable<String, List<String>>();
 			clauseArrayHash = new Hashtable<String, WhereClause[]>();
 			uniqueKeysHash = new Hashtable<>();
@@ -226,11 +222,9 @@ public class ExcelReader implements MetaDataReader {
 		Sheet sheet;
 		List<String> headerList;
 		clearUniqueKeys(tableName);
-		if (sheetHash.get(tableName) != null) {
+		this.iteratorHash.remove(tableName);	//Rewind
+		if (tableHash.get(tableName) != null) {
 			this.currentTableName = tableName;
-			this.iteratorHash.put(tableName, this.sheetHash.get(tableName).rowIterator());
-			this.iteratorHash.get(tableName).next();	//initialize iterator and ignore header row
-//			this.sheetHash.get(tableName).rowIterator().next();	//initialize iterator and ignore header row
 		} else {
 			sheet = workbook.getSheet(tableName);
 			if (sheet != null) {
@@ -238,9 +232,8 @@ public class ExcelReader implements MetaDataReader {
 				 *  Save the column header in List
 				 */
 				this.currentTableName = tableName;
-				this.sheetHash.put(tableName, sheet);
-				this.iteratorHash.put(tableName, sheet.rowIterator());
-				Row r = this.iteratorHash.get(tableName).next();
+				Iterator<Row> rowIterator = sheet.rowIterator();
+				Row r = rowIterator.next();
 				headerList = new ArrayList<String>();
 				if (r != null) {
 					Cell cell = null;
@@ -249,13 +242,15 @@ public class ExcelReader implements MetaDataReader {
 					}
 					headerListHash.put(tableName, headerList);
 				}
+				this.tableHash.put(tableName, new CachedTable(headerList, rowIterator));
 			} else {
 				throw new TableNotFoundException(tableName);
 			}
 		}
 	}
 	
-	private boolean meetsWhereClause(String sheetName, Hashtable<String, String> hash) {
+	private boolean meetsWhereClause(String sheetName, String[] row) {
+		CachedTable table = tableHash.get(sheetName);
 // Changed for v1.1.0 - now MetaDataReader allows a WhereClause array.
 //		if (clause.getOperator() == WhereClause.Operator.EQ) {
 //			if ((hash.get(clause.getVariable())).equals(clause.getValue())) {
@@ -275,13 +270,13 @@ public class ExcelReader implements MetaDataReader {
 		WhereClause clauseArray[] = clauseArrayHash.get(sheetName);
 		for (int i = 0; i < clauseArray.length; i++) {
 			if (clauseArray[i].getOperator() == WhereClause.Operator.EQ) {
-				if ((hash.get(clauseArray[i].getVariable())).equals(clauseArray[i].getValue())) {
+				if ((table.get(row, clauseArray[i].getVariable())).equals(clauseArray[i].getValue())) {
 					//Do nothing and continue.
 				} else {
 					return false;
 				}
 			} else if (clauseArray[i].getOperator() == WhereClause.Operator.NE) {
-				if ((hash.get(clauseArray[i].getVariable())).equals(clauseArray[i].getValue())) {
+				if ((table.get(row, clauseArray[i].getVariable())).equals(clauseArray[i].getValue())) {
 					return false;
 				} else {
 					//Do nothing and continue.
@@ -298,17 +293,18 @@ public class ExcelReader implements MetaDataReader {
 	 *  - If Unique Keys are not set, then return true.
 	 *  - If Unique Keys are set, then return true if the record is unique in the table. Otherwise, return false.
 	 */
-	private boolean isUniqueRecord(String sheetName, Hashtable<String, String> hash) {
+	private boolean isUniqueRecord(String sheetName, String[] row) {
 		Set<String> uniqueKeys = this.uniqueKeysHash.get(sheetName);
 		if (uniqueKeys == null || uniqueKeys.isEmpty()) {
 			return true;
 		} else {
+			CachedTable table = tableHash.get(sheetName);
 			String keyString = "";
 			for (String key : uniqueKeys) {
 				if ("".equals(keyString)) {
-					keyString = hash.get(key);
+					keyString = table.get(row, key);
 				} else {
-					keyString += "/" + hash.get(key);
+					keyString += "/" + table.get(row, key);
 				}
 			}
 			Set<String> actualKeys = this.actualKeysHash.get(sheetName);
@@ -320,4 +316,82 @@ public class ExcelReader implements MetaDataReader {
 			}
 		}
 	}
+
+	/*
+	 * Rows of a worksheet formatted as strings. Each row is formatted only once when the worksheet is first used,
+	 * and is kept as an array of values indexed by columnIndexHash shared by all rows.
+	 * Indexes of column values are created when an EQ WhereClause is first used on the column.
+	 */
+	private static class CachedTable {
+		private Map<String, Integer> columnIndexHash = new HashMap<>();	//The leftmost column is used for duplicated names
+		private List<String[]> rows = new ArrayList<>();
+		private Map<String, Map<String, List<String[]>>> indexHash = new HashMap<>();
+
+		CachedTable(List<String> headerList, Iterator<Row> rowIterator) {
+			for (int i = 0; i < headerList.size(); i++) {
+				this.columnIndexHash.putIfAbsent(headerList.get(i), i);
+			}
+			while (rowIterator.hasNext()) {
+				Row r = rowIterator.next();
+				String[] row = new String[headerList.size()];
+				for (int i = 0; i < row.length; i++) {
+					row[i] = CellValueFormatter.format(r.getCell(i));
+				}
+				rows.add(row);
+			}
+		}
+
+		int getColumnIndex(String columnName) {
+			Integer index = columnIndexHash.get(columnName);
+			return (index == null) ? -1 : index;
+		}
+
+		/* This method returns null if the column does not exist, same as Hashtable.get(). */
+		String get(String[] row, String columnName) {
+			Integer index = columnIndexHash.get(columnName);
+			return (index == null) ? null : row[index];
+		}
+
+		Hashtable<String, String> toHashtable(String[] row) {
+			Hashtable<String, String> hash = new Hashtable<String, String>();
+			for (Map.Entry<String, Integer> entry : columnIndexHash.entrySet()) {
+				hash.put(entry.getKey(), row[entry.getValue()]);
+			}
+			return hash;
+		}
+
+		/*
+		 * This method returns rows that may meet the WhereClauses, in the order of the worksheet.
+		 * When EQ WhereClauses are given, the smallest set of rows with the value is returned.
+		 */
+		List<String[]> getCandidates(WhereClause clauseArray[]) {
+			List<String[]> rtn = rows;
+			if (clauseArray != null) {
+				for (WhereClause clause : clauseArray) {
+					if (clause.getOperator() == WhereClause.Operator.EQ && columnIndexHash.containsKey(clause.getVariable())) {
+						List<String[]> matched = getIndex(clause.getVariable()).get(clause.getValue());
+						if (matched == null) {
+							return Collections.emptyList();
+						} else if (matched.size() < rtn.size()) {
+							rtn = matched;
+						}
+					}
+				}
+			}
+			return rtn;
+		}
+
+		private Map<String, List<String[]>> getIndex(String columnName) {
+			Map<String, List<String[]>> index = indexHash.get(columnName);
+			if (index == null) {
+				int column = columnIndexHash.get(columnName);
+				index = new HashMap<>();
+				for (String[] row : rows) {
+					index.computeIfAbsent(row[column], k -> new ArrayList<>()).add(row);
+				}
+				indexHash.put(columnName, index);
+			}
+			return index;
+		}
+	}
 }
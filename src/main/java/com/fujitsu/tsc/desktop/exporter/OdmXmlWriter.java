@@ -413,9 +413,12 @@ public class OdmXmlWriter {
 			
 			//Get pairs of Form ID and Name for later use.
 			reader.setTable(config.odmFormTableName);
-			while ((hash = reader.read(config.odmFormTableName)) != null) {
-				errHint.setErrorHint(OdmTagType.FORMDEF, "", hash.get("Name"), "", "", "");
-				formNameIdHash.put(hash.get("Name"), hash.get("ID"));
+			int nameIndex = reader.getColumnIndex("Name");
+			int idIndex = reader.getColumnIndex("ID");
+			String row[];
+			while ((row = reader.readRow()) != null) {
+				errHint.setErrorHint(OdmTagType.FORMDEF, "", row[nameIndex], "", "", "");
+				formNameIdHash.put(row[nameIndex], row[idIndex]);
 			}
 			
 			reader.setTable(config.odmEventTableName);
@@ -660,8 +663,11 @@ public class OdmXmlWriter {
 			String strAliasContext[] = null;
 			
 			reader.setTable(config.odmFormTableName);
-			while ((hash = reader.read(config.odmFormTableName)) != null) {
-				formNameIdHash.put(hash.get("Name"), hash.get("ID"));
+			int nameIndex = reader.getColumnIndex("Name");
+			int idIndex = reader.getColumnIndex("ID");
+			String row[];
+			while ((row = reader.readRow()) != null) {
+				formNameIdHash.put(row[nameIndex], row[idIndex]);
 			}
 			
 			reader.setTable(config.odmFieldTableName);
@@ -855,9 +861,12 @@ public class OdmXmlWriter {
 
 			//Get pairs of Unit ID and Name for later use.
 			reader.setTable(config.odmUnitTableName);
-			while ((hash = reader.read(config.odmUnitTableName)) != null) {
-				errHint.setErrorHint(OdmTagType.MEASUREMENTUNIT, "", hash.get("Name"), "", "", "");
-				unitNameIdHash.put(hash.get("Name"), hash.get("ID"));
+			int nameIndex = reader.getColumnIndex("Name");
+			int idIndex = reader.getColumnIndex("ID");
+			String row[];
+			while ((row = reader.readRow()) != null) {
+				errHint.setErrorHint(OdmTagType.MEASUREMENTUNIT, "", row[nameIndex], "", "", "");
+				unitNameIdHash.put(row[nameIndex], row[idIndex]);
 			}
 
 			reader.setTable(config.odmFieldTableName,
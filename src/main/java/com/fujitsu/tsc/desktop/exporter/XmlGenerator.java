@@ -10,14 +10,15 @@ package com.fujitsu.tsc.desktop.exporter;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.FileReader;
 import java.util.Properties;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 
+import com.fujitsu.tsc.desktop.batch.BatchRunner;
 import com.fujitsu.tsc.desktop.util.Config;
+import com.fujitsu.tsc.desktop.util.ConversionMetrics;
 import com.fujitsu.tsc.desktop.util.InvalidParameterException;
 
 public class XmlGenerator {
@@ -210,45 +211,51 @@ public class XmlGenerator {
 		}
 	}
 
+	@FunctionalInterface
+	private interface SectionWriter {
+		void write() throws TableNotFoundException, IOException, RequiredValueMissingException, InvalidOidSyntaxException;
+	}
+
+	/*
+	 * Write a section of ODM-XML as a stage of ConversionMetrics. The stage is closed even if the section fails.
+	 */
+	private void writeSection(String name, SectionWriter section_writer) throws TableNotFoundException, IOException, RequiredValueMissingException, InvalidOidSyntaxException {
+		logger.info("Writing " + name + "...");
+		ConversionMetrics.Stage stage = ConversionMetrics.stage(name);
+		try {
+			section_writer.write();
+		} finally {
+			stage.close();
+		}
+		logger.info("Done.");
+	}
+
 	public void generateOdmXml() throws InvalidParameterException, TableNotFoundException, IOException, InvalidOidSyntaxException, RequiredValueMissingException, InvalidFormatException {
 
+		ConversionMetrics metrics = ConversionMetrics.begin("Excel to ODM-XML", config.e2oOutputLocation);
 		try {
 			logger.info("Launching the program...");
 			logger.info("Creating ODM ...");
-			OdmXmlWriter writer = new OdmXmlWriter(this.config);
+			ConversionMetrics.Stage load_stage = ConversionMetrics.stage("Excel load");
+			OdmXmlWriter writer;
+			try {
+				writer = new OdmXmlWriter(this.config);
+			} finally {
+				load_stage.close();
+			}
 			logger.info("Writing XML Header...");
 			writer.writeXMLHeader();
 			logger.info("Done.");
-			logger.info("Writing Study Section...");
-			writer.writeStudySection();
-			logger.info("Done.");
-			logger.info("Writing Unit Section...");
-			writer.writeUnitSection();
-			logger.info("Done.");
-			logger.info("Writing Protocol Section...");
-			writer.writeProtocolSection();
-			logger.info("Done.");
-			logger.info("Writing EventDef Section...");
-			writer.writeEventDefSection();
-			logger.info("Done.");
-			logger.info("Writing FormDef Section...");
-			writer.writeFormDefSection();
-			logger.info("Done.");
-			logger.info("Writing ItemGroup Section...");
-			writer.writeItemGroupDefSection();
-			logger.info("Done.");
-			logger.info("Writing ItemDef Section...");
-			writer.writeItemDefSection();
-			logger.info("Done.");
-			logger.info("Writing Codelist Section...");
-			writer.writeCodelistSection();
-			logger.info("Done.");
-			logger.info("Writing ConditionDef Section...");
-			writer.writeConditionDefSection();
-			logger.info("Done.");
-			logger.info("Writing MethodDef Section...");
-			writer.writeMethodDefSection();
-			logger.info("Done.");
+			writeSection("Study Section", writer::writeStudySection);
+			writeSection("Unit Section", writer::writeUnitSection);
+			writeSection("Protocol Section", writer::writeProtocolSection);
+			writeSection("EventDef Section", writer::writeEventDefSection);
+			writeSection("FormDef Section", writer::writeFormDefSection);
+			writeSection("ItemGroup Section", writer::writeItemGroupDefSection);
+			writeSection("ItemDef Section", writer::writeItemDefSection);
+			writeSection("Codelist Section", writer::writeCodelistSection);
+			writeSection("ConditionDef Section", writer::writeConditionDefSection);
+			writeSection("MethodDef Section", writer::writeMethodDefSection);
 
 			writer.writeEndTag("MetaDataVersion");
 			writer.writeEndTag("Study");
@@ -256,6 +263,7 @@ public class XmlGenerator {
 			logger.info("ODM has been created.");
 
 			writer.close();
+			metrics.finish().report(logger, config.metricsJson);
 		} catch (InvalidParameterException ex) {
 			logger.error(ex.getMessage());
 			logger.error("Exiting the program...");
@@ -326,81 +334,17 @@ public class XmlGenerator {
 			} else {
 				throw ex;
 			}
+		} finally {
+			metrics.finish();
 		}
 	}
 	
-	public static void main(String[] args) throws InvalidFormatException {
-		String[] strConfig = null;
-		logger.info("Command Line Interface (CLI) is not supported.");
-		System.exit(-1);
-
-		try {
-			/*
-			 * Parse command-line arguments
-			for (int i = 0; i < args.length; i++) {
-				if (args[i].equals("-config")) {
-					String s = args[++i];
-					strConfig = s.split(";");
-					if (strConfig != null && strConfig.length > 0) {
-						break;
-					} else {
-						logger.error("'-config' must be followed by PARAMETER=VALUE pair(s) separated by ';'.");
-						logger.error("Argument: " + args[i]);
-						System.exit(-1);
-					}
-				} else {
-					logger.error("Undefined command-line argument(s): " + args[i]);
-					System.exit(-1);
-				}
-			}
-			 */
-
-			/*
-			 * Create a GeneratorConfig object, then create a generator using the config.
-			 */
-			Properties prop = new Properties();
-			FileReader reader = new FileReader(Config.PROPERTIES_PATH);
-			prop.load(reader);
-			reader.close();
-			Config config = new Config(prop);
-
-			/*
-			 * Command-line parameters precede Properties.
-			if (strConfig != null) {
-				for (int i = 0; i < strConfig.length; i++) {
-					try {
-						config.setProperty(Config.Parameter.valueOf(strConfig[i].substring(0, strConfig[i].indexOf('='))),
-								strConfig[i].substring(strConfig[i].indexOf('=') + 1));
-					} catch (IllegalArgumentException ex) {
-						logger.error("An illegal argument has been found: " + strConfig[i].substring(0, strConfig[i].indexOf('=')));
-						System.exit(-1);
-					}
-				}
-			}
-			 */
-
-			XmlGenerator generator = new XmlGenerator(config, Config.RunMode.CLI);
-			generator.generateDefineXml();
-
-		} catch (FileNotFoundException ex) {
-			logger.error(ex.getMessage());
-			System.exit(-1);
-		} catch (IOException ex) {
-			logger.error(ex.getMessage());
-			System.exit(-1);
-		} catch (InvalidParameterException ex) {
-			logger.error(ex.getMessage());
-			System.exit(-1);
-		} catch (TableNotFoundException ex) {
-			logger.error(ex.getMessage());
-			System.exit(-1);
-		} catch (InvalidOidSyntaxException ex) {
-			logger.error(ex.getMessage());
-			System.exit(-1);
-		} catch (RequiredValueMissingException ex) {
-			logger.error(ex.getMessage());
-			System.exit(-1);
-		}
+	/**
+	 * Command Line Interface. Jobs listed in a manifest file are run by {@link BatchRunner}.
+	 * @param args [-properties PROPERTIES_FILE] MANIFEST_FILE
+	 */
+	public static void main(String[] args) {
+		BatchRunner.main(args);
 	}
 
 	/**
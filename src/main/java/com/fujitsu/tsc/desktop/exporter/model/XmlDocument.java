@@ -8,12 +8,15 @@
 
 package com.fujitsu.tsc.desktop.exporter.model;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -45,11 +48,20 @@ public class XmlDocument {
 			this.encoding = encoding;
 		}
 		
+		public void writeTo(Appendable out) throws IOException {
+			out.append("<?xml version=\"1.0\" encoding=\"")
+					.append(this.encoding)
+					.append("\"?>").append(System.lineSeparator());
+		}
+		
 		public String toString() {
-			String str = "<?xml version=\"1.0\" encoding=\""
-					+ this.encoding
-					+ "\"?>" + System.lineSeparator();
-			return str;
+			StringBuilder builder = new StringBuilder();
+			try {
+				writeTo(builder);
+			} catch (IOException ex) {
+				//Not thrown by StringBuilder.
+			}
+			return builder.toString();
 		}
 	}
 	
@@ -66,13 +78,22 @@ public class XmlDocument {
 			this.instructions.put(name, value);
 		}
 		
-		public String toString() {
-			String str = "<?" + this.target;
+		public void writeTo(Appendable out) throws IOException {
+			out.append("<?").append(this.target);
 			for (Entry<String, String> entry : this.instructions.entrySet()) {
-				str += " " + entry.getKey() + "=\"" + escapeString(entry.getValue()) + "\"";
+				writeAttribute(out, entry.getKey(), entry.getValue());
+			}
+			out.append("?>").append(System.lineSeparator());
+		}
+		
+		public String toString() {
+			StringBuilder builder = new StringBuilder();
+			try {
+				writeTo(builder);
+			} catch (IOException ex) {
+				//Not thrown by StringBuilder.
 			}
-			str += "?>" + System.lineSeparator();
-			return str;
+			return builder.toString();
 		}
 	}
 	
@@ -82,6 +103,8 @@ public class XmlDocument {
 		private LinkedHashMap<String, String> attributes;
 		private String text;
 		private List<XmlElement> elements = new ArrayList<>();
+		/* The same child elements grouped by element name, each in insertion order */
+		private Map<String, List<XmlElement>> element_buckets = new LinkedHashMap<>();
 		
 		public XmlElement(String name) {
 			this.indent_level = 0;
@@ -120,22 +143,50 @@ public class XmlDocument {
 		public void addElement(XmlElement element) {
 			element.setIndentLevel(this.indent_level + 1);
 			this.elements.add(element);
+			this.element_buckets.computeIfAbsent(element.name, k -> new ArrayList<>()).add(element);
 		}
 		
 		public XmlElement getElementByName(String name) {
-			return this.elements.stream().filter(o -> StringUtils.equals(o.name, name)).findFirst().orElse(null);
+			List<XmlElement> bucket = this.element_buckets.get(name);
+			return bucket == null ? null : bucket.get(0);
 		}
 		
 		public List<XmlElement> getElementsByName(String name) {
-			return this.elements.stream().filter(o -> StringUtils.equals(o.name, name)).collect(Collectors.toList());
+			List<XmlElement> bucket = this.element_buckets.get(name);
+			return bucket == null ? Collections.emptyList() : new ArrayList<>(bucket);
 		}
-
-		public int getElementIndex(XmlElement element) {
-			return this.elements.indexOf(element);
+		
+		/**
+		 * @return Number of this element and its descendants
+		 */
+		public int countElements() {
+			int count = 1;
+			for (XmlElement element : this.elements) {
+				count += element.countElements();
+			}
+			return count;
 		}
 		
-		public void sortElements(Comparator<XmlElement> comparator) {
-			this.elements = this.elements.stream().sorted(comparator).collect(Collectors.toList());
+		/**
+		 * Reorder child elements by concatenating the element name groups in the given order.
+		 * Elements whose names are not given are placed first. Elements keep their insertion order otherwise.
+		 * @param ordered_names Element names in the order to be written
+		 */
+		public void orderElements(List<String> ordered_names) {
+			Set<String> names = new HashSet<>(ordered_names);
+			List<XmlElement> ordered_elements = new ArrayList<>(this.elements.size());
+			for (XmlElement element : this.elements) {
+				if (!names.contains(element.name)) {
+					ordered_elements.add(element);
+				}
+			}
+			for (String name : ordered_names) {
+				List<XmlElement> bucket = this.element_buckets.get(name);
+				if (bucket != null) {
+					ordered_elements.addAll(bucket);
+				}
+			}
+			this.elements = ordered_elements;
 		}
 		
 		public void setIndentLevel(int indent_level) {
@@ -146,60 +197,86 @@ public class XmlDocument {
 			return indent_level;
 		}
 		
-		public String toString() {
-			String str = "";
+		/**
+		 * This method writes this element and its descendants to the output without building the whole text in memory.
+		 * @param out A destination such as a BufferedWriter
+		 * @throws IOException
+		 */
+		public void writeTo(Appendable out) throws IOException {
+			/* Print beginning tag */
+			writeIndent(out, this.indent_level);
+			out.append('<').append(this.name);
+			for (Entry<String, String> entry : this.attributes.entrySet()) {
+				writeAttribute(out, entry.getKey(), entry.getValue());
+			}
 			if (StringUtils.isEmpty(text) && elements.isEmpty()) {	//Abbreviated expression
-				/* Print tag */
-				for (int i = 0; i < this.indent_level; i++) {
-					str += INDENT_STRING;
-				}
-				str += "<" + this.name;
-				for (Entry<String, String> entry : this.attributes.entrySet()) {
-					str += " " + entry.getKey() + "=\"" + escapeString(entry.getValue()) + "\"";
-				}
-				str += "/>" + System.lineSeparator();
-			} else {
-				/* Print beginning tag */
-				for (int i = 0; i < this.indent_level; i++) {
-					str += INDENT_STRING;
-				}
-				str += "<" + this.name;
-				for (Entry<String, String> entry : this.attributes.entrySet()) {
-					str += " " + entry.getKey() + "=\"" + escapeString(entry.getValue()) + "\"";
-				}
-				str += ">";
-				
-				/* Print text */
-				str += escapeString(this.text);
-	
-				/* Print elements */
-				if (!this.elements.isEmpty()) {
-					str += System.lineSeparator();
-				}
-				for (XmlElement element : this.elements) {
-					str += element.toString();
-				}
-	
-				/* Print ending tag */
-				if (!this.elements.isEmpty()) {
-					for (int i = 0; i < this.indent_level; i++) {
-						str += INDENT_STRING;
-					}
-				}
-				str += "</" + this.name + ">" + System.lineSeparator();
+				out.append("/>").append(System.lineSeparator());
+				return;
+			}
+			out.append('>');
+			
+			/* Print text */
+			escapeTo(out, this.text);
+
+			/* Print elements */
+			if (!this.elements.isEmpty()) {
+				out.append(System.lineSeparator());
 			}
-			return str;
+			for (XmlElement element : this.elements) {
+				element.writeTo(out);
+			}
+
+			/* Print ending tag */
+			if (!this.elements.isEmpty()) {
+				writeIndent(out, this.indent_level);
+			}
+			out.append("</").append(this.name).append('>').append(System.lineSeparator());
+		}
+		
+		public String toString() {
+			StringBuilder builder = new StringBuilder();
+			try {
+				writeTo(builder);
+			} catch (IOException ex) {
+				//Not thrown by StringBuilder.
+			}
+			return builder.toString();
 		}
 	}
 	
-	public String toString() {
-		String str = "";
-		str = xml_header.toString();
+	/**
+	 * This method writes the whole document to the output.
+	 * @param out A destination such as a BufferedWriter
+	 * @throws IOException
+	 */
+	public void writeTo(Appendable out) throws IOException {
+		xml_header.writeTo(out);
 		for (ProcessingInstruction processing_instruction : processing_instructions) {
-			str += processing_instruction.toString();
+			processing_instruction.writeTo(out);
+		}
+		root_element.writeTo(out);
+	}
+	
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		try {
+			writeTo(builder);
+		} catch (IOException ex) {
+			//Not thrown by StringBuilder.
 		}
-		str += root_element.toString();
-		return str;
+		return builder.toString();
+	}
+	
+	private static void writeIndent(Appendable out, int indent_level) throws IOException {
+		for (int i = 0; i < indent_level; i++) {
+			out.append(INDENT_STRING);
+		}
+	}
+	
+	private static void writeAttribute(Appendable out, String name, String value) throws IOException {
+		out.append(' ').append(name).append("=\"");
+		escapeTo(out, value);
+		out.append('"');
 	}
 	
 	/**
@@ -208,22 +285,47 @@ public class XmlDocument {
 	 * @return A string value before HTML escape
 	 */
 	public static String escapeString(String str) {
-		StringBuffer buffer = new StringBuffer(str.length());
+		StringBuilder builder = new StringBuilder(str.length());
+		try {
+			escapeTo(builder, str);
+		} catch (IOException ex) {
+			//Not thrown by StringBuilder.
+		}
+		return builder.toString();
+	}
+	
+	/**
+	 * This method writes an escaped string to the output, copying unescaped runs in bulk.
+	 * @param out A destination such as a BufferedWriter
+	 * @param str A string value before HTML escape
+	 * @throws IOException
+	 */
+	public static void escapeTo(Appendable out, String str) throws IOException {
+		int start = 0;
 		for (int i = 0; i < str.length(); i++) {
-			if (str.charAt(i) == '&') {
-				buffer.append("&amp;");
-			} else if (str.charAt(i) == '<') {
-				buffer.append("&lt;");
-			} else if (str.charAt(i) == '>') {
-				buffer.append("&gt;");
-			} else if (str.charAt(i) == '"') {
-				buffer.append("&quot;");
-			} else if (str.charAt(i) == '\'') {
-				buffer.append("&apos;");
-			} else {
-				buffer.append(str.charAt(i));
-			}
-		}
-		return buffer.toString();
+			String entity;
+			switch (str.charAt(i)) {
+			case '&':
+				entity = "&amp;";
+				break;
+			case '<':
+				entity = "&lt;";
+				break;
+			case '>':
+				entity = "&gt;";
+				break;
+			case '"':
+				entity = "&quot;";
+				break;
+			case '\'':
+				entity = "&apos;";
+				break;
+			default:
+				continue;
+			}
+			out.append(str, start, i).append(entity);
+			start = i + 1;
+		}
+		out.append(str, start, str.length());
 	}
 }
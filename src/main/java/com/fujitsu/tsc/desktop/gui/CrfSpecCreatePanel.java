@@ -47,6 +47,7 @@ import org.apache.logging.log4j.core.layout.PatternLayout;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 
 import com.fujitsu.tsc.desktop.util.Config;
+import com.fujitsu.tsc.desktop.util.ConversionMetrics;
 import com.fujitsu.tsc.desktop.util.ErrorInfo;
 import com.opencsv.exceptions.CsvException;
 import com.fujitsu.tsc.desktop.importer.CrfSpecCreator;
@@ -491,6 +492,7 @@ public class CrfSpecCreatePanel extends JPanel implements ActionListener {
 				        
 						OdmModel crf = null;
 						File outFile = new File(outputLocationTF.getText());
+						ConversionMetrics metrics = ConversionMetrics.begin("Datasets to CRF Spec", outFile.getPath());
 						try {
 							if (sourceFilesLI.getModel() != null && sourceFilesLI.getModel().getSize() > 0) {
 								OdmStudyModel params = new OdmStudyModel();
@@ -507,7 +509,7 @@ public class CrfSpecCreatePanel extends JPanel implements ActionListener {
 								}
 								CrfSpecCreator creator = new CrfSpecCreator(config, params, srcFiles.toArray(new File[srcFiles.size()]));
 								logger.info("Creating CRF Spec from Datasets...");
-								crf = creator.create();
+								crf = ConversionMetrics.time("Profile datasets", () -> creator.create());
 								logger.info("Created CRF Spec from Datasets successfully.");
 							}
 							if (crf == null) {
@@ -520,6 +522,7 @@ public class CrfSpecCreatePanel extends JPanel implements ActionListener {
 							crf.updateFieldId(config.valueDelimiter);
 							
 							logger.info("Writing to Excel...");
+							ConversionMetrics.Stage write_stage = ConversionMetrics.stage("Write");
 							ExcelWriter2 excelWriter = new ExcelWriter2();
 							logger.info("Writing STUDY Sheet...");
 							excelWriter.addData("STUDY", crf.getStudy(), OdmStudyModel.class);
@@ -540,12 +543,15 @@ public class CrfSpecCreatePanel extends JPanel implements ActionListener {
 							logger.info("Writing EDC_KEYS Sheet...");
 							excelWriter.addData("EDC_KEYS", crf.getEdcKeys(), EdcKeysModel.class);
 							excelWriter.writeout(outFile);
+							write_stage.close();
 							logger.info("Done.");
+							metrics.finish().report(logger, config.metricsJson);
 							parent.crfSpecCreateResultPanel.outputLocationUrl.setText(
 									new File(outputLocationTF.getText()).getCanonicalPath());
 						} catch (Exception ex) {
 							logger.error(ExceptionUtils.getStackTrace(ex));
 						} finally {
+							metrics.finish();
 							epAppender.stop();
 							loggerConfig.getRootLogger().removeAppender(EditorPaneAppender.APPENDER_NAME);
 						}
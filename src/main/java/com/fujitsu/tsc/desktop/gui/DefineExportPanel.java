@@ -39,16 +39,16 @@ import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.layout.PatternLayout;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
-import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbookFactory;
 
 import com.fujitsu.tsc.desktop.util.Config;
+import com.fujitsu.tsc.desktop.util.ConversionMetrics;
 import com.fujitsu.tsc.desktop.util.ErrorLog;
 import com.fujitsu.tsc.desktop.util.InvalidParameterException;
 import com.fujitsu.tsc.desktop.util.ErrorLog.ErrorLevel;
 import com.fujitsu.tsc.desktop.exporter.XmlGenerator;
 import com.fujitsu.tsc.desktop.exporter.model.XmlDocument;
+import com.fujitsu.tsc.desktop.importer.ExcelSheetSource;
 import com.fujitsu.tsc.desktop.importer.SdtmAdamSpecImporter;
 import com.fujitsu.tsc.desktop.importer.models.DefineModel;
 import com.fujitsu.tsc.desktop.exporter.DefineXmlWriter2;
@@ -403,15 +403,15 @@ public class DefineExportPanel extends JPanel implements ActionListener {
 						config.e2dStylesheetLocation = stylesheetLocationTF.getText();
 						config.e2dDataSourceLocation = dataSourceLocationTF.getText();
 						config.e2dOutputLocation = outputLocationTF.getText();
-						Workbook workbook = null;
 						logger.info("Opening the source Excel file...");
-						try {
-							File sourceFile = new File(config.e2dDataSourceLocation);
-							XSSFWorkbookFactory factory = new XSSFWorkbookFactory();
-							workbook = factory.create(sourceFile, null, true);
+						ConversionMetrics metrics = ConversionMetrics.begin("Excel to Define-XML", config.e2dOutputLocation);
+						ConversionMetrics.Stage load_stage = ConversionMetrics.stage("Excel load");
+						/* Sheets are read row by row so that large spreadsheets can be loaded with a small heap. */
+						try (ExcelSheetSource source = ExcelSheetSource.open(new File(config.e2dDataSourceLocation))) {
+							load_stage.close();
 							logger.info("Loading...");
-							SdtmAdamSpecImporter importer = new SdtmAdamSpecImporter(config, workbook);
-							List<ErrorLog> error_logs = importer.parse();
+							SdtmAdamSpecImporter importer = new SdtmAdamSpecImporter(config, source);
+							List<ErrorLog> error_logs = ConversionMetrics.time("Parse", () -> importer.parse());
 							if (error_logs.isEmpty()) {
 								logger.info("Loading completed.");
 							} else {
@@ -428,7 +428,6 @@ public class DefineExportPanel extends JPanel implements ActionListener {
 										logger.error(error_log_error.print());
 									}
 									logger.error("Processing suspended.");
-									workbook.close();
 									return;
 								}
 							}
@@ -440,15 +439,20 @@ public class DefineExportPanel extends JPanel implements ActionListener {
 							DefineXmlWriter2 writer;
 							writer = new DefineXmlWriter2(config);
 							DefineModel define = importer.getDefineModel();
-							XmlDocument xml_document = writer.bind(define);
+							XmlDocument xml_document;
+							try (ConversionMetrics.Stage stage = ConversionMetrics.stage("Bind")) {
+								xml_document = writer.bind(define);
+								stage.addCount(xml_document.getRootElement().countElements());
+							}
 							writer.writeout(xml_document);
 							logger.info("Define-XML has been successfully created.");
+							metrics.finish().report(logger, config.metricsJson);
 							parent.defineExportResultPanel.outputLocationUrl.setText(
 									new File(outputLocationTF.getText()).getCanonicalPath());
-//							workbook.close();
 						} catch (Exception ex) {
 							logger.error(ExceptionUtils.getStackTrace(ex));
 						} finally {
+							metrics.finish();
 							epAppender.stop();
 							loggerConfig.getRootLogger().removeAppender(EditorPaneAppender.APPENDER_NAME);
 						}
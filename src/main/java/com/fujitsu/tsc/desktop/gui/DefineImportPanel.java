@@ -37,10 +37,11 @@ import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.layout.PatternLayout;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
 import com.fujitsu.tsc.desktop.importer.DefineImporter;
 import com.fujitsu.tsc.desktop.util.Config;
+import com.fujitsu.tsc.desktop.util.ConversionMetrics;
 import com.fujitsu.tsc.desktop.util.ErrorInfo;
 
 public class DefineImportPanel extends JPanel implements ActionListener{
@@ -383,9 +384,10 @@ public class DefineImportPanel extends JPanel implements ActionListener{
 						
 						List<ErrorInfo> errors = new ArrayList<>();
 						DefineImporter defineImporter = new DefineImporter(config);
+						ConversionMetrics metrics = ConversionMetrics.begin("Define-XML to Excel", config.d2eOutputLocation);
 						try {
 							if (!StringUtils.isEmpty(config.d2eDataSourceLocation)) {
-								errors = defineImporter.validateHard();
+								errors = ConversionMetrics.time("Validate", () -> defineImporter.validateHard());
 								if (!errors.isEmpty()) {
 									for (ErrorInfo error : errors) {
 										appender.writeNext(error);
@@ -397,13 +399,16 @@ public class DefineImportPanel extends JPanel implements ActionListener{
 								} else {
 									appender.writeMessage("No fatal errors have been found in the Define-XML. Importing...");
 									logger.info("No fatal errors have been found in the Define-XML. Importing...");
-									errors = defineImporter.validateSoft();
+									errors = ConversionMetrics.time("Import", () -> defineImporter.validateSoft());
 								}
 							}
-							XSSFWorkbook wb = defineImporter.generateWorkbook();
-							FileOutputStream out = new FileOutputStream((String)config.d2eOutputLocation);
-							wb.write(out);
-							out.close();
+							SXSSFWorkbook wb = defineImporter.generateWorkbook();
+							ConversionMetrics.time("Write", () -> {
+								FileOutputStream out = new FileOutputStream((String)config.d2eOutputLocation);
+								wb.write(out);
+								out.close();
+							});
+							wb.dispose();
 							wb.close();
 							if (!errors.isEmpty()) {
 								for (ErrorInfo error : errors) {
@@ -416,12 +421,16 @@ public class DefineImportPanel extends JPanel implements ActionListener{
 								appender.writeMessage("An Excel file has been created. No warnings have been found.");
 								logger.info("An Excel file has been created. No warnings have been found.");
 							}
+							metrics.finish().report(logger, config.metricsJson);
+							appender.writeMetrics(metrics);
 							/* Display the output folder on the gResultPanel. */
 							parent.defineImportResultPanel.outputLocationUrl.setText(
 									new File(outputLocationTF.getText()).getCanonicalPath());
 						} catch (Exception ex) {
 				    		appender.writeErrorMessage(ExceptionUtils.getStackTrace(ex));
 							logger.error(ExceptionUtils.getStackTrace(ex));
+						} finally {
+							metrics.finish();
 						}
 				    }
 				};
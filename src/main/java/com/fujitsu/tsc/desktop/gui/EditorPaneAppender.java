@@ -8,40 +8,135 @@
 
 package com.fujitsu.tsc.desktop.gui;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.logging.log4j.core.appender.AbstractAppender;
 import org.apache.logging.log4j.core.layout.PatternLayout;
 import org.apache.logging.log4j.core.LogEvent;
 import javax.swing.JEditorPane;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.Document;
+import javax.swing.text.Element;
 
+/**
+ * An appender that shows log messages in a JEditorPane.
+ * Messages are queued by the logging thread and inserted into the document on the event dispatch thread
+ * once per frame, so that a flood of warnings does not re-layout the pane for each message.
+ * The document keeps at most MAX_DOCUMENT_LINES lines. The oldest lines are collapsed into one line at the top.
+ */
 public class EditorPaneAppender extends AbstractAppender {
 
 	public static final String APPENDER_NAME = "EditorPane";
+	/** Interval to insert queued messages into the document */
+	private static final int FLUSH_INTERVAL_MILLIS = 100;
+	/** Maximum number of messages inserted per frame. Messages in between are collapsed into one line. */
+	private static final int MAX_LINES_PER_FLUSH = 1000;
+	/** Number of the last messages of a frame that are still shown when the frame is collapsed */
+	private static final int TAIL_LINES = 100;
+	/** Maximum number of lines in the document */
+	private static final int MAX_DOCUMENT_LINES = 10000;
+	private static final String REMOVED_LINES_PREFIX = "[...] ";
+	private static final String REMOVED_LINES_SUFFIX = " earlier lines removed (see the log file)";
 	private JEditorPane logPane = null;
 	private PatternLayout patternLayout;
+	private Queue<String> pendingMessages = new ConcurrentLinkedQueue<>();
+	private Timer flushTimer;
 	
 	public EditorPaneAppender(PatternLayout patternLayout) {
 		super(APPENDER_NAME, null, patternLayout, false, null);
 		this.patternLayout = patternLayout;
+		this.flushTimer = new Timer(FLUSH_INTERVAL_MILLIS, e -> flush());
 	}
 
 	public void setEditorPane(JEditorPane logPane) {
 		this.logPane = logPane;
 	}
 
+	@Override
+	public void start() {
+		super.start();
+		this.flushTimer.start();
+	}
+
+	/**
+	 * Stop the timer and insert the messages still in the queue.
+	 */
+	@Override
+	public boolean stop(long timeout, TimeUnit timeUnit) {
+		boolean stopped = super.stop(timeout, timeUnit);
+		this.flushTimer.stop();
+		SwingUtilities.invokeLater(this::flush);
+		return stopped;
+	}
+
 	@Override
 	public void append(LogEvent arg0) {
 		if (arg0 == null) {
 			return;
 		}
-        Document doc = logPane.getDocument();
-        try {
-        	StringBuilder builder = new StringBuilder(100);
-        	this.patternLayout.serialize(arg0, builder);
-        	doc.insertString(doc.getLength(), builder.toString(), null);
-        } catch (BadLocationException ble) {
-        	System.err.println(ble.getMessage());
-        }
+		StringBuilder builder = new StringBuilder(100);
+		this.patternLayout.serialize(arg0, builder);
+		this.pendingMessages.offer(builder.toString());
+	}
+
+	/*
+	 * Insert the queued messages at once. This method is called on the event dispatch thread.
+	 */
+	private void flush() {
+		if (logPane == null || pendingMessages.isEmpty()) {
+			return;
+		}
+		List<String> messages = new ArrayList<>();
+		String message;
+		while ((message = pendingMessages.poll()) != null) {
+			messages.add(message);
+		}
+		StringBuilder builder = new StringBuilder();
+		if (messages.size() <= MAX_LINES_PER_FLUSH) {
+			messages.forEach(builder::append);
+		} else {
+			int head = MAX_LINES_PER_FLUSH - TAIL_LINES;
+			int tail = messages.size() - TAIL_LINES;
+			messages.subList(0, head).forEach(builder::append);
+			builder.append("[...] ").append(tail - head).append(" more lines (see the log file)").append(System.lineSeparator());
+			messages.subList(tail, messages.size()).forEach(builder::append);
+		}
+		Document doc = logPane.getDocument();
+		try {
+			doc.insertString(doc.getLength(), builder.toString(), null);
+			trim(doc);
+		} catch (BadLocationException ble) {
+			System.err.println(ble.getMessage());
+		}
+	}
+
+	/*
+	 * Remove the oldest lines so that the document has at most MAX_DOCUMENT_LINES lines, and show the number of removed lines in the first line.
+	 * The number is read from the first line, so it starts from 0 again when the pane is cleared.
+	 */
+	private void trim(Document doc) throws BadLocationException {
+		Element root = doc.getDefaultRootElement();
+		/* One more line is removed for the line that shows the number. */
+		int remove_count = root.getElementCount() - MAX_DOCUMENT_LINES + 1;
+		if (remove_count <= 1) {
+			return;
+		}
+		long removed_lines = remove_count;
+		Element first_line = root.getElement(0);
+		String first_text = doc.getText(first_line.getStartOffset(), first_line.getEndOffset() - first_line.getStartOffset()).trim();
+		if (first_text.startsWith(REMOVED_LINES_PREFIX) && first_text.endsWith(REMOVED_LINES_SUFFIX)) {
+			String number = StringUtils.substringBetween(first_text, REMOVED_LINES_PREFIX, REMOVED_LINES_SUFFIX);
+			removed_lines += NumberUtils.toLong(number) - 1;
+		}
+		doc.remove(0, root.getElement(remove_count).getStartOffset());
+		doc.insertString(0, REMOVED_LINES_PREFIX + removed_lines + REMOVED_LINES_SUFFIX + System.lineSeparator(), null);
 	}
 }
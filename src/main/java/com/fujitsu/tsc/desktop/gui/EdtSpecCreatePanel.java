@@ -44,6 +44,7 @@ import com.fujitsu.tsc.desktop.importer.EdtSpecCreator.StudyEdtCodelist;
 import com.fujitsu.tsc.desktop.importer.EdtSpecCreator.StudyEdtColumn;
 import com.fujitsu.tsc.desktop.importer.EdtSpecCreator.StudyEdtGeneral;
 import com.fujitsu.tsc.desktop.util.Config;
+import com.fujitsu.tsc.desktop.util.ConversionMetrics;
 import com.opencsv.exceptions.CsvException;
 import com.fujitsu.tsc.desktop.gui.EditorPaneAppender;
 
@@ -52,6 +53,7 @@ public class EdtSpecCreatePanel extends JPanel implements ActionListener {
 	private static final long serialVersionUID = 1L;
     private static Logger logger = LogManager.getLogger();
     private GuiMain parent;	//Root window
+    private Config config;
     private Font titleFont;
     private Font defaultFont;
     //private Font smallFont;
@@ -94,6 +96,7 @@ public class EdtSpecCreatePanel extends JPanel implements ActionListener {
 
     public EdtSpecCreatePanel(GuiMain parent, Config config){
     	this.parent = parent;
+    	this.config = config;
         titleFont = new Font(GuiConstants.FONT_NAME_TITLE, GuiConstants.FONT_STYLE_TITLE, GuiConstants.FONT_SIZE_TITLE);
         defaultFont = new Font(GuiConstants.FONT_NAME, GuiConstants.FONT_STYLE, GuiConstants.FONT_SIZE);
         //smallFont = new Font(GuiConstants.FONT_NAME, GuiConstants.FONT_STYLE, GuiConstants.FONT_SIZE_SMALL);
@@ -444,19 +447,24 @@ public class EdtSpecCreatePanel extends JPanel implements ActionListener {
 						File srcFile = new File(dataSourceLocationTF.getText());
 						File outFile = new File(outputLocationTF.getText());
 						EdtSpecCreator creator = new EdtSpecCreator(param, srcFile);
+						ConversionMetrics metrics = ConversionMetrics.begin("Data to eDT Spec", outFile.getPath());
 						try {
-							Pair<List<StudyEdtColumn>, List<StudyEdtCodelist>> rtn = creator.create();
-							ExcelWriter2 excelWriter = new ExcelWriter2();
-							excelWriter.addData("GENERAL", param, StudyEdtGeneral.class);
-							excelWriter.addData("COLUMN", rtn.getLeft(), StudyEdtColumn.class);
-							excelWriter.addData("CODELIST", rtn.getRight(), StudyEdtCodelist.class);
-							excelWriter.writeout(outFile);
+							Pair<List<StudyEdtColumn>, List<StudyEdtCodelist>> rtn = ConversionMetrics.time("Profile data", () -> creator.create());
+							ConversionMetrics.time("Write", () -> {
+								ExcelWriter2 excelWriter = new ExcelWriter2();
+								excelWriter.addData("GENERAL", param, StudyEdtGeneral.class);
+								excelWriter.addData("COLUMN", rtn.getLeft(), StudyEdtColumn.class);
+								excelWriter.addData("CODELIST", rtn.getRight(), StudyEdtCodelist.class);
+								excelWriter.writeout(outFile);
+							});
 							logger.info("Done.");
+							metrics.finish().report(logger, config.metricsJson);
 							parent.edtSpecCreateResultPanel.outputLocationUrl.setText(
 									new File(outputLocationTF.getText()).getCanonicalPath());
 						} catch (Exception ex) {
 							logger.error(ExceptionUtils.getStackTrace(ex));
 						} finally {
+							metrics.finish();
 							epAppender.stop();
 							loggerConfig.getRootLogger().removeAppender(EditorPaneAppender.APPENDER_NAME);
 						}
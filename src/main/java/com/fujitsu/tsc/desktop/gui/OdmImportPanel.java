@@ -41,6 +41,7 @@ import org.apache.logging.log4j.core.layout.PatternLayout;
 import org.xml.sax.SAXException;
 
 import com.fujitsu.tsc.desktop.util.Config;
+import com.fujitsu.tsc.desktop.util.ConversionMetrics;
 import com.fujitsu.tsc.desktop.util.ErrorInfo;
 import com.fujitsu.tsc.desktop.importer.OdmImporter;
 
@@ -327,9 +328,10 @@ public class OdmImportPanel extends JPanel implements ActionListener {
 						OdmImporter odmImporter = new OdmImporter(config);
 						String odm_path = dataSourceLocationTF.getText();
 //				        logger.addAppender(appender);
+						ConversionMetrics metrics = ConversionMetrics.begin("ODM-XML to Excel", config.o2eOutputLocation);
 						try {
 							if (!StringUtils.isEmpty(odm_path)) {
-								errors = odmImporter.validateHard();
+								errors = ConversionMetrics.time("Validate", () -> odmImporter.validateHard());
 								if (!errors.isEmpty()) {
 									for (ErrorInfo error : errors) {
 										appender.writeNext(error);
@@ -341,7 +343,7 @@ public class OdmImportPanel extends JPanel implements ActionListener {
 								} else {
 									appender.writeMessage("No fatal errors have been found in the ODM-XML. Importing...");
 									logger.info("No fatal errors have been found in the ODM-XML. Importing...");
-									errors = odmImporter.validateSoft();
+									errors = ConversionMetrics.time("Import", () -> odmImporter.validateSoft());
 								}
 							}
 							odmImporter.generateExcel();
@@ -356,12 +358,16 @@ public class OdmImportPanel extends JPanel implements ActionListener {
 								appender.writeMessage("An Excel file has been created. No warnings have been found.");
 								logger.info("An Excel file has been created. No warnings have been found.");
 							}
+							metrics.finish().report(logger, config.metricsJson);
+							appender.writeMetrics(metrics);
 							/* Display the output folder on the gResultPanel. */
 							parent.odmImportResultPanel.outputLocationUrl.setText(
 									new File(outputLocationTF.getText()).getCanonicalPath());
 						} catch (Exception ex) {
 				    		appender.writeErrorMessage(ExceptionUtils.getStackTrace(ex));
 							logger.error(ExceptionUtils.getStackTrace(ex));
+						} finally {
+							metrics.finish();
 						}
 				    }
 				};
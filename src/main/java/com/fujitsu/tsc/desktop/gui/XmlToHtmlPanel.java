@@ -13,6 +13,7 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 
 import javax.swing.GroupLayout;
 import javax.swing.JButton;
@@ -25,10 +26,6 @@ import javax.swing.LayoutStyle;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.xml.XMLConstants;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.stream.StreamResult;
-import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
@@ -44,7 +41,7 @@ import org.apache.logging.log4j.core.layout.PatternLayout;
 import org.xml.sax.SAXException;
 
 import com.fujitsu.tsc.desktop.util.Config;
-import com.fujitsu.tsc.desktop.util.Utils;
+import com.fujitsu.tsc.desktop.util.StylesheetRegistry;
 
 public class XmlToHtmlPanel extends JPanel implements ActionListener {
 	private static final long serialVersionUID = 1L;
@@ -157,6 +154,7 @@ public class XmlToHtmlPanel extends JPanel implements ActionListener {
         fileChooser1 = new JFileChooser();
         filter1 = new FileNameExtensionFilter("XML(.xml)", "xml");
         fileChooser1.setFileFilter(filter1);
+        fileChooser1.setFileSelectionMode(JFileChooser.FILES_AND_DIRECTORIES);	//A folder converts all XML files in it
         xmlLocationTF.setTransferHandler(new FilePathTransferHandler(xmlLocationTF, fileChooser1, filter1));	//Add DnD support
         fileChooser2 = new JFileChooser();
         filter2 = new FileNameExtensionFilter("Style Sheet(.xsl)", "xsl");
@@ -361,14 +359,21 @@ public class XmlToHtmlPanel extends JPanel implements ActionListener {
 				        loggerConfig.getRootLogger().addAppender(epAppender, Level.INFO, null);
 						try {
 							logger.info("Converting XML to HTML...");
-							TransformerFactory factory = TransformerFactory.newInstance();
-							Utils.setTransformerFactorySecureFeatures(factory);
-							Transformer transformer = factory.newTransformer(new StreamSource(xslLocationTF.getText()));
-							transformer.transform(new StreamSource(xmlLocationTF.getText()), new StreamResult(outputLocationTF.getText()));
-							/* Display the output folder on the xmlToHtmlResultPanel. */
-							logger.info("An HTML file has been created.");
-							parent.xmlToHtmlResultPanel.outputLocationUrl.setText(
-									new File(outputLocationTF.getText()).getCanonicalPath());
+							File xsl = new File(xslLocationTF.getText());
+							File xml = new File(xmlLocationTF.getText());
+							File output = new File(outputLocationTF.getText());
+							if (xml.isDirectory()) {
+								/* Batch mode: all XML files in the folder are converted with the same compiled stylesheet. */
+								File output_dir = output.isDirectory() ? output : output.getAbsoluteFile().getParentFile();
+								List<File> html_files = StylesheetRegistry.transformAll(xsl, xml, output_dir);
+								logger.info(html_files.size() + " HTML file(s) have been created.");
+								parent.xmlToHtmlResultPanel.outputLocationUrl.setText(output_dir.getCanonicalPath());
+							} else {
+								StylesheetRegistry.transform(xsl, xml, output);
+								/* Display the output folder on the xmlToHtmlResultPanel. */
+								logger.info("An HTML file has been created.");
+								parent.xmlToHtmlResultPanel.outputLocationUrl.setText(output.getCanonicalPath());
+							}
 						} catch (Exception ex) {
 							logger.error(ExceptionUtils.getStackTrace(ex));
 						} finally {
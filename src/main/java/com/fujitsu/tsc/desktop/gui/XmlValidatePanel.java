@@ -23,13 +23,11 @@ import javax.swing.JPanel;
 import javax.swing.JTextField;
 import javax.swing.LayoutStyle;
 import javax.swing.filechooser.FileNameExtensionFilter;
-import javax.xml.XMLConstants;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
 
 import org.apache.commons.lang3.StringUtils;
@@ -42,6 +40,7 @@ import org.apache.logging.log4j.core.layout.PatternLayout;
 import org.xml.sax.SAXException;
 
 import com.fujitsu.tsc.desktop.util.Config;
+import com.fujitsu.tsc.desktop.util.SchemaRegistry;
 import com.fujitsu.tsc.desktop.util.Utils;
 
 public class XmlValidatePanel extends JPanel implements ActionListener {
@@ -302,11 +301,9 @@ public class XmlValidatePanel extends JPanel implements ActionListener {
 						XmlValidationAppender appender = new XmlValidationAppender(parent.xmlValidateResultPanel.vResultTable);
 						appender.clear();
 						try {
-							String language = XMLConstants.W3C_XML_SCHEMA_NS_URI;
-							SchemaFactory factory = SchemaFactory.newInstance(language);
-							Utils.setSchemaFactorySecureFeatures(factory);
 							XmlValidationHandler handler = new XmlValidationHandler(appender);
-							Schema schema = factory.newSchema(new File(schemaLocationTF.getText()));
+							/* Reuse the compiled schema unless the schema file has been updated. */
+							Schema schema = SchemaRegistry.getFileSchema(new File(schemaLocationTF.getText()));
 							SAXParserFactory sax_factory = SAXParserFactory.newInstance();
 							sax_factory.setSchema(schema);
 							sax_factory.setNamespaceAware(true);
@@ -14,6 +14,7 @@ import javax.swing.table.TableModel;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.Document;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.appender.AbstractAppender;
@@ -21,6 +22,7 @@ import org.apache.logging.log4j.core.layout.PatternLayout;
 import org.apache.logging.log4j.core.LogEvent;
 import org.xml.sax.SAXParseException;
 
+import com.fujitsu.tsc.desktop.util.ConversionMetrics;
 import com.fujitsu.tsc.desktop.util.ErrorInfo;
 
 public class XmlValidationAppender {
@@ -117,6 +119,21 @@ public class XmlValidationAppender {
 		model.setValueAt(message, nextLineNum++, 1);
 	}
 
+	/**
+	 * Write a row per stage of a conversion: the stage name to the first column and the measured values to the second.
+	 * @param metrics A finished conversion
+	 */
+	public void writeMetrics(ConversionMetrics metrics) {
+		TableModel model = table.getModel();
+		for (ConversionMetrics.Stage stage : metrics.getStages()) {
+			if (model.getRowCount() <= nextLineNum) {
+				((DefaultTableModel)model).addRow(new String[] {null, null});
+			}
+			model.setValueAt(StringUtils.repeat("  ", stage.getDepth()) + stage.getName(), nextLineNum, 0);
+			model.setValueAt(stage.toString(), nextLineNum++, 1);
+		}
+	}
+
 	public void writeMessage(Exception e) {
 		TableModel model = table.getModel();
 		if (model.getRowCount() <= nextLineNum) {
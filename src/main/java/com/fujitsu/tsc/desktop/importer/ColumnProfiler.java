@@ -0,0 +1,581 @@
+/*
+ * Copyright (c) 2022 Fujitsu Limited. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0(the "License").
+ * You may obtain a copy of the License at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.fujitsu.tsc.desktop.importer;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.fujitsu.tsc.desktop.util.HyperLogLog;
+import com.opencsv.CSVParser;
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.exceptions.CsvException;
+
+/**
+ * Profile the columns of a delimited dataset file in a single pass.
+ * Each row updates per-column accumulators, so the file is not kept in memory and all rows are considered.
+ *  - Type: the least common type of all non-blank values (INTEGER &lt; FLOAT &lt; STRING, DATE &lt; STRING)
+ *  - Date/time format: the format matched by most values
+ *  - Unknown date/time text: the first non-numeric part of a date value other than a month name
+ *  - Distinct values: non-blank values in the order of appearance, up to {@link #MAX_DISTINCT_VALUES}.
+ *    Above the limit, the values are dropped and the number of distinct values is estimated by {@link HyperLogLog}.
+ * A delimited file in UTF-8, ISO-8859-1 or US-ASCII is read by {@link MappedCsvTokenizer}, and other encodings by CSVReader.
+ * With MappedCsvTokenizer, a value already in the distinct values is found by its bytes, and is counted without decoding and matching it again.
+ * A SAS transport file (XPORT version 5) is also accepted. Its variable names, labels and lengths are used, and all observations are data rows.
+ */
+public class ColumnProfiler {
+
+	/** A column with more distinct values than this is not treated as a codelist. */
+	public static final int MAX_DISTINCT_VALUES = 1000;
+
+	/* Regular Expressions to match date formats
+	 * YYYY/MM/DD
+	 * YYYY/MM/DD HH24:MI:SS
+	 * YYYY-MM-DD
+	 * YYYY-MM-DD"T"HH24:MI:SS
+	 * DDMONYYYY HH24:MI:SS
+	 * DDMONYYYY
+	 */
+	private static final List<RegexDateMatcher> date_matchers = new ArrayList<>();
+	static {
+		date_matchers.add(new RegexDateMatcher("^(\\d{4})/(\\d{2})/(\\d{2})$", "YYYY/MM/DD"));
+		date_matchers.add(new RegexDateMatcher("^(\\d{4})/(\\d{2})/(\\d{2}) (\\d{2}):(\\d{2}):(\\d{2})$", "YYYY/MM/DD HH24:MI:SS"));
+		date_matchers.add(new RegexDateMatcher("^(\\d{4})-(\\d{2})-(\\d{2})$", "YYYY-MM-DD"));
+		date_matchers.add(new RegexDateMatcher("^(\\d{4})-(\\d{2})-(\\d{2})\"T\"(\\d{2}):(\\d{2}):(\\d{2})$", "YYYY-MM-DD\"T\"HH24:MI:SS"));
+		date_matchers.add(new RegexDateMatcher("^(\\d{2})(\\D{3})(\\d{4}) (\\d{2}):(\\d{2}):(\\d{2})$", "DDMONYYYY HH24:MI:SS"));	//UNK format should be handled separately
+		date_matchers.add(new RegexDateMatcher("^(\\d{2})(\\D{3})(\\d{4})$", "DDMONYYYY"));	//UNK format should be handled separately
+	}
+	/* Regular Expressions to match number formats
+	 * Distinguish integer and float because integer values could be codelist values.
+	 */
+	private static final Pattern integer_regex = Pattern.compile("^(0|[1-9]\\d*)$");
+	private static final Pattern float_regex = Pattern.compile("^[+-]?\\d+?\\.\\d+?$");
+	private static final List<String> MON = Arrays.asList(new String[] { "JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC" });
+
+	public enum ColumnType {
+		DATE, STRING, INTEGER, FLOAT
+	}
+
+	/**
+	 * Accumulated result of a column
+	 */
+	public static class ColumnProfile {
+		private final int column_index;
+		private String name;
+		/* Variable label and length of a SAS transport file, null for a delimited file */
+		private String label = null;
+		private Integer length = null;
+		/* null until a non-blank value is found */
+		private ColumnType type;
+		private int[] date_format_votes = new int[date_matchers.size()];
+		private String[] unk_date_time_texts = new String[date_matchers.size()];
+		/* null after the number of distinct values exceeded the limit */
+		private Set<String> distinct_values = new LinkedHashSet<>();
+		/* Used instead of distinct_values after the limit is exceeded */
+		private HyperLogLog sketch = null;
+		private long non_blank_count = 0;
+		/* Last non-blank value and its vote, so that a repeated value is counted without matching again */
+		private String last_value = null;
+		private ColumnType last_type = null;
+		private int last_date_format_index = -1;
+		/* Hash table of the values in distinct_values by their bytes in the file. null after the limit is exceeded. */
+		private SeenValue[] seen_values = new SeenValue[16];
+		private int seen_count = 0;
+
+		private ColumnProfile(int column_index) {
+			this.column_index = column_index;
+			this.name = "Column" + column_index;
+		}
+
+		private void update(String value) {
+			if (StringUtils.isBlank(value)) {
+				return;
+			}
+			this.non_blank_count++;
+			if (value.equals(this.last_value)) {
+				/* Already in the distinct values or the sketch */
+				if (this.type != ColumnType.STRING) {
+					this.type = join(this.type, this.last_type);
+					if (this.last_date_format_index >= 0) {
+						date_format_votes[this.last_date_format_index]++;
+					}
+				}
+				return;
+			}
+			this.last_value = value;
+			if (this.type != ColumnType.STRING) {
+				this.last_date_format_index = -1;
+				this.last_type = voteType(value);
+				this.type = join(this.type, this.last_type);
+			}
+			/* Values are kept whatever the type so far, because a later value can change the type to STRING. */
+			if (this.distinct_values != null) {
+				this.distinct_values.add(value);
+				if (this.distinct_values.size() > MAX_DISTINCT_VALUES) {
+					this.sketch = new HyperLogLog();
+					this.distinct_values.forEach(this.sketch::add);
+					this.distinct_values = null;
+				}
+			} else {
+				this.sketch.add(value);
+			}
+		}
+
+		/*
+		 * Update with a cell of the current record of the tokenizer. A value seen before is found by its bytes and is not decoded.
+		 */
+		private void update(MappedCsvTokenizer tokenizer, int index) {
+			if (this.seen_values == null || !tokenizer.hasCellBytes()) {
+				update(tokenizer.getCell(index));
+				return;
+			}
+			int hash = tokenizer.hashCell(index);
+			int slot = hash & (this.seen_values.length - 1);
+			for (SeenValue seen = this.seen_values[slot]; seen != null; seen = seen.next) {
+				if (seen.hash == hash && tokenizer.cellEquals(index, seen.bytes)) {
+					this.non_blank_count++;
+					if (this.type != ColumnType.STRING) {
+						this.type = join(this.type, seen.type);
+						if (seen.date_format_index >= 0) {
+							date_format_votes[seen.date_format_index]++;
+						}
+					}
+					return;
+				}
+			}
+			String value = tokenizer.getCell(index);
+			boolean is_string = this.type == ColumnType.STRING;
+			update(value);
+			if (StringUtils.isBlank(value)) {
+				return;
+			}
+			if (this.distinct_values == null) {
+				this.seen_values = null;
+				return;
+			}
+			/* After the type is STRING, the type of a value is not matched, and does not change the type any more. */
+			SeenValue seen = is_string ? new SeenValue(hash, tokenizer.getCellBytes(index), ColumnType.STRING, -1)
+					: new SeenValue(hash, tokenizer.getCellBytes(index), this.last_type, this.last_date_format_index);
+			seen.next = this.seen_values[slot];
+			this.seen_values[slot] = seen;
+			if (++this.seen_count > this.seen_values.length * 3 / 4) {
+				SeenValue[] table = new SeenValue[this.seen_values.length * 2];
+				for (SeenValue head : this.seen_values) {
+					while (head != null) {
+						SeenValue next = head.next;
+						int new_slot = head.hash & (table.length - 1);
+						head.next = table[new_slot];
+						table[new_slot] = head;
+						head = next;
+					}
+				}
+				this.seen_values = table;
+			}
+		}
+
+		/*
+		 * Return the type of a value, and count a vote for the date format if the value is a date.
+		 */
+		private ColumnType voteType(String value) {
+			if (integer_regex.matcher(value).find()) {
+				return ColumnType.INTEGER;
+			}
+			if (float_regex.matcher(value).find()) {
+				return ColumnType.FLOAT;
+			}
+			for (int i = 0; i < date_matchers.size(); i++) {
+				List<String> strs = date_matchers.get(i).getMatchStrings(value);
+				if (strs.isEmpty()) {
+					continue;
+				}
+				date_format_votes[i]++;
+				last_date_format_index = i;
+				if (unk_date_time_texts[i] == null) {
+					unk_date_time_texts[i] = findUnkDateTime(strs);
+				}
+				return ColumnType.DATE;
+			}
+			return ColumnType.STRING;
+		}
+
+		private static ColumnType join(ColumnType type1, ColumnType type2) {
+			if (type1 == null || type1 == type2) {
+				return type2;
+			}
+			if ((type1 == ColumnType.INTEGER && type2 == ColumnType.FLOAT) || (type1 == ColumnType.FLOAT && type2 == ColumnType.INTEGER)) {
+				return ColumnType.FLOAT;
+			}
+			return ColumnType.STRING;
+		}
+
+		public int getColumnIndex() {
+			return column_index;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return Variable label of a SAS transport file, or null
+		 */
+		public String getLabel() {
+			return label;
+		}
+
+		/**
+		 * @return Length of a character variable of a SAS transport file, or null
+		 */
+		public Integer getLength() {
+			return length;
+		}
+
+		/**
+		 * @return Type of the column. STRING if the column has no values.
+		 */
+		public ColumnType getType() {
+			return type == null ? ColumnType.STRING : type;
+		}
+
+		/**
+		 * @return Date/time format such as "YYYY-MM-DD" if the type is DATE, otherwise null
+		 */
+		public String getDateTimeFormat() {
+			int index = getDateFormatIndex();
+			return index < 0 ? null : date_matchers.get(index).getFormat();
+		}
+
+		/**
+		 * @return Unknown date/time text such as "UN" or "UNK" if found, otherwise null
+		 */
+		public String getUnkDateTimeText() {
+			int index = getDateFormatIndex();
+			return index < 0 ? null : unk_date_time_texts[index];
+		}
+
+		private int getDateFormatIndex() {
+			if (type != ColumnType.DATE) {
+				return -1;
+			}
+			int index = 0;
+			for (int i = 1; i < date_format_votes.length; i++) {
+				if (date_format_votes[i] > date_format_votes[index]) {
+					index = i;
+				}
+			}
+			return index;
+		}
+
+		/**
+		 * @return Number of non-blank values
+		 */
+		public long getNonBlankCount() {
+			return non_blank_count;
+		}
+
+		/**
+		 * @return Number of distinct non-blank values. The number is estimated if {@link #isDistinctCountExact()} is false.
+		 */
+		public long getDistinctCount() {
+			if (distinct_values != null) {
+				return distinct_values.size();
+			}
+			/* The estimate could be below the limit, but the values are known to exceed it. */
+			return Math.max(sketch.estimate(), MAX_DISTINCT_VALUES + 1);
+		}
+
+		public boolean isDistinctCountExact() {
+			return distinct_values != null;
+		}
+
+		/**
+		 * Return a note that explains the number of distinct values, such as "12" or "about 3000 (more than 1000, not a codelist)".
+		 */
+		public String getDistinctCountNote() {
+			if (isDistinctCountExact()) {
+				return String.valueOf(getDistinctCount());
+			} else {
+				return "about " + getDistinctCount() + " (more than " + MAX_DISTINCT_VALUES + ", not a codelist)";
+			}
+		}
+
+		/**
+		 * @return true if the type is STRING or INTEGER and the number of distinct values is within the limit
+		 */
+		public boolean isCodelistCandidate() {
+			ColumnType column_type = getType();
+			return (column_type == ColumnType.STRING || column_type == ColumnType.INTEGER) && distinct_values != null;
+		}
+
+		/**
+		 * @return Non-blank values in the order of appearance. Empty if the column is not a codelist candidate.
+		 */
+		public Set<String> getDistinctValues() {
+			if (!isCodelistCandidate()) {
+				return Collections.emptySet();
+			}
+			return Collections.unmodifiableSet(distinct_values);
+		}
+	}
+
+	/*
+	 * Bytes of a distinct value in the file and its vote
+	 */
+	private static class SeenValue {
+		final int hash;
+		final byte[] bytes;
+		final ColumnType type;
+		final int date_format_index;
+		SeenValue next = null;
+
+		SeenValue(int hash, byte[] bytes, ColumnType type, int date_format_index) {
+			this.hash = hash;
+			this.bytes = bytes;
+			this.type = type;
+			this.date_format_index = date_format_index;
+		}
+	}
+
+	private int header_line;
+	private int header_row_num;
+	private List<ColumnProfile> columns = null;
+	private int row_count = 0;
+	private int data_row_count = 0;
+
+	/**
+	 * @param header_line Number of lines before the first data row
+	 * @param header_row_num Row number (starting from 1) of the column names, or 0 if the file has no column names
+	 */
+	public ColumnProfiler(int header_line, int header_row_num) {
+		this.header_line = header_line;
+		this.header_row_num = header_row_num;
+	}
+
+	/**
+	 * Read a delimited file or a SAS transport file and profile its columns.
+	 * @param src_file Dataset file
+	 * @param encoding Character encoding
+	 * @param delimiter Delimiter. "\t" means a tab.
+	 * @param text_qualifier Text qualifier, or "(None)"
+	 * @throws IOException
+	 * @throws CsvException
+	 */
+	public void profile(File src_file, String encoding, String delimiter, String text_qualifier) throws IOException, CsvException {
+		Charset charset = Charset.forName(encoding);
+		if (XportReader.isXport(src_file)) {
+			profileXport(src_file, charset);
+			return;
+		}
+		CSVParser parser = buildParser(delimiter, text_qualifier);
+		if (MappedCsvTokenizer.isSupported(charset, parser)) {
+			try (MappedCsvTokenizer tokenizer = new MappedCsvTokenizer(src_file, charset, parser)) {
+				while (tokenizer.nextRecord()) {
+					/* Cells are decoded only when they are used. */
+					if (columns != null && row_count >= header_line) {
+						row_count++;
+						updateValues(tokenizer);
+					} else {
+						update(tokenizer.getCellCount(), tokenizer::getCell);
+					}
+				}
+			}
+			return;
+		}
+		try (CSVReader reader = openReader(src_file, encoding, delimiter, text_qualifier)) {
+			String[] line;
+			while ((line = reader.readNext()) != null) {
+				update(line);
+			}
+		}
+	}
+
+	/*
+	 * Header settings are ignored, because names are taken from the NAMESTR records.
+	 */
+	private void profileXport(File src_file, Charset charset) throws IOException {
+		try (XportReader reader = new XportReader(src_file, charset)) {
+			List<XportReader.XportVariable> variables = reader.getVariables();
+			columns = new ArrayList<>(variables.size());
+			for (int i = 0; i < variables.size(); i++) {
+				XportReader.XportVariable variable = variables.get(i);
+				ColumnProfile column = new ColumnProfile(i);
+				column.name = variable.getName();
+				column.label = StringUtils.defaultIfEmpty(variable.getLabel(), null);
+				if (!variable.isNumeric()) {
+					column.length = variable.getLength();
+				}
+				columns.add(column);
+			}
+			String[] line;
+			while ((line = reader.readRow()) != null) {
+				row_count++;
+				updateValues(line);
+			}
+		}
+	}
+
+	/**
+	 * Update the profile with the next row of the file. The first row determines the number of columns.
+	 * @param line Values of the row
+	 */
+	public void update(String[] line) {
+		update(line.length, i -> line[i]);
+	}
+
+	private void update(int cell_count, IntFunction<String> cells) {
+		int row_index = row_count++;
+		if (columns == null) {
+			columns = new ArrayList<>(cell_count);
+			for (int i = 0; i < cell_count; i++) {
+				columns.add(new ColumnProfile(i));
+			}
+		}
+		if (row_index == header_row_num - 1) {
+			for (ColumnProfile column : columns) {
+				if (column.column_index < cell_count) {
+					column.name = cells.apply(column.column_index);
+				}
+			}
+		}
+		if (row_index < header_line) {
+			return;
+		}
+		updateValues(cell_count, cells);
+	}
+
+	private void updateValues(String[] line) {
+		updateValues(line.length, i -> line[i]);
+	}
+
+	private void updateValues(int cell_count, IntFunction<String> cells) {
+		data_row_count++;
+		for (ColumnProfile column : columns) {
+			if (column.column_index < cell_count) {
+				column.update(cells.apply(column.column_index));
+			}
+		}
+	}
+
+	private void updateValues(MappedCsvTokenizer tokenizer) {
+		data_row_count++;
+		int cell_count = tokenizer.getCellCount();
+		for (ColumnProfile column : columns) {
+			if (column.column_index < cell_count) {
+				column.update(tokenizer, column.column_index);
+			}
+		}
+	}
+
+	/**
+	 * @return Profiles of the columns in the order of the file. Empty if the file has no rows.
+	 */
+	public List<ColumnProfile> getColumns() {
+		return columns == null ? Collections.emptyList() : Collections.unmodifiableList(columns);
+	}
+
+	/**
+	 * @return Number of rows after the header lines
+	 */
+	public int getDataRowCount() {
+		return data_row_count;
+	}
+
+	/**
+	 * Open a delimited file with the same parser settings as the CRF and eDT spec screens.
+	 */
+	public static CSVReader openReader(File src_file, String encoding, String delimiter, String text_qualifier) throws IOException {
+		CSVReader reader = new CSVReaderBuilder(new InputStreamReader(new FileInputStream(src_file), Charset.forName(encoding)))
+				.withCSVParser(buildParser(delimiter, text_qualifier)).build();
+		reader.setErrorLocale(new Locale("en"));
+		return reader;
+	}
+
+	private static CSVParser buildParser(String delimiter, String text_qualifier) {
+		char separator = ',';	//default
+		if (StringUtils.length(delimiter) > 0) {
+			if ("\\t".equals(delimiter)) {
+				separator = '\t';
+			} else {
+				separator = delimiter.toCharArray()[0];
+			}
+		}
+		char qualifier = '"';	//default
+		if (StringUtils.isEmpty(text_qualifier) || "(None)".equals(text_qualifier)) {
+			qualifier = '\b';	//Backspace - use a character that is very unlikely to appear because 'blank' character is not supported by CSVParserBuilder
+		} else {
+			qualifier = text_qualifier.toCharArray()[0];
+		}
+		char escape = '\\';	//default
+		CSVParserBuilder builder = new CSVParserBuilder().withSeparator(separator).withQuoteChar(qualifier).withEscapeChar(escape);
+		return builder.build();
+	}
+
+	/*
+	 * Return the first part of a date value that is neither a number nor a month name.
+	 */
+	private static String findUnkDateTime(List<String> strs) {
+		for (String str : strs) {
+			if (StringUtils.isNumeric(str)) {
+				continue;
+			}
+			if (MON.contains(str.toUpperCase())) {
+				continue;
+			}
+			return str;
+		}
+		return null;
+	}
+
+	private static class RegexDateMatcher {
+
+		private Pattern pattern;
+		private String format;
+
+		public RegexDateMatcher(String regex, String format) {
+			this.format = format;
+			pattern = Pattern.compile(regex);
+		}
+
+		/*
+		 * Return parts of date string (i.e. {"yyyy", "MM", "dd"}) that matches the pattern.
+		 * If the string is different from the pattern, then return empty array.
+		 */
+		List<String> getMatchStrings(String str) {
+			Matcher matcher = pattern.matcher(str);
+			List<String> rtn = new ArrayList<>();
+			boolean res = matcher.find();
+			if (res) {
+				for (int i = 0; i < matcher.groupCount(); i++) {
+					rtn.add(matcher.group(i + 1));
+				}
+			}
+			return rtn;
+		}
+
+		public String getFormat() {
+			return format;
+		}
+	}
+}
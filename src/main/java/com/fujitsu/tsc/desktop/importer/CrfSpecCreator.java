@@ -10,26 +10,25 @@ package com.fujitsu.tsc.desktop.importer;
 
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.InputStreamReader;
 import java.io.IOException;
-import java.nio.charset.Charset;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 
+import com.fujitsu.tsc.desktop.importer.ColumnProfiler.ColumnProfile;
+import com.fujitsu.tsc.desktop.importer.ColumnProfiler.ColumnType;
 import com.fujitsu.tsc.desktop.importer.ExcelWriter2.ExcelColumn;
 import com.fujitsu.tsc.desktop.importer.models.EdcKeysModel;
 import com.fujitsu.tsc.desktop.importer.models.OdmCodelistModel;
@@ -42,10 +41,6 @@ import com.fujitsu.tsc.desktop.importer.models.OdmFormModel.OdmFormPk;
 import com.fujitsu.tsc.desktop.importer.models.OdmModel;
 import com.fujitsu.tsc.desktop.importer.models.OdmStudyModel;
 import com.fujitsu.tsc.desktop.util.Config;
-import com.opencsv.CSVParser;
-import com.opencsv.CSVParserBuilder;
-import com.opencsv.CSVReader;
-import com.opencsv.CSVReaderBuilder;
 import com.opencsv.exceptions.CsvException;
 
 /**
@@ -54,37 +49,10 @@ import com.opencsv.exceptions.CsvException;
  */
 public class CrfSpecCreator {
 	
-	//Maximum records to read
-	private final static int MAX_ROW_SIZE = 10000;
-	
-	/* Regular Expressions to match date formats
-	 * YYYY/MM/DD
-	 * YYYY/MM/DD HH24:MI:SS
-	 * YYYY-MM-DD
-	 * YYYY-MM-DD"T"HH24:MI:SS
-	 * DDMONYYYY HH24:MI:SS
-	 * DDMONYYYY
-	 */
-	private static List<RegexDateMatcher> dateMatchers = new ArrayList<>();
-	static {
-		dateMatchers.add(new RegexDateMatcher("^(\\d{4})/(\\d{2})/(\\d{2})$", "YYYY/MM/DD"));
-		dateMatchers.add(new RegexDateMatcher("^(\\d{4})/(\\d{2})/(\\d{2}) (\\d{2}):(\\d{2}):(\\d{2})$", "YYYY/MM/DD HH24:MI:SS"));
-		dateMatchers.add(new RegexDateMatcher("^(\\d{4})-(\\d{2})-(\\d{2})$", "YYYY-MM-DD"));
-		dateMatchers.add(new RegexDateMatcher("^(\\d{4})-(\\d{2})-(\\d{2})\"T\"(\\d{2}):(\\d{2}):(\\d{2})$", "YYYY-MM-DD\"T\"HH24:MI:SS"));
-		dateMatchers.add(new RegexDateMatcher("^(\\d{2})(\\D{3})(\\d{4}) (\\d{2}):(\\d{2}):(\\d{2})$", "DDMONYYYY HH24:MI:SS")); //UNK format should be handled separately
-		dateMatchers.add(new RegexDateMatcher("^(\\d{2})(\\D{3})(\\d{4})$", "DDMONYYYY"));  //UNK format should be handled separately
-	}
-	/* Regular Expressions to match number formats
-	 * Distinguish integer and float because integer values could be codelist values.
-	 */
-	private static Pattern integerRegex = Pattern.compile("^[1-9]+?\\d*?$");
-	private static Pattern floatRegex = Pattern.compile("^[+-]?\\d+?\\.\\d+?$");
-
 	private Config config;
 	private OdmModel crf;
 	private OdmStudyModel study;
 	private File[] srcFiles;
-	private List<String[]> lines = new ArrayList<String[]>();
 
 	public CrfSpecCreator(Config config, OdmStudyModel params, File[] srcFiles) {
 		this.config = config;
@@ -94,6 +62,18 @@ public class CrfSpecCreator {
 		this.srcFiles = srcFiles;
 	}
 
+	/**
+	 * Result of profiling one source file, which is merged into the OdmModel later.
+	 */
+	private static class FormProfile {
+		private OdmFormPk formKey;
+		private OdmFormModel form;
+		private Map<OdmFieldPk, OdmFieldModel> fields = new LinkedHashMap<>();
+		private Map<OdmCodelistPk, OdmCodelistModel> codelists = new LinkedHashMap<>();
+		private String edcDateFormat;
+		private String edcUnkDateTimeText;
+	}
+
 	/**
 	 * Scan datasets
 	 * @return A new OdmModel object
@@ -101,98 +81,18 @@ public class CrfSpecCreator {
 	 * @throws CsvException 
 	 */
 	public OdmModel create() throws IOException, CsvException {
-		for (int i = 0; i < srcFiles.length; i++) {
-			File srcFile = srcFiles[i];
-			/* Create Form based on the source file name.
-			 * Datasates are usually named using lower cases, but a CRF spec usually defines using upper cases. */
-			String form_id = srcFile.getName().substring(0, srcFile.getName().lastIndexOf('.')).toUpperCase();
-			OdmFormPk formKey = new OdmFormPk(form_id);
-			OdmFormModel form = new OdmFormModel(formKey);
-			form.ordinal = i + 1;
-			form.name = form_id;
-			crf.put(formKey, form);
-			
-			/* Create Field */
-			lines = EdtSpecCreator.readToStringArray(srcFile, study.encoding, study.delimiter, study.text_qualifier);
-			List<Integer> codeColumns = new ArrayList<>();
-			for (int j = 0; j < columnSize(); j++) {
-				String field_id = getColumnName(j);
-				OdmFieldPk fieldKey = new OdmFieldPk(form_id, "", field_id);
-				OdmFieldModel field = new OdmFieldModel(fieldKey);
-				field.ordinal = j + 1;
-				field.form_name = form.name;
-				field.name = field_id; 
-				field.level = 0;
-				field.mandatory = "No";
-				if (lines != null && lines.size() > study.header_line) {	//The dataset could have no records.
-					ColumnType columnType = getColumnType(j);
-					switch (columnType.getType()) {
-					case DATE:
-						field.data_type = "datetime";
-						updateEdcDateFormat(columnType.detail);
-						updateEdcUnkDateTimeText(StringUtils.defaultString(searchUnkDateTime(j, columnType.getDetail())));
-						break;
-					case STRING:
-						field.data_type = "text";
-						codeColumns.add(j);
-						field.crf_codelist = field_id;
-						break;
-					case INTEGER:
-						field.data_type = "integer";
-						codeColumns.add(j);
-						field.crf_codelist = field_id;
-						break;
-					case FLOAT:
-						field.data_type = "float";
-						break;
-					default:
-						break;
-					}
-				} else {
-					field.data_type = "text";
-				}
-				crf.put(fieldKey, field);
+		List<FormProfile> profiles = profileAll();
+		/* Merge profiles in the order of the source files, so that the result does not depend on the number of threads. */
+		for (FormProfile profile : profiles) {
+			crf.put(profile.formKey, profile.form);
+			for (Map.Entry<OdmFieldPk, OdmFieldModel> entry : profile.fields.entrySet()) {
+				crf.put(entry.getKey(), entry.getValue());
 			}
-			/* Create Codelist */
-			for (Integer colIndex : codeColumns) {
-				Set<String> userCodes = new LinkedHashSet<String>();
-				for (int r = study.header_line; r < lines.size(); r++) {
-					String txt = getStr(r, colIndex);
-					if (StringUtils.isNotBlank(txt)) {
-						userCodes.add(txt);
-					}
-				}
-				/* If values are all empty, do not create a codelist. */
-				boolean all_empty = true;
-				for (String userCode : userCodes) {
-					if (!StringUtils.isEmpty(userCode)) {
-						all_empty = false;
-						break;
-					}
-				}
-				if (all_empty) {
-					OdmFieldPk fieldKey = new OdmFieldPk(form_id, "", getColumnName(colIndex));
-					OdmFieldModel field = crf.get(fieldKey);
-					if (field != null)
-						field.crf_codelist = "";
-					continue;
-				}
-				/* Create a codelist. */
-				Iterator<String> iterator = userCodes.iterator();
-				while (iterator.hasNext()) {
-					String userCode = iterator.next();
-					OdmCodelistPk codelistKey = new OdmCodelistPk(getColumnName(colIndex), userCode);
-					OdmCodelistModel codelist = new OdmCodelistModel(codelistKey);
-					codelist.codelist_label = codelist.codelist;
-					if (getColumnType(colIndex).getType() == CType.STRING) {
-						codelist.data_type = "text";
-					} else {
-						codelist.data_type = "integer";
-					}
-					codelist.submission_value = codelist.user_code;
-					crf.put(codelistKey, codelist);
-				}
+			for (Map.Entry<OdmCodelistPk, OdmCodelistModel> entry : profile.codelists.entrySet()) {
+				crf.put(entry.getKey(), entry.getValue());
 			}
+			updateEdcDateFormat(profile.edcDateFormat);
+			updateEdcUnkDateTimeText(profile.edcUnkDateTimeText);
 		}
 		/* Create EDC_Keys */
 		/* (1) Summarize each OdmFieldModel for each field_id (field_id_map) */
@@ -243,50 +143,151 @@ public class CrfSpecCreator {
 		return crf;
 	}
 
-	//TODO Throw exception when dataset files are completely illegal (not a text file, not a table format)
-	private String getStr(int rowIndex, int colIndex) {
-		String rtn = lines.get(rowIndex)[colIndex];
-//		if (StringUtils.isNoneEmpty(study.text_qualifier)) {
-//			if (rtn.startsWith(study.text_qualifier)) {
-//				rtn = StringUtils.substringAfter(rtn, study.text_qualifier);
-//			}
-//			if (rtn.endsWith(study.text_qualifier)) {
-//				rtn = StringUtils.substringBeforeLast(rtn, study.text_qualifier);
-//			}
-//		}
-		return rtn;
+	/*
+	 * Profile all source files. Files are profiled on a worker pool when more than one thread is available.
+	 */
+	private List<FormProfile> profileAll() throws IOException, CsvException {
+		int threads = config.crfThreads > 0 ? config.crfThreads : Runtime.getRuntime().availableProcessors();
+		threads = Math.min(threads, srcFiles.length);
+		List<FormProfile> profiles = new ArrayList<>();
+		if (threads <= 1) {
+			for (int i = 0; i < srcFiles.length; i++) {
+				profiles.add(profile(i + 1, srcFiles[i]));
+			}
+			return profiles;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<FormProfile>> futures = new ArrayList<>();
+			for (int i = 0; i < srcFiles.length; i++) {
+				final int ordinal = i + 1;
+				final File srcFile = srcFiles[i];
+				futures.add(executor.submit(() -> profile(ordinal, srcFile)));
+			}
+			for (Future<FormProfile> future : futures) {
+				profiles.add(future.get());
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IOException(ex);
+		} catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException)cause;
+			} else if (cause instanceof CsvException) {
+				throw (CsvException)cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException)cause;
+			} else {
+				throw new IOException(cause);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		return profiles;
 	}
 
-	//Find UNK expressions
-	private String searchUnkDateTime(int columnIdx, String format) {
-		List<String> MON = Arrays.asList(new String[] { "JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC" });
-		RegexDateMatcher matcher = null;
-		for (RegexDateMatcher dateMatcher : CrfSpecCreator.dateMatchers) {
-			if (dateMatcher.getFormat().equals(format)) {
-				matcher = dateMatcher;
-				break;
+	/*
+	 * Read a source file and infer a Form, its Fields and Codelists. This method does not update the OdmModel.
+	 */
+	private FormProfile profile(int ordinal, File srcFile) throws IOException, CsvException {
+		FormProfile profile = new FormProfile();
+		/* Create Form based on the source file name.
+		 * Datasates are usually named using lower cases, but a CRF spec usually defines using upper cases. */
+		String form_id = srcFile.getName().substring(0, srcFile.getName().lastIndexOf('.')).toUpperCase();
+		OdmFormPk formKey = new OdmFormPk(form_id);
+		OdmFormModel form = new OdmFormModel(formKey);
+		form.ordinal = ordinal;
+		form.name = form_id;
+		profile.formKey = formKey;
+		profile.form = form;
+		
+		/* Read the file once and profile all columns. */
+		ColumnProfiler profiler = new ColumnProfiler(study.header_line, study.header_row_num);
+		profiler.profile(srcFile, study.encoding, study.delimiter, study.text_qualifier);
+
+		/* Create Field */
+		List<ColumnProfile> codeColumns = new ArrayList<>();
+		for (ColumnProfile columnProfile : profiler.getColumns()) {
+			String field_id = columnProfile.getName();
+			OdmFieldPk fieldKey = new OdmFieldPk(form_id, "", field_id);
+			OdmFieldModel field = new OdmFieldModel(fieldKey);
+			field.ordinal = columnProfile.getColumnIndex() + 1;
+			field.form_name = form.name;
+			field.name = field_id; 
+			field.level = 0;
+			field.mandatory = "No";
+			/* Variable label and length are available from a SAS transport file. */
+			if (columnProfile.getLabel() != null) {
+				field.question = columnProfile.getLabel();
 			}
+			if (columnProfile.getLength() != null) {
+				field.length = columnProfile.getLength();
+			}
+			if (profiler.getDataRowCount() > 0) {	//The dataset could have no records.
+				switch (columnProfile.getType()) {
+				case DATE:
+					field.data_type = "datetime";
+					if (StringUtils.isEmpty(profile.edcDateFormat)) {
+						profile.edcDateFormat = columnProfile.getDateTimeFormat();
+					}
+					if (StringUtils.isEmpty(profile.edcUnkDateTimeText)) {
+						profile.edcUnkDateTimeText = columnProfile.getUnkDateTimeText();
+					}
+					break;
+				case STRING:
+					field.data_type = "text";
+					codeColumns.add(columnProfile);
+					field.crf_codelist = field_id;
+					field.distinct_values = columnProfile.getDistinctCountNote();
+					break;
+				case INTEGER:
+					field.data_type = "integer";
+					codeColumns.add(columnProfile);
+					field.crf_codelist = field_id;
+					field.distinct_values = columnProfile.getDistinctCountNote();
+					break;
+				case FLOAT:
+					field.data_type = "float";
+					break;
+				default:
+					break;
+				}
+			} else {
+				field.data_type = "text";
+			}
+			profile.fields.put(fieldKey, field);
 		}
-		//Scan all columns and find UNK expressions
-		for (int i = study.header_line; i < lines.size(); i++) {
-			String txt = getStr(i, columnIdx);
-			if (StringUtils.isEmpty(txt)) {
+		/* Create Codelist */
+		for (ColumnProfile columnProfile : codeColumns) {
+			/* If values are all empty or too many to be a codelist, do not create a codelist. */
+			Set<String> userCodes = columnProfile.getDistinctValues();
+			if (userCodes.isEmpty()) {
+				OdmFieldPk fieldKey = new OdmFieldPk(form_id, "", columnProfile.getName());
+				OdmFieldModel field = profile.fields.get(fieldKey);
+				if (field != null)
+					field.crf_codelist = "";
 				continue;
 			}
-			List<String> strs = matcher.getMatchStrings(txt);
-			for (String str : strs) {
-				if (StringUtils.isNumeric(str)) {
-					continue;
-				}
-				if (MON.contains(str.toUpperCase())) {
-					continue;
+			/* Create a codelist. */
+			Iterator<String> iterator = userCodes.iterator();
+			while (iterator.hasNext()) {
+				String userCode = iterator.next();
+				OdmCodelistPk codelistKey = new OdmCodelistPk(columnProfile.getName(), userCode);
+				OdmCodelistModel codelist = new OdmCodelistModel(codelistKey);
+				codelist.codelist_label = codelist.codelist;
+				if (columnProfile.getType() == ColumnType.STRING) {
+					codelist.data_type = "text";
+				} else {
+					codelist.data_type = "integer";
 				}
-				return str;
+				codelist.submission_value = codelist.user_code;
+				profile.codelists.put(codelistKey, codelist);
 			}
 		}
-		return null;
+		return profile;
 	}
-	
+
 	private void updateEdcDateFormat(String str) {
 		if (StringUtils.isEmpty(this.study.edc_date_format) && StringUtils.isNotEmpty(str)) {
 			this.study.edc_date_format = str;
@@ -299,100 +300,6 @@ public class CrfSpecCreator {
 		}
 	}
 
-	private class ColumnType {
-
-		private final CType ctype;
-		private String detail;
-
-		public ColumnType(CType cType) {
-			this.ctype = cType;
-		}
-
-		public ColumnType(CType cType, String detail) {
-			this.ctype = cType;
-			this.detail = detail;
-		}
-
-		public CType getType() {
-			return ctype;
-		}
-
-		public String getDetail() {
-			return detail;
-		}
-	}
-
-	private enum CType {
-		DATE, STRING, INTEGER, FLOAT
-	}
-
-	//Identify ColumnType based on the first record
-	private ColumnType getColumnType(int columnIdx) {
-		String txt = getStr(study.header_line, columnIdx);
-		if (integerRegex.matcher(txt).find()) {
-			return new ColumnType(CType.INTEGER);
-		}
-		if (floatRegex.matcher(txt).find()) {
-			return new ColumnType(CType.FLOAT);
-		}
-		for (RegexDateMatcher matcher : dateMatchers) {
-			if (matcher.isMatch(txt)) {
-				return new ColumnType(CType.DATE, matcher.getFormat());
-			}
-		}
-		return new ColumnType(CType.STRING);
-	}
-
-	private static class RegexDateMatcher {
-
-		private Pattern pattern;
-		private String format;
-
-		public RegexDateMatcher(String regex, String format) {
-			this.format = format;
-			pattern = Pattern.compile(regex);
-		}
-
-		boolean isMatch(String str) {
-			return pattern.matcher(str).find();
-		}
-
-		/*
-		 * Return parts of date string (i.e. {"yyyy", "MM", "dd"}) that matches the pattern.
-		 * If the string is different from the pattern, then return empty array.
-		 * TODO: This code simply returns empty array if date parts are text.
-		 */
-		List<String> getMatchStrings(String str) {
-			Matcher matcher = pattern.matcher(str);
-			List<String> rtn = new ArrayList<>();
-			boolean res = matcher.find();
-			if (res) {
-				for (int i = 0; i < matcher.groupCount(); i++) {
-					rtn.add(matcher.group(i + 1));
-				}
-			}
-			return rtn;
-		}
-
-		public String getFormat() {
-			return format;
-		}
-	}
-
-
-
-	private String getColumnName(int columnIdx) {
-		if (study.header_row_num >= 1) {
-			return getStr(study.header_row_num - 1, columnIdx);
-		} else {
-			return "Column" + columnIdx;
-		}
-	}
-
-	private int columnSize() {
-		return lines.get(0).length;
-	}
-
 	public static enum YorN {
 		Yes, No;
 	}
@@ -8,9 +8,10 @@
 
 package com.fujitsu.tsc.desktop.importer;
 
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.xml.sax.*;
 
 import com.fujitsu.tsc.desktop.importer.models.DefineARMDatasetModel;
@@ -39,23 +40,24 @@ import com.fujitsu.tsc.desktop.importer.models.DefineWCModel.WCCondition;
 import com.fujitsu.tsc.desktop.util.ExcelStyle;
 import com.fujitsu.tsc.desktop.util.Utils;
 import com.fujitsu.tsc.desktop.util.Config;
+import com.fujitsu.tsc.desktop.util.ConversionMetrics;
 import com.fujitsu.tsc.desktop.util.ErrorInfo;
+import com.fujitsu.tsc.desktop.util.SchemaRegistry;
 import com.fujitsu.tsc.desktop.validator.DefaultValidationHandler;
 
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 
-import javax.xml.XMLConstants;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
 
 import java.lang.String;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiConsumer;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -89,19 +91,9 @@ public class DefineImporter {
 
 	private List<ErrorInfo> parse(Type type) throws SAXException, ParserConfigurationException, IOException {
 
-		SchemaFactory sch_factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-		Utils.setSchemaFactorySecureFeatures(sch_factory);
 		SAXParserFactory sax_factory = SAXParserFactory.newInstance();
-		Schema schema = null;
-		if (type == Type.HARD) {
-			schema = sch_factory.newSchema(this.getClass().getClassLoader().getResource("schema/xml/xml.xsd"));
-		} else {
-			if ("2.1.n".equals(config.d2eDefineVersion)) {
-				schema = sch_factory.newSchema(this.getClass().getClassLoader().getResource("schema/2.1.n/cdisc-arm-1.0/arm1-0-0.xsd"));
-			} else {
-				schema = sch_factory.newSchema(this.getClass().getClassLoader().getResource("schema/2.0.0/cdisc-arm-1.0/arm1-0-0.xsd"));
-			}
-		}
+		/* The schema is compiled only once in the session. */
+		Schema schema = SchemaRegistry.getDefineSchema(config.d2eDefineVersion, (type == Type.HARD ? SchemaRegistry.Mode.HARD : SchemaRegistry.Mode.SOFT));
 
 		sax_factory.setSchema(schema);
 		sax_factory.setNamespaceAware(true);
@@ -128,11 +120,18 @@ public class DefineImporter {
 		this.define = define;
 	}
 	
-	public XSSFWorkbook generateWorkbook() throws IOException {
-		XSSFWorkbook wb = new XSSFWorkbook();
+	/**
+	 * Generate a streaming workbook. Only the last rows of each sheet are kept in memory and the others are flushed to temporary files.
+	 * The caller must call {@link SXSSFWorkbook#dispose()} after writing the workbook out.
+	 * @return
+	 * @throws IOException
+	 */
+	public SXSSFWorkbook generateWorkbook() throws IOException {
+		SXSSFWorkbook wb = new SXSSFWorkbook(ExcelStyle.ROW_ACCESS_WINDOW_SIZE);
 		excelStyle = new ExcelStyle(wb, this.config);
 
 		/* Preliminary Update */
+		ConversionMetrics.Stage update_stage = ConversionMetrics.stage("Update model");
 		define.updateVLM();	//Update Dataset and Variable
 		define.updateARMDisplay();	//Update Parameter Dataset
 		define.updateARMDataset();	//Update Dataset, Variable and WhereClause
@@ -141,23 +140,24 @@ public class DefineImporter {
 			define.updateHasSupp();	//Update Has SUPP
 		}
 		define.updateVariableOrdinal();	//Update ordinal based on Dataset ordinal
+		update_stage.close();
 
 		/* Write out */
-		writeStudySheet(wb, define);
-		writeStandardSheet(wb, define);
-		writeDocumentSheet(wb, define);
-		writeDatasetSheet(wb, define);
-		writeVariableSheet(wb, define);
-		writeValueSheet(wb, define);
+		writeSheet(config.defineStudyTableName, this::writeStudySheet, wb);
+		writeSheet(config.defineStandardTableName, this::writeStandardSheet, wb);
+		writeSheet(config.defineDocumentTableName, this::writeDocumentSheet, wb);
+		writeSheet(config.defineDatasetTableName, this::writeDatasetSheet, wb);
+		writeSheet(config.defineVariableTableName, this::writeVariableSheet, wb);
+		writeSheet(config.defineValueTableName, this::writeValueSheet, wb);
 		if (this.config.d2eDatasetType.equals("ADaM")) {
-			writeResult1Sheet(wb, define);
-			writeResult2Sheet(wb, define);
+			writeSheet(config.defineResult1TableName, this::writeResult1Sheet, wb);
+			writeSheet(config.defineResult2TableName, this::writeResult2Sheet, wb);
 		}
-		writeDictionarySheet(wb, define);
-		writeCodelistSheet(wb, define);
+		writeSheet(config.defineDictionaryTableName, this::writeDictionarySheet, wb);
+		writeSheet(config.defineCodelistTableName, this::writeCodelistSheet, wb);
 		if (config.d2eSeparateSheet) {
-			writeMethodSheet(wb, define);
-			writeCommentSheet(wb, define);
+			writeSheet(config.defineMethodTableName, this::writeMethodSheet, wb);
+			writeSheet(config.defineCommentTableName, this::writeCommentSheet, wb);
 		}
 		
 		return wb;
@@ -167,9 +167,23 @@ public class DefineImporter {
 //		out.close();
 	}
 
-	public void writeStudySheet(XSSFWorkbook wb, DefineModel define) {
+	/*
+	 * Call a write*Sheet method as a stage of ConversionMetrics, counting the rows of the new sheet.
+	 */
+	private void writeSheet(String name, BiConsumer<Workbook, DefineModel> writer, Workbook wb) {
+		try (ConversionMetrics.Stage stage = ConversionMetrics.stage("Write " + name + " sheet")) {
+			int sheet_count = wb.getNumberOfSheets();
+			writer.accept(wb, define);
+			if (wb.getNumberOfSheets() > sheet_count) {
+				stage.addCount(wb.getSheetAt(wb.getNumberOfSheets() - 1).getLastRowNum());
+			}
+		}
+	}
+
+	public void writeStudySheet(Workbook wb, DefineModel define) {
 		logger.info("Generating " + config.defineStudyTableName + " Sheet");
-		XSSFSheet sheet = wb.createSheet(config.defineStudyTableName);
+		Sheet sheet = wb.createSheet(config.defineStudyTableName);
+		CellStyle[] styles = excelStyle.getStylesDefine_StudySheet();
 		DefineStudyModel study = define.getStudy();
 		DefineCommentModel comment = define.get(new DefineCommentPk(study.comment_oid));
 		String[][] cells = {
@@ -200,30 +214,26 @@ public class DefineImporter {
 			{"User Note 1",                  ""},
 			{"User Note 2",                  ""}
 		};
-		for (int i = 0; i < cells.length; i++) {
-			Row row = sheet.createRow(i);
-			row.createCell(0).setCellValue(cells[i][0]);
-			row.createCell(1).setCellValue(cells[i][1]);
-		}
-		excelStyle.setStyleDefine_StudySheet(sheet);
+		excelStyle.createHeaderRow(sheet, cells[0], styles);
 		excelStyle.setColumnWidth(sheet);
+		for (int i = 1; i < cells.length; i++) {
+			excelStyle.createDataRow(sheet, i, cells[i], styles);
+		}
 	}
 
-	public void writeStandardSheet(XSSFWorkbook wb, DefineModel define) {
+	public void writeStandardSheet(Workbook wb, DefineModel define) {
 		logger.info("Generating " + config.defineStandardTableName + " Sheet");
-		XSSFSheet sheet = wb.createSheet(config.defineStandardTableName);
+		Sheet sheet = wb.createSheet(config.defineStandardTableName);
+		CellStyle[] styles = excelStyle.getStylesDefine_StandardSheet();
 		List<DefineStandardModel> standards = define.listSortedStandard();
 		/* Create a header row */
 		String[] header = { "Name", "Type", "Publishing Set", "Version", "Status", "CommentOID", "Comment", "Language", "DocumentID", "Document Page Type", "Document Page Reference", "Document First Page", "Document Last Page", "Document Page Title", "User Note 1", "User Note 2" };
-		Row row = sheet.createRow(0);
-		for (int i = 0; i < header.length; i++) {
-			row.createCell(i).setCellValue(header[i]);
-		}
+		excelStyle.createHeaderRow(sheet, header, styles);
+		excelStyle.setColumnWidth(sheet);
 		/* Create data rows */
 		int row_num = 1;
 		for(DefineStandardModel standard : standards) {
 			DefineCommentModel comment = define.get(new DefineCommentPk(standard.comment_oid));
-			row = sheet.createRow(row_num++);
 			String[] data = {
 					standard.standard_name,
 					standard.standard_type.name(), 
@@ -241,53 +251,41 @@ public class DefineImporter {
 					(comment == null || config.d2eSeparateSheet ? "" : comment.getDocumentPageTitleString(config.valueDelimiter)),
 					standard.user_note1,
 					standard.user_note2 };
-			for (int i = 0; i < header.length; i++) {
-				row.createCell(i).setCellValue(data[i]);
-			}
+			excelStyle.createDataRow(sheet, row_num++, data, styles);
 		}
-		excelStyle.setStyleDefine_StandardSheet(sheet);
-		excelStyle.setColumnWidth(sheet);
 	}
 
-	public void writeDocumentSheet(XSSFWorkbook wb, DefineModel define) {
+	public void writeDocumentSheet(Workbook wb, DefineModel define) {
 		logger.info("Generating " + config.defineDocumentTableName + " Sheet");
-		XSSFSheet sheet = wb.createSheet(config.defineDocumentTableName);
+		Sheet sheet = wb.createSheet(config.defineDocumentTableName);
+		CellStyle[] styles = excelStyle.getStylesDefine_DocumentSheet();
 		List<DefineDocumentModel> documents = define.listSortedDocument();
 		/* Create a header row */
 		String[] header = { "ID", "Type", "href", "Title", "User Note 1", "User Note 2" };
-		Row row = sheet.createRow(0);
-		for (int i = 0; i < header.length; i++) {
-			row.createCell(i).setCellValue(header[i]);
-		}
+		excelStyle.createHeaderRow(sheet, header, styles);
+		excelStyle.setColumnWidth(sheet);
 		/* Create data rows */
 		int row_num = 1;
 		for(DefineDocumentModel document : documents) {
-			row = sheet.createRow(row_num++);
 			String[] data = { document.document_id, document.document_type.name(), document.document_href, document.document_title, document.user_note1, document.user_note2 };
-			for (int i = 0; i < header.length; i++) {
-				row.createCell(i).setCellValue(data[i]);
-			}
+			excelStyle.createDataRow(sheet, row_num++, data, styles);
 		}
-		excelStyle.setStyleDefine_DocumentSheet(sheet);
-		excelStyle.setColumnWidth(sheet);
 	}
 
-	public void writeDatasetSheet(XSSFWorkbook wb, DefineModel define) {
+	public void writeDatasetSheet(Workbook wb, DefineModel define) {
 		logger.info("Generating " + config.defineDatasetTableName + " Sheet");
-		XSSFSheet sheet = wb.createSheet(config.defineDatasetTableName);
+		Sheet sheet = wb.createSheet(config.defineDatasetTableName);
+		CellStyle[] styles = excelStyle.getStylesDefine_DatasetSheet();
 		List<DefineDatasetModel> datasets = define.listSortedDataset();
 		/* Create a header row */
 		String[] header = { "Domain", "Dataset Name", "Has SUPP", "Description", "No Data", "SASDatasetName", "Repeating", "IsReferenceData", "Purpose", "Standard", "Structure", "Class", "Subclass", "CommentOID", "Comment", "Language", "DocumentID", "Document Page Type", "Document Page Reference", "Document First Page", "Document Last Page", "Document Page Title", "Alias", "Leaf href", "Leaf Title", "User Note 1", "User Note 2" };
-		Row row = sheet.createRow(0);
-		for (int i = 0; i < header.length; i++) {
-			row.createCell(i).setCellValue(header[i]);
-		}
+		excelStyle.createHeaderRow(sheet, header, styles);
+		excelStyle.setColumnWidth(sheet);
 		/* Create data rows */
 		int row_num = 1;
 		for(DefineDatasetModel dataset : datasets) {
 			DefineCommentModel comment = define.get(new DefineCommentPk(dataset.comment_oid));
 			DefineStandardModel standard = define.get(new DefineStandardPk(dataset.standard_oid));
-			row = sheet.createRow(row_num++);
 			String[] data = {
 					(StringUtils.isEmpty(dataset.domain) ? dataset.dataset_name : dataset.domain),
 					dataset.dataset_name,
@@ -316,30 +314,24 @@ public class DefineImporter {
 					dataset.leaf_title,
 					dataset.user_note1,
 					dataset.user_note2 };
-			for (int i = 0; i < header.length; i++) {
-				row.createCell(i).setCellValue(data[i]);
-			}
+			excelStyle.createDataRow(sheet, row_num++, data, styles);
 		}
-		excelStyle.setStyleDefine_DatasetSheet(sheet);
-		excelStyle.setColumnWidth(sheet);
 	}
 
-	public void writeVariableSheet(XSSFWorkbook wb, DefineModel define) {
+	public void writeVariableSheet(Workbook wb, DefineModel define) {
 		logger.info("Generating " + config.defineVariableTableName + " Sheet");
-		XSSFSheet sheet = wb.createSheet(config.defineVariableTableName);
+		Sheet sheet = wb.createSheet(config.defineVariableTableName);
+		CellStyle[] styles = excelStyle.getStylesDefine_VariableSheet();
 		List<DefineVariableModel> variables = define.listSortedVariable();
 		/* Create a header row */
 		String[] header = { "Dataset Name", "Variable Name", "Is SUPP", "Repeat N", "Label", "No Data", "Non Standard", "Mandatory", "Key Sequence", "Sort Order", "DataType", "Length", "SignificantDigits", "SASFieldName", "DisplayFormat", "Codelist", "Origin", "Source", "Evaluator", "CRF ID", "CRF Page Type", "CRF Page Reference", "CRF First Page", "CRF Last Page", "CRF Page Title", "Has VLM", "MethodOID", "Derivation Type", "Predecessor/Derivation", "CommentOID", "Comment", "Language", "DocumentID", "Document Page Type", "Document Page Reference", "Document First Page", "Document Last Page", "Document Page Title", "Role", "Role Codelist", "FormalExpression Context", "FormalExpression Text", "Alias Context", "Alias Name", "User Note 1", "User Note 2" };
-		Row row = sheet.createRow(0);
-		for (int i = 0; i < header.length; i++) {
-			row.createCell(i).setCellValue(header[i]);
-		}
+		excelStyle.createHeaderRow(sheet, header, styles);
+		excelStyle.setColumnWidth(sheet);
 		/* Create data rows */
 		int row_num = 1;
 		for(DefineVariableModel variable : variables) {
 			DefineMethodModel method = define.get(new DefineMethodPk(variable.method_oid));
 			DefineCommentModel comment = define.get(new DefineCommentPk(variable.comment_oid));
-			row = sheet.createRow(row_num++);
 			String[] data = { 
 					variable.dataset_name,
 					variable.variable_name,
@@ -387,25 +379,20 @@ public class DefineImporter {
 					variable.alias_name,
 					variable.user_note1,
 					variable.user_note2 };
-			for (int i = 0; i < header.length; i++) {
-				row.createCell(i).setCellValue(data[i]);
-			}
+			excelStyle.createDataRow(sheet, row_num++, data, styles);
 		}
-		excelStyle.setStyleDefine_VariableSheet(sheet);
-		excelStyle.setColumnWidth(sheet);
 	}
 
-	public void writeValueSheet(XSSFWorkbook wb, DefineModel define) {
+	public void writeValueSheet(Workbook wb, DefineModel define) {
 		logger.info("Generating " + config.defineValueTableName + " Sheet");
-		XSSFSheet sheet = wb.createSheet(config.defineValueTableName);
+		Sheet sheet = wb.createSheet(config.defineValueTableName);
+		CellStyle[] styles = excelStyle.getStylesDefine_ValueSheet();
 		List<DefineValueModel> values = define.listSortedValue();
 		/* Create a header row */
 		String[] header = { "Dataset Name", "Variable Name", "Value Name", "Value Key", "Label", "No Data", "Mandatory", "DataType", "Length", "SignificantDigits", "SASFieldName", "DisplayFormat", "Codelist", "Origin", "Source", "CRF ID", "CRF Page Type", "CRF Page Reference", "CRF First Page", "CRF Last Page", "CRF Page Title", "MethodOID", "Derivation Type", "Predecessor/Derivation", "CommentOID", "Comment", "Language", "DocumentID", "Document Page Type", "Document Page Reference", "Document First Page", "Document Last Page", "Document Page Title", "FormalExpression Context", "FormalExpression Text", "Alias Context", "Alias Name", "User Note 1", "User Note 2",
 				"WhereClauseGroupID", "WhereClauseDataset", "WhereClauseVariable", "WhereClauseOperator", "WhereClauseValue", "WhereClause CommentOID", "WhereClause Comment", "WhereClause Language"};
-		Row row = sheet.createRow(0);
-		for (int i = 0; i < header.length; i++) {
-			row.createCell(i).setCellValue(header[i]);
-		}
+		excelStyle.createHeaderRow(sheet, header, styles);
+		excelStyle.setColumnWidth(sheet);
 		/* Create data rows */
 		int row_num = 1;
 		for(DefineValueModel value : values) {
@@ -419,7 +406,6 @@ public class DefineImporter {
 				List<WCCondition> wc_conditions = (wc == null || wc.wc_conditions.isEmpty() ? new ArrayList<>() : wc.wc_conditions);
 				for (int j = 0; j == 0 || j < wc_conditions.size(); j++) {	//Run at least once even if WhereClause condition is empty
 					WCCondition wc_condition = (wc_conditions.isEmpty() ? null : wc_conditions.get(j));
-					row = sheet.createRow(row_num++);
 					String[] data = {
 							value.dataset_name,
 							value.variable_name,
@@ -468,27 +454,22 @@ public class DefineImporter {
 							(wc_comment != null && config.d2eSeparateSheet ? wc_comment.oid : ""),
 							(wc_comment == null || config.d2eSeparateSheet ? "" : wc_comment.comment_text),
 							(wc_comment == null || config.d2eSeparateSheet ? "" : wc_comment.comment_lang) };
-					for (int k = 0; k < header.length; k++) {
-						row.createCell(k).setCellValue(data[k]);
-					}
+					excelStyle.createDataRow(sheet, row_num++, data, styles);
 				}
 			}
 		}
-		excelStyle.setStyleDefine_ValueSheet(sheet);
-		excelStyle.setColumnWidth(sheet);
 	}
 
-	public void writeResult1Sheet(XSSFWorkbook wb, DefineModel define) {
+	public void writeResult1Sheet(Workbook wb, DefineModel define) {
 		logger.info("Generating " + config.defineResult1TableName + " Sheet");
-		XSSFSheet sheet = wb.createSheet(config.defineResult1TableName);
+		Sheet sheet = wb.createSheet(config.defineResult1TableName);
+		CellStyle[] styles = excelStyle.getStylesDefine_Result1Sheet();
 		List<DefineARMDisplayModel> arm_displays = define.listSortedARMDisplay();
 		/* Create a header row */
 		String[] header = { "Display Name", "Display Description", "Display Language", "Leaf ID", "Leaf Page Type", "Leaf Page Reference", "Leaf First Page", "Leaf Last Page", "User Note 1", "User Note 2",
 				"Result Key", "Result Description", "Result Language", "ParameterOID Dataset", "Analysis Reason", "Analysis Purpose", "Documentation ID", "Documentation Page Type", "Documentation Page Reference", "Documentation First Page", "Documentation Last Page", "Documentation Text", "Documentation Language", "Programming Code Context", "Programming Code Text", "Programming Code Document ID", "Programming Code Document Page Type", "Programming Code Document Page Reference", "Programming Code Document First Page", "Programming Code Document Last Page", "Datasets CommentOID", "Datasets Comment", "Datasets Language", "Datasets DocumentID", "Datasets Document Page Type", "Datasets Document Page Reference", "Datasets Document First Page", "Datasets Document Last Page"};
-		Row row = sheet.createRow(0);
-		for (int i = 0; i < header.length; i++) {
-			row.createCell(i).setCellValue(header[i]);
-		}
+		excelStyle.createHeaderRow(sheet, header, styles);
+		excelStyle.setColumnWidth(sheet);
 		/* Create data rows */
 		int row_num = 1;
 		for(DefineARMDisplayModel arm_display : arm_displays) {
@@ -496,7 +477,6 @@ public class DefineImporter {
 			for (int i = 0; i == 0 || i < arm_result_pks.size(); i++) {
 				DefineARMResultModel arm_result = (arm_result_pks.isEmpty() ? null : define.get(arm_result_pks.get(i)));
 				DefineCommentModel dataset_comment = (arm_result == null ? null : define.get(new DefineCommentPk(arm_result.dataset_comment_oid)));
-				row = sheet.createRow(row_num++);
 				String[] data = { arm_display.display_name,
 						arm_display.display_desc,
 						arm_display.display_lang,
@@ -535,26 +515,21 @@ public class DefineImporter {
 						(dataset_comment == null || config.d2eSeparateSheet ? "" : dataset_comment.getDocumentPageRefString(config.valueDelimiter)),
 						(dataset_comment == null || config.d2eSeparateSheet ? "" : dataset_comment.getDocumentFirstPageString(config.valueDelimiter)),
 						(dataset_comment == null || config.d2eSeparateSheet ? "" : dataset_comment.getDocumentLastPageString(config.valueDelimiter))};
-				for (int j = 0; j < header.length; j++) {
-					row.createCell(j).setCellValue(data[j]);
-				}
+				excelStyle.createDataRow(sheet, row_num++, data, styles);
 			}
 		}
-		excelStyle.setStyleDefine_Result1Sheet(sheet);
-		excelStyle.setColumnWidth(sheet);
 	}
 
-	public void writeResult2Sheet(XSSFWorkbook wb, DefineModel define) {
+	public void writeResult2Sheet(Workbook wb, DefineModel define) {
 		logger.info("Generating " + config.defineResult2TableName + " Sheet");
-		XSSFSheet sheet = wb.createSheet(config.defineResult2TableName);
+		Sheet sheet = wb.createSheet(config.defineResult2TableName);
+		CellStyle[] styles = excelStyle.getStylesDefine_Result2Sheet();
 		List<DefineARMDatasetModel> arm_datasets = define.listSortedARMDataset();
 		/* Create a header row */
 		String[] header = { "Display Name", "Result Key", "Dataset Name", "Analysis Variable", "User Note 1", "User Note 2",
 				"WhereClauseDataset", "WhereClauseVariable", "WhereClauseOperator", "WhereClauseValue", "WhereClause CommentOID", "WhereClause Comment", "WhereClause Language"};
-		Row row = sheet.createRow(0);
-		for (int i = 0; i < header.length; i++) {
-			row.createCell(i).setCellValue(header[i]);
-		}
+		excelStyle.createHeaderRow(sheet, header, styles);
+		excelStyle.setColumnWidth(sheet);
 		/* Create data rows */
 		int row_num = 1;
 		for(DefineARMDatasetModel arm_dataset : arm_datasets) {
@@ -564,7 +539,6 @@ public class DefineImporter {
 			List<WCCondition> wc_conditions = (wc == null || wc.wc_conditions.isEmpty() ? new ArrayList<>() : wc.wc_conditions);
 			for (int j = 0; j == 0 || j < wc_conditions.size(); j++) {	//Run at least once even if WhereClause condition is empty
 				WCCondition wc_condition = (wc_conditions.isEmpty() ? null : wc_conditions.get(j));
-				row = sheet.createRow(row_num++);
 				String[] data = { arm_dataset.display_name,
 						arm_dataset.result_key,
 						arm_dataset.dataset_name,
@@ -578,30 +552,24 @@ public class DefineImporter {
 						(wc_comment != null && config.d2eSeparateSheet ? wc_comment.oid : ""),
 						(wc_comment == null || config.d2eSeparateSheet ? "" : wc_comment.comment_text),
 						(wc_comment == null || config.d2eSeparateSheet ? "" : wc_comment.comment_lang) };
-				for (int k = 0; k < header.length; k++) {
-					row.createCell(k).setCellValue(data[k]);
-				}
+				excelStyle.createDataRow(sheet, row_num++, data, styles);
 			}
 		}
-		excelStyle.setStyleDefine_Result2Sheet(sheet);
-		excelStyle.setColumnWidth(sheet);
 	}
 
-	public void writeDictionarySheet(XSSFWorkbook wb, DefineModel define) {
+	public void writeDictionarySheet(Workbook wb, DefineModel define) {
 		logger.info("Generating " + config.defineDictionaryTableName + " Sheet");
-		XSSFSheet sheet = wb.createSheet(config.defineDictionaryTableName);
+		Sheet sheet = wb.createSheet(config.defineDictionaryTableName);
+		CellStyle[] styles = excelStyle.getStylesDefine_DictionarySheet();
 		List<DefineDictionaryModel> dictionaries = define.listSortedDictionary();
 		/* Create a header row */
 		String[] header = { "Dictionary ID", "Name", "DataType", "Version", "ref", "href", "CommentOID", "Comment", "Language", "DocumentID", "Document Page Type", "Document Page Reference", "Document First Page", "Document Last Page", "Document Page Title", "User Note 1", "User Note 2" };
-		Row row = sheet.createRow(0);
-		for (int i = 0; i < header.length; i++) {
-			row.createCell(i).setCellValue(header[i]);
-		}
+		excelStyle.createHeaderRow(sheet, header, styles);
+		excelStyle.setColumnWidth(sheet);
 		/* Create data rows */
 		int row_num = 1;
 		for(DefineDictionaryModel dictionary : dictionaries) {
 			DefineCommentModel comment = define.get(new DefineCommentPk(dictionary.comment_oid));
-			row = sheet.createRow(row_num++);
 			String[] data = { dictionary.dictionary_id,
 					dictionary.dictionary_name,
 					dictionary.data_type,
@@ -619,30 +587,24 @@ public class DefineImporter {
 					(comment == null || config.d2eSeparateSheet ? "" : comment.getDocumentPageTitleString(config.valueDelimiter)),
 					dictionary.user_note1,
 					dictionary.user_note2 };
-			for (int i = 0; i < header.length; i++) {
-				row.createCell(i).setCellValue(data[i]);
-			}
+			excelStyle.createDataRow(sheet, row_num++, data, styles);
 		}
-		excelStyle.setStyleDefine_DictionarySheet(sheet);
-		excelStyle.setColumnWidth(sheet);
 	}
 
-	public void writeCodelistSheet(XSSFWorkbook wb, DefineModel define) {
+	public void writeCodelistSheet(Workbook wb, DefineModel define) {
 		logger.info("Generating " + config.defineCodelistTableName + " Sheet");
-		XSSFSheet sheet = wb.createSheet(config.defineCodelistTableName);
+		Sheet sheet = wb.createSheet(config.defineCodelistTableName);
+		CellStyle[] styles = excelStyle.getStylesDefine_CodelistSheet();
 		List<DefineCodelistModel> codelists = define.listSortedCodelist();
 		/* Create a header row */
 		String[] header = { "Codelist ID", "Codelist Code", "Codelist Label", "DataType", "SASFormatName", "Standard", "CommentOID", "Comment", "Language", "DocumentID", "Document Page Type", "Document Page Reference", "Document First Page", "Document Last Page", "Document Page Title", "Code", "User Code", "Order Number", "Rank", "ExtendedValue", "Submission Value", "Decode", "Decode Language", "Alias Context", "Alias Name", "User Note 1", "User Note 2" };
-		Row row = sheet.createRow(0);
-		for (int i = 0; i < header.length; i++) {
-			row.createCell(i).setCellValue(header[i]);
-		}
+		excelStyle.createHeaderRow(sheet, header, styles);
+		excelStyle.setColumnWidth(sheet);
 		/* Create data rows */
 		int row_num = 1;
 		for(DefineCodelistModel codelist : codelists) {
 			DefineCommentModel comment = define.get(new DefineCommentPk(codelist.comment_oid));
 			DefineStandardModel standard = define.get(new DefineStandardPk(codelist.standard_oid));
-			row = sheet.createRow(row_num++);
 			String[] data = { codelist.codelist_id, //
 					codelist.codelist_code, //
 					codelist.codelist_label, //
@@ -670,28 +632,22 @@ public class DefineImporter {
 					codelist.alias_name, //
 					codelist.user_note1, //
 					codelist.user_note2 };
-			for (int i = 0; i < header.length; i++) {
-				row.createCell(i).setCellValue(data[i]);
-			}
+			excelStyle.createDataRow(sheet, row_num++, data, styles);
 		}
-		excelStyle.setStyleDefine_CodelistSheet(sheet);
-		excelStyle.setColumnWidth(sheet);
 	}
 
-	public void writeMethodSheet(XSSFWorkbook wb, DefineModel define) {
+	public void writeMethodSheet(Workbook wb, DefineModel define) {
 		logger.info("Generating " + config.defineMethodTableName + " Sheet");
-		XSSFSheet sheet = wb.createSheet(config.defineMethodTableName);
+		Sheet sheet = wb.createSheet(config.defineMethodTableName);
+		CellStyle[] styles = excelStyle.getStylesDefine_MethodSheet();
 		List<DefineMethodModel> methods = define.listSortedMethod();
 		/* Create a header row */
 		String[] header = { "OID", "Name", "Type", "Description", "Language", "DocumentID", "Document Page Type", "Document Page Reference", "Document First Page", "Document Last Page", "Document Page Title", "FormalExpression Context", "FormalExpression Text", "User Note 1", "User Note 2" };
-		Row row = sheet.createRow(0);
-		for (int i = 0; i < header.length; i++) {
-			row.createCell(i).setCellValue(header[i]);
-		}
+		excelStyle.createHeaderRow(sheet, header, styles);
+		excelStyle.setColumnWidth(sheet);
 		/* Create data rows */
 		int row_num = 1;
 		for(DefineMethodModel method : methods) {
-			row = sheet.createRow(row_num++);
 			String[] data = { method.oid,
 					method.method_name,
 					method.method_type,
@@ -707,28 +663,22 @@ public class DefineImporter {
 					method.formal_expression,
 					method.user_note1,
 					method.user_note2 };
-			for (int i = 0; i < header.length; i++) {
-				row.createCell(i).setCellValue(data[i]);
-			}
+			excelStyle.createDataRow(sheet, row_num++, data, styles);
 		}
-		excelStyle.setStyleDefine_MethodSheet(sheet);
-		excelStyle.setColumnWidth(sheet);
 	}
 
-	public void writeCommentSheet(XSSFWorkbook wb, DefineModel define) {
+	public void writeCommentSheet(Workbook wb, DefineModel define) {
 		logger.info("Generating " + config.defineCommentTableName + " Sheet");
-		XSSFSheet sheet = wb.createSheet(config.defineCommentTableName);
+		Sheet sheet = wb.createSheet(config.defineCommentTableName);
+		CellStyle[] styles = excelStyle.getStylesDefine_CommentSheet();
 		List<DefineCommentModel> comments = define.listSortedComment();
 		/* Create a header row */
 		String[] header = { "OID", "Comment", "Language", "DocumentID", "Document Page Type", "Document Page Reference", "Document First Page", "Document Last Page", "Document Page Title", "User Note 1", "User Note 2" };
-		Row row = sheet.createRow(0);
-		for (int i = 0; i < header.length; i++) {
-			row.createCell(i).setCellValue(header[i]);
-		}
+		excelStyle.createHeaderRow(sheet, header, styles);
+		excelStyle.setColumnWidth(sheet);
 		/* Create data rows */
 		int row_num = 1;
 		for(DefineCommentModel comment : comments) {
-			row = sheet.createRow(row_num++);
 			String[] data = { comment.oid,
 					comment.comment_text,
 					comment.comment_lang,
@@ -740,11 +690,7 @@ public class DefineImporter {
 					comment.getDocumentPageTitleString(config.valueDelimiter),
 					comment.user_note1,
 					comment.user_note2 };
-			for (int i = 0; i < header.length; i++) {
-				row.createCell(i).setCellValue(data[i]);
-			}
+			excelStyle.createDataRow(sheet, row_num++, data, styles);
 		}
-		excelStyle.setStyleDefine_CommentSheet(sheet);
-		excelStyle.setColumnWidth(sheet);
 	}
 }
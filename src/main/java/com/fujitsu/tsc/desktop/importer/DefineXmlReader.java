@@ -131,6 +131,7 @@ public class DefineXmlReader extends DefaultHandler {
 		this.locator = locator;
 	}
 
+	/* TscStack returns a path without building it, and bindAttributes/bindText dispatch on it with a string switch. */
 	public void startElement(String namespaceURI, String localName, String qName, Attributes attr) {
 		path_stack.push(qName);
 //		logger.info("Entering into " + path_stack.getPath());
@@ -138,8 +139,9 @@ public class DefineXmlReader extends DefaultHandler {
 	}
 
 	private void bindAttributes(String path, Attributes attr) {
+		switch (path) {
 		/* *** DefineStudyModel *** */
-		if ("/ODM/".equals(path)) {
+		case "/ODM/": {
 			DefineStudyModel study = new DefineStudyModel();
 			study.file_oid = attr.getValue("FileOID");
 			study.odm_version = attr.getValue("ODMVersion");
@@ -148,14 +150,18 @@ public class DefineXmlReader extends DefaultHandler {
 			study.originator = attr.getValue("Originator");
 			study.context = attr.getValue("def:Context");
 			define.put(study);
-		} else if ("/ODM/Study/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/": {
 			DefineStudyModel study = define.getStudy();
 			if (study != null) {
 				study.study_oid = attr.getValue("OID");
 			} else {
 				logger.warn(MESSAGE_ORPHANED);
 			}
-		} else if ("/ODM/Study/MetaDataVersion/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/": {
 			DefineStudyModel study = define.getStudy();
 			if (study != null) {
 				study.metadata_oid = attr.getValue("OID");
@@ -168,8 +174,10 @@ public class DefineXmlReader extends DefaultHandler {
 			} else {
 				logger.warn(MESSAGE_ORPHANED);
 			}
+			break;
+		}
 		/* *** DefineStandardModel *** */
-		} else if ("/ODM/Study/MetaDataVersion/def:Standards/def:Standard/".equals(path)) {
+		case "/ODM/Study/MetaDataVersion/def:Standards/def:Standard/": {
 			DefineStandardPk key = new DefineStandardPk(attr.getValue("OID"));
 			DefineStandardModel standard = new DefineStandardModel(key);
 			standard.standard_name = attr.getValue("Name");
@@ -179,18 +187,24 @@ public class DefineXmlReader extends DefaultHandler {
 			standard.standard_status = attr.getValue("Status");
 			standard.comment_oid = attr.getValue("def:CommentOID");
 			define.put(key, standard);
+			break;
+		}
 		/* *** DefineDocumentModel *** */
-		} else if ("/ODM/Study/MetaDataVersion/def:AnnotatedCRF/def:DocumentRef/".equals(path)) {
+		case "/ODM/Study/MetaDataVersion/def:AnnotatedCRF/def:DocumentRef/": {
 			DefineDocumentPk key = new DefineDocumentPk(attr.getValue("leafID"));
 			DefineDocumentModel document = new DefineDocumentModel(key);
 			document.document_type = DocType.AnnotatedCRF;
 			define.put(key, document);
-		} else if ("/ODM/Study/MetaDataVersion/def:SupplementalDoc/def:DocumentRef/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/def:SupplementalDoc/def:DocumentRef/": {
 			DefineDocumentPk key = new DefineDocumentPk(attr.getValue("leafID"));
 			DefineDocumentModel document = new DefineDocumentModel(key);
 			document.document_type = DocType.SupplementalDoc;
 			define.put(key, document);
-		} else if ("/ODM/Study/MetaDataVersion/def:leaf/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/def:leaf/": {
 			DefineDocumentPk key = new DefineDocumentPk(attr.getValue("ID"));
 			DefineDocumentModel document = define.get(key);
 			if (document == null) {
@@ -201,8 +215,10 @@ public class DefineXmlReader extends DefaultHandler {
 			document.ordinal = this.cached_document_ordinal++;
 			document.document_href = attr.getValue("xlink:href");
 			this.cached_document_id = document.document_id;
+			break;
+		}
 		/* *** DefineDatasetModel *** */
-		} else if ("/ODM/Study/MetaDataVersion/ItemGroupDef/".equals(path)) {
+		case "/ODM/Study/MetaDataVersion/ItemGroupDef/": {
 			this.cached_itemgroup_name = attr.getValue("Name");
 			DefineDatasetPk key = new DefineDatasetPk(this.cached_itemgroup_name);
 			DefineDatasetModel dataset = new DefineDatasetModel(key);
@@ -219,7 +235,9 @@ public class DefineXmlReader extends DefaultHandler {
 			dataset.dataset_class = attr.getValue("def:Class");	//Define-XML 2.0.0
 			dataset.comment_oid = attr.getValue("def:CommentOID");
 			define.put(key, dataset);
-		} else if ("/ODM/Study/MetaDataVersion/ItemGroupDef/ItemRef/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/ItemGroupDef/ItemRef/": {
 			DefineDatasetPk dkey = new DefineDatasetPk(this.cached_itemgroup_name);
 			DefineDatasetModel dataset = define.get(dkey);
 			if (dataset != null) {
@@ -240,7 +258,9 @@ public class DefineXmlReader extends DefaultHandler {
 			} else {
 				logger.warn(MESSAGE_ORPHANED);
 			}
-		} else if ("/ODM/Study/MetaDataVersion/ItemGroupDef/Alias/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/ItemGroupDef/Alias/": {
 			DefineDatasetPk key = new DefineDatasetPk(this.cached_itemgroup_name);
 			DefineDatasetModel dataset = define.get(key);
 			if (dataset != null) {
@@ -248,7 +268,9 @@ public class DefineXmlReader extends DefaultHandler {
 			} else {
 				logger.warn(MESSAGE_ORPHANED);
 			}
-		} else if ("/ODM/Study/MetaDataVersion/ItemGroupDef/def:leaf/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/ItemGroupDef/def:leaf/": {
 			DefineDatasetPk key = new DefineDatasetPk(this.cached_itemgroup_name);
 			DefineDatasetModel dataset = define.get(key);
 			if (dataset != null) {
@@ -256,7 +278,9 @@ public class DefineXmlReader extends DefaultHandler {
 			} else {
 				logger.warn(MESSAGE_ORPHANED);
 			}
-		} else if ("/ODM/Study/MetaDataVersion/ItemGroupDef/def:Class/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/ItemGroupDef/def:Class/": {
 			DefineDatasetPk key = new DefineDatasetPk(this.cached_itemgroup_name);
 			DefineDatasetModel dataset = define.get(key);
 			if (dataset != null) {
@@ -264,7 +288,9 @@ public class DefineXmlReader extends DefaultHandler {
 			} else {
 				logger.warn(MESSAGE_ORPHANED);
 			}
-		} else if ("/ODM/Study/MetaDataVersion/ItemGroupDef/def:Class/def:SubClass/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/ItemGroupDef/def:Class/def:SubClass/": {
 			DefineDatasetPk key = new DefineDatasetPk(this.cached_itemgroup_name);
 			DefineDatasetModel dataset = define.get(key);
 			if (dataset != null) {
@@ -272,8 +298,10 @@ public class DefineXmlReader extends DefaultHandler {
 			} else {
 				logger.warn(MESSAGE_ORPHANED);
 			}
+			break;
+		}
 		/* *** DefineVariableModel/DefineValueModel *** */
-		} else if ("/ODM/Study/MetaDataVersion/ItemDef/".equals(path)) {
+		case "/ODM/Study/MetaDataVersion/ItemDef/": {
 			this.cached_itemdef_oid = attr.getValue("OID");
 			List<DefineVariableModel> variables = define.getVariableByOid(this.cached_itemdef_oid);
 			if (!variables.isEmpty()) {	//VARIABLE
@@ -300,7 +328,9 @@ public class DefineXmlReader extends DefaultHandler {
 					logger.warn(MESSAGE_ORPHANED);
 				}
 			}
-		} else if ("/ODM/Study/MetaDataVersion/ItemDef/CodeListRef/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/ItemDef/CodeListRef/": {
 			List<DefineVariableModel> variables = define.getVariableByOid(this.cached_itemdef_oid);
 			if (!variables.isEmpty()) {	//VARIABLE
 				for (DefineVariableModel variable : variables) {
@@ -314,7 +344,9 @@ public class DefineXmlReader extends DefaultHandler {
 					logger.warn(MESSAGE_ORPHANED);
 				}
 			}
-		} else if ("/ODM/Study/MetaDataVersion/ItemDef/def:Origin/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/ItemDef/def:Origin/": {
 			List<DefineVariableModel> variables = define.getVariableByOid(this.cached_itemdef_oid);
 			if (!variables.isEmpty()) {	//VARIABLE
 				for (DefineVariableModel variable : variables) {
@@ -330,7 +362,9 @@ public class DefineXmlReader extends DefaultHandler {
 					logger.warn(MESSAGE_ORPHANED);
 				}
 			}
-		} else if ("/ODM/Study/MetaDataVersion/ItemDef/Alias/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/ItemDef/Alias/": {
 			List<DefineVariableModel> variables = define.getVariableByOid(this.cached_itemdef_oid);
 			if (!variables.isEmpty()) {	//VARIABLE
 				for (DefineVariableModel variable : variables) {
@@ -346,7 +380,9 @@ public class DefineXmlReader extends DefaultHandler {
 					logger.warn(MESSAGE_ORPHANED);
 				}
 			}
-		} else if ("/ODM/Study/MetaDataVersion/ItemDef/def:Origin/def:DocumentRef/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/ItemDef/def:Origin/def:DocumentRef/": {
 			List<DefineVariableModel> variables = define.getVariableByOid(this.cached_itemdef_oid);
 			if (!variables.isEmpty()) {	//VARIABLE
 				for (DefineVariableModel variable : variables) {
@@ -360,7 +396,9 @@ public class DefineXmlReader extends DefaultHandler {
 					logger.warn(MESSAGE_ORPHANED);
 				}
 			}
-		} else if ("/ODM/Study/MetaDataVersion/ItemDef/def:Origin/def:DocumentRef/def:PDFPageRef/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/ItemDef/def:Origin/def:DocumentRef/def:PDFPageRef/": {
 			List<DefineVariableModel> variables = define.getVariableByOid(this.cached_itemdef_oid);
 			if (!variables.isEmpty()) {
 				for (DefineVariableModel variable : variables) {
@@ -382,7 +420,9 @@ public class DefineXmlReader extends DefaultHandler {
 					logger.warn(MESSAGE_ORPHANED);
 				}
 			}
-		} else if ("/ODM/Study/MetaDataVersion/ItemDef/def:ValueListRef/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/ItemDef/def:ValueListRef/": {
 			List<DefineVariableModel> variables = define.getVariableByOid(this.cached_itemdef_oid);
 			if (!variables.isEmpty()) {
 				for (DefineVariableModel variable : variables) {
@@ -391,10 +431,14 @@ public class DefineXmlReader extends DefaultHandler {
 			} else {
 				logger.warn(MESSAGE_ORPHANED);
 			}
-		} else if ("/ODM/Study/MetaDataVersion/def:ValueListDef/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/def:ValueListDef/": {
 			this.cached_valuelist_oid = attr.getValue("OID");
 			this.cached_itemref_ordinal = 1;	//Reset
-		} else if ("/ODM/Study/MetaDataVersion/def:ValueListDef/ItemRef/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/def:ValueListDef/ItemRef/": {
 			this.cached_itemref_oid = attr.getValue("ItemOID");
 			DefineValuePk key = new DefineValuePk(this.cached_itemref_oid);
 			DefineValueModel value = new DefineValueModel(key);
@@ -409,18 +453,24 @@ public class DefineXmlReader extends DefaultHandler {
 			value.method_oid = attr.getValue("MethodOID");
 			value.has_no_data = DefineModel.YorNull.parse(attr.getValue("def:HasNoData"));
 			define.put(key, value);
-		} else if ("/ODM/Study/MetaDataVersion/def:ValueListDef/ItemRef/def:WhereClauseRef/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/def:ValueListDef/ItemRef/def:WhereClauseRef/": {
 			DefineValuePk vkey = new DefineValuePk(this.cached_itemref_oid);
 			DefineValueModel value = define.get(vkey);
 			DefineWCPk wc_key = new DefineWCPk(attr.getValue("WhereClauseOID"));
 			value.where_clause_pks.add(wc_key);
-		} else if ("/ODM/Study/MetaDataVersion/def:WhereClauseDef/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/def:WhereClauseDef/": {
 			this.cached_wc_oid = attr.getValue("OID");
 			DefineWCPk key = new DefineWCPk(this.cached_wc_oid);
 			DefineWCModel wc = new DefineWCModel(key);
 			wc.comment_oid = attr.getValue("def:CommentOID");
 			define.put(key, wc);
-		} else if ("/ODM/Study/MetaDataVersion/def:WhereClauseDef/RangeCheck/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/def:WhereClauseDef/RangeCheck/": {
 			DefineWCPk key = new DefineWCPk(this.cached_wc_oid);
 			DefineWCModel wc = define.get(key);
 			if (wc != null) {
@@ -431,8 +481,10 @@ public class DefineXmlReader extends DefaultHandler {
 			} else {
 				logger.warn(MESSAGE_ORPHANED);
 			}
+			break;
+		}
 		/* *** DefineDictionaryModel/DefineCodelistModel *** */
-		} else if ("/ODM/Study/MetaDataVersion/CodeList/".equals(path)) {
+		case "/ODM/Study/MetaDataVersion/CodeList/": {
 			this.cached_codelist_oid = attr.getValue("OID");
 			this.cached_codelist_ordinal = 1; //reset
 			this.cached_codelist_name = attr.getValue("Name");
@@ -440,7 +492,9 @@ public class DefineXmlReader extends DefaultHandler {
 			this.cached_codelist_sasformat = attr.getValue("SASFormatName");
 			this.cached_codelist_comment_oid = attr.getValue("def:CommentOID");
 			this.cached_codelist_standard_oid = attr.getValue("def:StandardOID");
-		} else if ("/ODM/Study/MetaDataVersion/CodeList/ExternalCodeList/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/CodeList/ExternalCodeList/": {
 			DefineDictionaryPk key = new DefineDictionaryPk(this.cached_codelist_oid);
 			DefineDictionaryModel dictionary = new DefineDictionaryModel(key);
 			dictionary.dictionary_id = this.cached_codelist_oid;
@@ -451,7 +505,9 @@ public class DefineXmlReader extends DefaultHandler {
 			dictionary.dictionary_href = attr.getValue("href");
 			dictionary.comment_oid = this.cached_codelist_comment_oid;
 			define.put(key, dictionary);
-		} else if("/ODM/Study/MetaDataVersion/CodeList/CodeListItem/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/CodeList/CodeListItem/": {
 			DefineCodelistPk key = new DefineCodelistPk(this.cached_codelist_oid, attr.getValue("CodedValue"));
 			DefineCodelistModel codelist = new DefineCodelistModel(key);
 			codelist.codelist_label = this.cached_codelist_name;
@@ -476,9 +532,13 @@ public class DefineXmlReader extends DefaultHandler {
 			codelist.extended_value = YorNull.parse(attr.getValue("def:ExtendedValue"));
 			define.put(key, codelist);
 			this.cached_codelist = codelist;
-		} else if("/ODM/Study/MetaDataVersion/CodeList/CodeListItem/Decode/TranslatedText/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/CodeList/CodeListItem/Decode/TranslatedText/": {
 			this.cached_codelist.xml_lang = attr.getValue("xml:lang");
-		} else if("/ODM/Study/MetaDataVersion/CodeList/CodeListItem/Alias/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/CodeList/CodeListItem/Alias/": {
 			String alias_context = attr.getValue("Context");
 			if ("nci:ExtCodeID".equals(alias_context)) {
 				this.cached_codelist.code = attr.getValue("Name");
@@ -486,7 +546,9 @@ public class DefineXmlReader extends DefaultHandler {
 				this.cached_codelist.alias_context = alias_context;
 				this.cached_codelist.alias_name = attr.getValue("Name");
 			}
-		} else if("/ODM/Study/MetaDataVersion/CodeList/EnumeratedItem/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/CodeList/EnumeratedItem/": {
 			DefineCodelistPk key = new DefineCodelistPk(this.cached_codelist_oid, attr.getValue("CodedValue"));
 			DefineCodelistModel codelist = new DefineCodelistModel(key);
 			codelist.codelist_label = this.cached_codelist_name;
@@ -509,22 +571,30 @@ public class DefineXmlReader extends DefaultHandler {
 			codelist.extended_value = YorNull.parse(attr.getValue("def:ExtendedValue"));
 			define.put(key, codelist);
 			this.cached_codelist = codelist;
-		} else if("/ODM/Study/MetaDataVersion/CodeList/EnumeratedItem/Alias/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/CodeList/EnumeratedItem/Alias/": {
 			this.cached_codelist.code = attr.getValue("Name");
-		} else if("/ODM/Study/MetaDataVersion/CodeList/Alias/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/CodeList/Alias/": {
 			List<DefineCodelistModel> codelists = define.getCodelistByCodelistId(this.cached_codelist_oid);
 			for (DefineCodelistModel codelist : codelists) {
 				codelist.codelist_code = attr.getValue("Name");
 			}
+			break;
+		}
 		// *** Method
-		} else if ("/ODM/Study/MetaDataVersion/MethodDef/".equals(path)) {
+		case "/ODM/Study/MetaDataVersion/MethodDef/": {
 			this.cached_method_id = attr.getValue("OID");
 			DefineMethodPk key = new DefineMethodPk(this.cached_method_id);
 			DefineMethodModel method = new DefineMethodModel(key);
 			method.method_name = attr.getValue("Name");
 			method.method_type = attr.getValue("Type");
 			define.put(key, method);
-		} else if ("/ODM/Study/MetaDataVersion/MethodDef/Description/TranslatedText/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/MethodDef/Description/TranslatedText/": {
 			DefineMethodPk key = new DefineMethodPk(this.cached_method_id);
 			DefineMethodModel method = define.get(key);
 			if (method != null) {
@@ -532,7 +602,9 @@ public class DefineXmlReader extends DefaultHandler {
 			} else {
 				logger.warn(MESSAGE_ORPHANED);
 			}
-		} else if ("/ODM/Study/MetaDataVersion/MethodDef/FormalExpression/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/MethodDef/FormalExpression/": {
 			DefineMethodPk key = new DefineMethodPk(this.cached_method_id);
 			DefineMethodModel method = define.get(key);
 			if (method != null) {
@@ -540,7 +612,9 @@ public class DefineXmlReader extends DefaultHandler {
 			} else {
 				logger.warn(MESSAGE_ORPHANED);
 			}
-		} else if ("/ODM/Study/MetaDataVersion/MethodDef/def:DocumentRef/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/MethodDef/def:DocumentRef/": {
 			DefineMethodPk key = new DefineMethodPk(this.cached_method_id);
 			DefineMethodModel method = define.get(key);
 			String document_id = attr.getValue("leafID");
@@ -551,7 +625,9 @@ public class DefineXmlReader extends DefaultHandler {
 				this.cached_method_doc = null;
 				logger.warn(MESSAGE_ORPHANED);
 			}
-		} else if ("/ODM/Study/MetaDataVersion/MethodDef/def:DocumentRef/def:PDFPageRef/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/MethodDef/def:DocumentRef/def:PDFPageRef/": {
 			if (this.cached_method_doc != null) {
 				this.cached_method_doc.document_page_type = attr.getValue("Type");
 				this.cached_method_doc.document_page_reference = attr.getValue("PageRefs");
@@ -561,13 +637,17 @@ public class DefineXmlReader extends DefaultHandler {
 			} else {
 				logger.warn(MESSAGE_ORPHANED);
 			}
+			break;
+		}
 		// *** Comment
-		} else if ("/ODM/Study/MetaDataVersion/def:CommentDef/".equals(path)) {
+		case "/ODM/Study/MetaDataVersion/def:CommentDef/": {
 			this.cached_comment_id = attr.getValue("OID");
 			DefineCommentPk key = new DefineCommentPk(this.cached_comment_id);
 			DefineCommentModel comment = new DefineCommentModel(key);
 			define.put(key, comment);
-		} else if ("/ODM/Study/MetaDataVersion/def:CommentDef/Description/TranslatedText/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/def:CommentDef/Description/TranslatedText/": {
 			DefineCommentPk key = new DefineCommentPk(this.cached_comment_id);
 			DefineCommentModel comment = define.get(key);
 			if (comment != null) {
@@ -575,7 +655,9 @@ public class DefineXmlReader extends DefaultHandler {
 			} else {
 				logger.warn(MESSAGE_ORPHANED);
 			}
-		} else if ("/ODM/Study/MetaDataVersion/def:CommentDef/def:DocumentRef/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/def:CommentDef/def:DocumentRef/": {
 			DefineCommentPk key = new DefineCommentPk(this.cached_comment_id);
 			DefineCommentModel comment = define.get(key);
 			String document_id = attr.getValue("leafID");
@@ -586,7 +668,9 @@ public class DefineXmlReader extends DefaultHandler {
 				this.cached_comment_doc = null;
 				logger.warn(MESSAGE_ORPHANED);
 			}
-		} else if ("/ODM/Study/MetaDataVersion/def:CommentDef/def:DocumentRef/def:PDFPageRef/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/def:CommentDef/def:DocumentRef/def:PDFPageRef/": {
 			if (this.cached_comment_doc != null) {
 				this.cached_comment_doc.document_page_type = attr.getValue("Type");
 				this.cached_comment_doc.document_page_reference = attr.getValue("PageRefs");
@@ -596,16 +680,22 @@ public class DefineXmlReader extends DefaultHandler {
 			} else {
 				logger.warn(MESSAGE_ORPHANED);
 			}
+			break;
+		}
 		// *** ARM Display
-		} else if ("/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/".equals(path)) {
+		case "/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/": {
 			DefineARMDisplayPk key = new DefineARMDisplayPk(attr.getValue("Name"));
 			this.cached_arm_display = new DefineARMDisplayModel(key);
 			this.cached_arm_display.ordinal = this.cached_arm_display_ordinal++;
 			this.cached_arm_result_ordinal = 1;	//reset
 			define.put(key, this.cached_arm_display);
-		} else if ("/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/Description/TranslatedText/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/Description/TranslatedText/": {
 			this.cached_arm_display.display_lang = attr.getValue("xml:lang");
-		} else if ("/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/def:DocumentRef/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/def:DocumentRef/": {
 			String leaf_id = attr.getValue("leafID");
 			if (StringUtils.isNotEmpty(leaf_id)) {
 				this.cached_display_doc = new DocumentRef(leaf_id);
@@ -613,7 +703,9 @@ public class DefineXmlReader extends DefaultHandler {
 			} else {
 				this.cached_display_doc = null;
 			}
-		} else if ("/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/def:DocumentRef/def:PDFPageRef/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/def:DocumentRef/def:PDFPageRef/": {
 			if (this.cached_display_doc != null) {
 				this.cached_display_doc.document_page_type = attr.getValue("Type");
 				this.cached_display_doc.document_page_reference = attr.getValue("PageRefs");
@@ -621,7 +713,9 @@ public class DefineXmlReader extends DefaultHandler {
 				this.cached_display_doc.document_last_page = attr.getValue("LastPage");
 				this.cached_display_doc.document_page_title = attr.getValue("Title");
 			}
-		} else if ("/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/": {
 			DefineARMResultPk key = new DefineARMResultPk(this.cached_arm_display.display_name, attr.getValue("OID")); 
 			DefineARMResultModel result = new DefineARMResultModel(key);
 			result.ordinal = this.cached_arm_result_ordinal++;
@@ -631,13 +725,21 @@ public class DefineXmlReader extends DefaultHandler {
 			this.cached_arm_display.arm_result_pks.add(key);
 			this.cached_arm_result = result;
 			define.put(key, this.cached_arm_result);
-		} else if ("/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/Description/TranslatedText/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/Description/TranslatedText/": {
 			this.cached_arm_result.result_lang = attr.getValue("xml:lang");
-		} else if ("/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/arm:AnalysisDatasets/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/arm:AnalysisDatasets/": {
 			this.cached_arm_result.dataset_comment_oid = attr.getValue("def:CommentOID");
-		} else if ("/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/arm:Documentation/Description/TranslatedText/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/arm:Documentation/Description/TranslatedText/": {
 			this.cached_arm_result.docm_lang = attr.getValue("xml:lang");
-		} else if ("/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/arm:Documentation/def:DocumentRef/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/arm:Documentation/def:DocumentRef/": {
 			String document_id = attr.getValue("leafID");
 			if (StringUtils.isNotEmpty(document_id)) {
 				this.cached_docm_doc = new DocumentRef(document_id);
@@ -645,7 +747,9 @@ public class DefineXmlReader extends DefaultHandler {
 			} else {
 				this.cached_docm_doc = null;
 			}
-		} else if ("/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/arm:Documentation/def:DocumentRef/def:PDFPageRef/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/arm:Documentation/def:DocumentRef/def:PDFPageRef/": {
 			if (this.cached_docm_doc != null) {
 				this.cached_docm_doc.document_page_type = attr.getValue("Type");
 				this.cached_docm_doc.document_page_reference = attr.getValue("PageRefs");
@@ -653,9 +757,13 @@ public class DefineXmlReader extends DefaultHandler {
 				this.cached_docm_doc.document_last_page = attr.getValue("LastPage");
 				this.cached_docm_doc.document_page_title = attr.getValue("Title");
 			}
-		} else if ("/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/arm:ProgrammingCode/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/arm:ProgrammingCode/": {
 			this.cached_arm_result.prog_code_context = attr.getValue("Context");
-		} else if ("/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/arm:ProgrammingCode/def:DocumentRef/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/arm:ProgrammingCode/def:DocumentRef/": {
 			String document_id = attr.getValue("leafID");
 			if (StringUtils.isNotEmpty(document_id)) {
 				this.cached_prog_code_doc = new DocumentRef(document_id);
@@ -664,7 +772,9 @@ public class DefineXmlReader extends DefaultHandler {
 				this.cached_prog_code_doc = null;
 			}
 
-		} else if ("/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/arm:ProgrammingCode/def:DocumentRef/def:PDFPageRef/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/arm:ProgrammingCode/def:DocumentRef/def:PDFPageRef/": {
 			if (this.cached_prog_code_doc != null) {
 				this.cached_prog_code_doc.document_page_type = attr.getValue("Type");
 				this.cached_prog_code_doc.document_page_reference = attr.getValue("PageRefs");
@@ -672,20 +782,28 @@ public class DefineXmlReader extends DefaultHandler {
 				this.cached_prog_code_doc.document_last_page = attr.getValue("LastPage");
 				this.cached_prog_code_doc.document_page_title = attr.getValue("Title");
 			}
+			break;
+		}
 		// *** ARM Dataset
-		} else if ("/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/arm:AnalysisDatasets/arm:AnalysisDataset/".equals(path)) {
+		case "/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/arm:AnalysisDatasets/arm:AnalysisDataset/": {
 			DefineARMDatasetPk key = new DefineARMDatasetPk(this.cached_arm_display.display_name, this.cached_arm_result.result_key, attr.getValue("ItemGroupOID"));
 			DefineARMDatasetModel arm_dataset = new DefineARMDatasetModel(key);
 			arm_dataset.ordinal = cached_arm_dataset_ordinal++;
 			define.put(key, arm_dataset);
 			this.cached_arm_dataset = arm_dataset;
-		} else if ("/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/arm:AnalysisDatasets/arm:AnalysisDataset/def:WhereClauseRef/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/arm:AnalysisDatasets/arm:AnalysisDataset/def:WhereClauseRef/": {
 			this.cached_arm_dataset.where_clause_pk = new DefineWCPk(attr.getValue("WhereClauseOID"));
-		} else if ("/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/arm:AnalysisDatasets/arm:AnalysisDataset/arm:AnalysisVariable/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/arm:AnalysisDatasets/arm:AnalysisDataset/arm:AnalysisVariable/": {
 			String analysis_variable_oid = attr.getValue("ItemOID");
 			if (StringUtils.isNotEmpty(analysis_variable_oid)) {
 				this.cached_arm_dataset.analysis_variable_oids.add(analysis_variable_oid);
 			}
+			break;
+		}
 		}
 	}
 
@@ -698,28 +816,35 @@ public class DefineXmlReader extends DefaultHandler {
 	}
 
 	public void bindText(String path, String text) {
-		if("/ODM/Study/GlobalVariables/StudyName/".equals(path)) {
+		switch (path) {
+		case "/ODM/Study/GlobalVariables/StudyName/": {
 			DefineStudyModel study = define.getStudy();
 			if (study != null) {
 				study.study_name += text;
 			} else {
 				logger.warn(MESSAGE_ORPHANED);
 			}
-		} else if("/ODM/Study/GlobalVariables/StudyDescription/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/GlobalVariables/StudyDescription/": {
 			DefineStudyModel study = define.getStudy();
 			if (study != null) {
 				study.study_description += text;
 			} else {
 				logger.warn(MESSAGE_ORPHANED);
 			}
-		} else if("/ODM/Study/GlobalVariables/ProtocolName/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/GlobalVariables/ProtocolName/": {
 			DefineStudyModel study = define.getStudy();
 			if (study != null) {
 				study.protocol_name += text;
 			} else {
 				logger.warn(MESSAGE_ORPHANED);
 			}
-		} else if("/ODM/Study/MetaDataVersion/def:leaf/def:title/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/def:leaf/def:title/": {
 			DefineDocumentPk key = new DefineDocumentPk(this.cached_document_id);
 			DefineDocumentModel document = define.get(key);
 			if (document != null) {
@@ -727,19 +852,25 @@ public class DefineXmlReader extends DefaultHandler {
 			} else {
 				logger.warn(MESSAGE_ORPHANED);
 			}
-		} else if("/ODM/Study/MetaDataVersion/ItemGroupDef/Description/TranslatedText/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/ItemGroupDef/Description/TranslatedText/": {
 			DefineDatasetPk key = new DefineDatasetPk(this.cached_itemgroup_name);
 			DefineDatasetModel dataset = define.get(key);
 			if (dataset != null) {
 				dataset.description += text;
 			}
-		} else if("/ODM/Study/MetaDataVersion/ItemGroupDef/def:leaf/def:title/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/ItemGroupDef/def:leaf/def:title/": {
 			DefineDatasetPk key = new DefineDatasetPk(this.cached_itemgroup_name);
 			DefineDatasetModel dataset = define.get(key);
 			if (dataset != null) {
 				dataset.leaf_title += text;
 			}
-		} else if("/ODM/Study/MetaDataVersion/ItemDef/Description/TranslatedText/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/ItemDef/Description/TranslatedText/": {
 			List<DefineVariableModel> variables = define.getVariableByOid(this.cached_itemdef_oid);
 			if (!variables.isEmpty()) {	//VARIABLE
 				for (DefineVariableModel variable : variables) {
@@ -753,7 +884,9 @@ public class DefineXmlReader extends DefaultHandler {
 					logger.warn(MESSAGE_ORPHANED);
 				}
 			}
-		} else if("/ODM/Study/MetaDataVersion/ItemDef/def:Origin/Description/TranslatedText/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/ItemDef/def:Origin/Description/TranslatedText/": {
 			List<DefineVariableModel> variables = define.getVariableByOid(this.cached_itemdef_oid);
 			if (!variables.isEmpty()) {
 				for (DefineVariableModel variable : variables) {
@@ -767,23 +900,37 @@ public class DefineXmlReader extends DefaultHandler {
 					logger.warn(MESSAGE_ORPHANED);
 				}
 			}
-		} else if("/ODM/Study/MetaDataVersion/def:WhereClauseDef/RangeCheck/CheckValue/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/def:WhereClauseDef/RangeCheck/CheckValue/": {
 			if (this.cached_wc_condition != null) {
 				this.cached_wc_condition.values.add(text);
 			} else {
 				logger.warn(MESSAGE_ORPHANED);
 			}
-		} else if("/ODM/Study/MetaDataVersion/CodeList/CodeListItem/Decode/TranslatedText/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/CodeList/CodeListItem/Decode/TranslatedText/": {
 			this.cached_codelist.decode += text;
-		} else if ("/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/Description/TranslatedText/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/Description/TranslatedText/": {
 			this.cached_arm_display.display_desc += text;
-		} else if ("/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/Description/TranslatedText/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/Description/TranslatedText/": {
 			this.cached_arm_result.result_desc += text;
-		} else if ("/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/arm:Documentation/Description/TranslatedText/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/arm:Documentation/Description/TranslatedText/": {
 			this.cached_arm_result.docm_text += text;
-		} else if ("/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/arm:ProgrammingCode/arm:Code/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/arm:AnalysisResultDisplays/arm:ResultDisplay/arm:AnalysisResult/arm:ProgrammingCode/arm:Code/": {
 			this.cached_arm_result.prog_code_text += text;
-		} else if("/ODM/Study/MetaDataVersion/MethodDef/Description/TranslatedText/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/MethodDef/Description/TranslatedText/": {
 			DefineMethodPk key = new DefineMethodPk(this.cached_method_id);
 			DefineMethodModel method = define.get(key);
 			if (method != null) {
@@ -791,7 +938,9 @@ public class DefineXmlReader extends DefaultHandler {
 			} else {
 				logger.warn(MESSAGE_ORPHANED);
 			}
-		} else if("/ODM/Study/MetaDataVersion/MethodDef/FormalExpression/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/MethodDef/FormalExpression/": {
 			DefineMethodPk key = new DefineMethodPk(this.cached_method_id);
 			DefineMethodModel method = define.get(key);
 			if (method != null) {
@@ -799,7 +948,9 @@ public class DefineXmlReader extends DefaultHandler {
 			} else {
 				logger.warn(MESSAGE_ORPHANED);
 			}
-		} else if("/ODM/Study/MetaDataVersion/def:CommentDef/Description/TranslatedText/".equals(path)) {
+			break;
+		}
+		case "/ODM/Study/MetaDataVersion/def:CommentDef/Description/TranslatedText/": {
 			DefineCommentPk key = new DefineCommentPk(this.cached_comment_id);
 			DefineCommentModel comment = define.get(key);
 			if (comment != null) {
@@ -807,6 +958,8 @@ public class DefineXmlReader extends DefaultHandler {
 			} else {
 				logger.warn(MESSAGE_ORPHANED);
 			}
+			break;
+		}
 		}
 	}
 
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2022 Fujitsu Limited. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0(the "License").
+ * You may obtain a copy of the License at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.fujitsu.tsc.desktop.importer;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Workbook;
+
+/**
+ * This is an interface to read sheets of a spreadsheet row by row as formatted cell values.
+ * Use {@link #open(File)} to read an xlsx file without loading the whole workbook into memory.
+ */
+public interface ExcelSheetSource extends Closeable {
+
+	/**
+	 * Return true if the sheet name exists in the spreadsheet
+	 * @param sheet_name Sheet name
+	 * @return
+	 */
+	public boolean hasSheet(String sheet_name);
+
+	/**
+	 * Read all rows of the sheet in order. Rows that do not exist in the spreadsheet are skipped.
+	 * @param sheet_name Sheet name
+	 * @param handler A callback that receives each row
+	 * @throws IOException
+	 */
+	public default void readSheet(String sheet_name, RowHandler handler) throws IOException {
+		readSheet(sheet_name, Integer.MAX_VALUE, handler);
+	}
+
+	/**
+	 * Read rows of the sheet in order up to the given row number. The rest of the sheet is not read.
+	 * @param sheet_name Sheet name
+	 * @param last_row_num Last row number to read, starting from 0
+	 * @param handler A callback that receives each row
+	 * @throws IOException
+	 */
+	public void readSheet(String sheet_name, int last_row_num, RowHandler handler) throws IOException;
+
+	public interface RowHandler {
+		/**
+		 * @param row_num Row number starting from 0
+		 * @param values Formatted cell values indexed by column number. A missing or blank cell is null.
+		 * The list is reused for the next row, so the handler must not keep it.
+		 */
+		public void handleRow(int row_num, List<String> values);
+	}
+
+	/**
+	 * Create a source over a workbook that has already been loaded.
+	 * @param workbook
+	 * @return
+	 */
+	public static ExcelSheetSource fromWorkbook(Workbook workbook) {
+		return new WorkbookSheetSource(workbook);
+	}
+
+	/**
+	 * Open an xlsx file as a streaming source. Only the shared strings and styles are kept in memory.
+	 * @param file xlsx file
+	 * @return
+	 * @throws IOException
+	 */
+	public static ExcelSheetSource open(File file) throws IOException {
+		return new StreamingSheetSource(file);
+	}
+}
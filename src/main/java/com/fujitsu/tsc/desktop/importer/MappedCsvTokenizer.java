@@ -0,0 +1,404 @@
+/*
+ * Copyright (c) 2022 Fujitsu Limited. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0(the "License").
+ * You may obtain a copy of the License at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.fujitsu.tsc.desktop.importer;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.opencsv.CSVParser;
+import com.opencsv.exceptions.CsvMalformedLineException;
+
+/**
+ * A tokenizer of a delimited file that scans the bytes of memory-mapped windows, and returns the same values as CSVReader with the given parser.
+ *  - Delimiters and text qualifiers are found in the bytes, so only encodings in which ASCII bytes never appear inside a multi-byte character are supported.
+ *  - A cell is decoded only when it is requested. A cell with the same bytes as the previous row returns the same String instance.
+ *  - A line with an escape character, a text qualifier in the middle of a cell or a line break within a qualified cell is passed to the parser instead.
+ */
+public class MappedCsvTokenizer implements Closeable {
+
+	/** Size of a memory-mapped window. A longer line is mapped with a larger window. */
+	private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+	/** Same as the width of the lost text in CSVReader */
+	private static final int MAX_LOST_TEXT_WIDTH = 100;
+	private static final byte CR = '\r';
+	private static final byte LF = '\n';
+
+	private RandomAccessFile file;
+	private FileChannel channel;
+	private long file_size;
+	private MappedByteBuffer window = null;
+	private long window_start = 0;
+	/* Position of the next line in the file */
+	private long position = 0;
+	private long line_number = 0;
+	private Charset charset;
+	private CSVParser parser;
+	private byte separator;
+	private byte qualifier;
+	private byte escape;
+
+	/* Cells of the current record: [start, end) in the window, and whether doubled qualifiers have to be collapsed */
+	private int cell_count = 0;
+	private int[] cell_starts = new int[64];
+	private int[] cell_ends = new int[64];
+	private boolean[] cell_doubled = new boolean[64];
+	/* Values of the current record when the record is parsed by the parser */
+	private String[] parsed_cells = null;
+	/* Bytes and value of the last decoded cell of each column */
+	private byte[][] last_bytes = new byte[64][];
+	private int[] last_lengths = new int[64];
+	private String[] last_values = new String[64];
+	private byte[] scratch = new byte[256];
+
+	/**
+	 * @param src_file Delimited file
+	 * @param charset Character encoding, which must be supported by {@link #isSupported(Charset, CSVParser)}
+	 * @param parser Parser that defines the delimiter, text qualifier and escape character
+	 * @throws IOException
+	 */
+	public MappedCsvTokenizer(File src_file, Charset charset, CSVParser parser) throws IOException {
+		this.file = new RandomAccessFile(src_file, "r");
+		this.channel = file.getChannel();
+		this.file_size = channel.size();
+		this.charset = charset;
+		this.parser = parser;
+		this.separator = (byte)parser.getSeparator();
+		this.qualifier = (byte)parser.getQuotechar();
+		this.escape = (byte)parser.getEscape();
+	}
+
+	/**
+	 * Return true if the file can be tokenized on bytes with the encoding and the parser settings.
+	 * @param charset
+	 * @param parser
+	 * @return
+	 */
+	public static boolean isSupported(Charset charset, CSVParser parser) {
+		if (!StandardCharsets.UTF_8.equals(charset) && !StandardCharsets.ISO_8859_1.equals(charset) && !StandardCharsets.US_ASCII.equals(charset)) {
+			return false;
+		}
+		if (parser.isStrictQuotes() || parser.isIgnoreQuotations()) {
+			return false;
+		}
+		char[] chars = { parser.getSeparator(), parser.getQuotechar(), parser.getEscape() };
+		for (char c : chars) {
+			if (c == 0 || c >= 0x80 || c == '\r' || c == '\n') {
+				return false;
+			}
+		}
+		return chars[0] != chars[1] && chars[0] != chars[2] && chars[1] != chars[2];
+	}
+
+	/**
+	 * Move to the next record.
+	 * @return false at the end of the file
+	 * @throws IOException
+	 */
+	public boolean nextRecord() throws IOException {
+		parsed_cells = null;
+		cell_count = 0;
+		if (position >= file_size) {
+			return false;
+		}
+		long line_start = position;
+		int end = mapLine();
+		int start = (int)(line_start - window_start);
+		line_number++;
+		if (!tokenize(start, end)) {
+			parseRecord(decode(start, end));
+		}
+		return true;
+	}
+
+	/**
+	 * @return Number of cells of the current record
+	 */
+	public int getCellCount() {
+		return parsed_cells != null ? parsed_cells.length : cell_count;
+	}
+
+	/**
+	 * Decode a cell of the current record.
+	 * @param index Index of the cell, starting from 0
+	 * @return Value of the cell
+	 */
+	public String getCell(int index) {
+		if (parsed_cells != null) {
+			return parsed_cells[index];
+		}
+		int start = cell_starts[index];
+		int end = cell_ends[index];
+		int length = end - start;
+		if (length == 0) {
+			return "";
+		}
+		if (index >= last_bytes.length) {
+			int capacity = Math.max(index + 1, last_bytes.length * 2);
+			last_bytes = Arrays.copyOf(last_bytes, capacity);
+			last_lengths = Arrays.copyOf(last_lengths, capacity);
+			last_values = Arrays.copyOf(last_values, capacity);
+		}
+		byte[] bytes = last_bytes[index];
+		if (bytes != null && last_lengths[index] == length && equalsWindow(bytes, start, length)) {
+			return last_values[index];
+		}
+		if (bytes == null || bytes.length < length) {
+			bytes = new byte[Math.max(length, 16)];
+			last_bytes[index] = bytes;
+		}
+		((Buffer)window).position(start);
+		window.get(bytes, 0, length);
+		last_lengths[index] = length;
+		String value;
+		if (cell_doubled[index]) {
+			/* Collapse doubled text qualifiers */
+			int count = 0;
+			ensureScratch(length);
+			for (int i = 0; i < length; i++) {
+				scratch[count++] = bytes[i];
+				if (bytes[i] == qualifier) {
+					i++;
+				}
+			}
+			value = new String(scratch, 0, count, charset);
+		} else {
+			value = new String(bytes, 0, length, charset);
+		}
+		last_values[index] = value;
+		return value;
+	}
+
+	/**
+	 * @return true if the cells of the current record can be compared by their bytes, i.e. the record has not been passed to the parser
+	 */
+	public boolean hasCellBytes() {
+		return parsed_cells == null;
+	}
+
+	/**
+	 * Return the hash code of the bytes of a cell, same as {@link Arrays#hashCode(byte[])} of {@link #getCellBytes(int)}.
+	 * Doubled text qualifiers are not collapsed, so the same bytes always decode to the same value.
+	 * @param index Index of the cell, starting from 0
+	 * @return
+	 */
+	public int hashCell(int index) {
+		int hash = 1;
+		for (int i = cell_starts[index]; i < cell_ends[index]; i++) {
+			hash = 31 * hash + window.get(i);
+		}
+		return hash;
+	}
+
+	/**
+	 * Compare the bytes of a cell without decoding it.
+	 * @param index Index of the cell, starting from 0
+	 * @param bytes Bytes returned by {@link #getCellBytes(int)}
+	 * @return
+	 */
+	public boolean cellEquals(int index, byte[] bytes) {
+		int start = cell_starts[index];
+		return cell_ends[index] - start == bytes.length && equalsWindow(bytes, start, bytes.length);
+	}
+
+	/**
+	 * @param index Index of the cell, starting from 0
+	 * @return A copy of the bytes of a cell in the file
+	 */
+	public byte[] getCellBytes(int index) {
+		byte[] bytes = new byte[cell_ends[index] - cell_starts[index]];
+		((Buffer)window).position(cell_starts[index]);
+		window.get(bytes);
+		return bytes;
+	}
+
+	/**
+	 * @return All cells of the current record
+	 */
+	public String[] getRecord() {
+		String[] record = new String[getCellCount()];
+		for (int i = 0; i < record.length; i++) {
+			record[i] = getCell(i);
+		}
+		return record;
+	}
+
+	/*
+	 * Map the line at the current position in the window, and move the position to the next line.
+	 * Line breaks are LF, CR or CR LF, same as BufferedReader.readLine().
+	 * Returns the end of the line in the window.
+	 */
+	private int mapLine() throws IOException {
+		long line_start = position;
+		if (window == null || line_start < window_start || line_start >= window_start + window.limit()) {
+			map(line_start, WINDOW_SIZE);
+		}
+		while (true) {
+			int limit = window.limit();
+			int i = (int)(line_start - window_start);
+			while (i < limit) {
+				byte b = window.get(i);
+				if (b == LF || b == CR) {
+					break;
+				}
+				i++;
+			}
+			boolean file_continues = window_start + limit < file_size;
+			if (i < limit && !(window.get(i) == CR && i + 1 == limit && file_continues)) {
+				int skip = (window.get(i) == CR && i + 1 < limit && window.get(i + 1) == LF) ? 2 : 1;
+				position = window_start + i + skip;
+				return i;
+			}
+			if (!file_continues) {
+				position = file_size;
+				return limit;
+			}
+			/* The line continues beyond the window. */
+			map(line_start, Math.max(WINDOW_SIZE, 2 * (window_start + limit - line_start)));
+		}
+	}
+
+	private void map(long start, long size) throws IOException {
+		window_start = start;
+		window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(Math.min(size, Integer.MAX_VALUE), file_size - start));
+	}
+
+	/*
+	 * Split a line into cells without decoding. Returns false if the line has to be passed to the parser.
+	 * Only unqualified cells without text qualifiers and escape characters, and qualified cells enclosed from the first to the last byte are accepted.
+	 */
+	private boolean tokenize(int start, int end) {
+		int i = start;
+		while (true) {
+			if (i < end && window.get(i) == qualifier) {
+				int j = i + 1;
+				boolean doubled = false;
+				while (true) {
+					if (j >= end) {
+						return false;	//Line break in a qualified cell
+					}
+					byte b = window.get(j);
+					if (b == qualifier) {
+						if (j + 1 < end && window.get(j + 1) == qualifier) {
+							doubled = true;
+							j += 2;
+							continue;
+						}
+						break;
+					}
+					if (b == escape) {
+						return false;
+					}
+					j++;
+				}
+				addCell(i + 1, j, doubled);
+				int k = j + 1;
+				if (k == end) {
+					return true;
+				}
+				if (window.get(k) != separator) {
+					return false;	//Text after the closing qualifier
+				}
+				i = k + 1;
+			} else {
+				int j = i;
+				while (j < end) {
+					byte b = window.get(j);
+					if (b == separator) {
+						break;
+					}
+					if (b == qualifier || b == escape) {
+						return false;
+					}
+					j++;
+				}
+				addCell(i, j, false);
+				if (j == end) {
+					return true;
+				}
+				i = j + 1;
+			}
+		}
+	}
+
+	private void addCell(int start, int end, boolean doubled) {
+		if (cell_count == cell_starts.length) {
+			int capacity = cell_count * 2;
+			cell_starts = Arrays.copyOf(cell_starts, capacity);
+			cell_ends = Arrays.copyOf(cell_ends, capacity);
+			cell_doubled = Arrays.copyOf(cell_doubled, capacity);
+		}
+		cell_starts[cell_count] = start;
+		cell_ends[cell_count] = end;
+		cell_doubled[cell_count] = doubled;
+		cell_count++;
+	}
+
+	/*
+	 * Parse a record with the parser, reading more lines while a qualified cell continues.
+	 */
+	private void parseRecord(String line) throws IOException {
+		cell_count = 0;
+		parsed_cells = parser.parseLineMulti(line);
+		while (parser.isPending()) {
+			if (position >= file_size) {
+				String pending_text = parser.getPendingText();
+				throw new CsvMalformedLineException("Unterminated quoted field at end of CSV line. Beginning of lost text: ["
+						+ StringUtils.abbreviate(pending_text, MAX_LOST_TEXT_WIDTH) + "]", line_number + 1, pending_text);
+			}
+			long line_start = position;
+			int end = mapLine();
+			line_number++;
+			String[] continued = parser.parseLineMulti(decode((int)(line_start - window_start), end));
+			/* The parser returns the cells completed by each line, same as CSVReader combines them. */
+			String[] combined = Arrays.copyOf(parsed_cells, parsed_cells.length + continued.length);
+			System.arraycopy(continued, 0, combined, parsed_cells.length, continued.length);
+			parsed_cells = combined;
+		}
+	}
+
+	private String decode(int start, int end) {
+		int length = end - start;
+		ensureScratch(length);
+		((Buffer)window).position(start);
+		window.get(scratch, 0, length);
+		return new String(scratch, 0, length, charset);
+	}
+
+	private boolean equalsWindow(byte[] bytes, int start, int length) {
+		for (int i = 0; i < length; i++) {
+			if (bytes[i] != window.get(start + i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void ensureScratch(int length) {
+		if (scratch.length < length) {
+			scratch = new byte[Math.max(length, scratch.length * 2)];
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		window = null;
+		channel.close();
+		file.close();
+	}
+}
@@ -8,9 +8,10 @@
 
 package com.fujitsu.tsc.desktop.importer;
 
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.xml.sax.*;
 
 import com.fujitsu.tsc.desktop.importer.models.EdcKeysModel;
@@ -27,22 +28,30 @@ import com.fujitsu.tsc.desktop.importer.models.OdmUnitModel;
 import com.fujitsu.tsc.desktop.util.ExcelStyle;
 import com.fujitsu.tsc.desktop.util.Utils;
 import com.fujitsu.tsc.desktop.util.Config;
+import com.fujitsu.tsc.desktop.util.ConversionMetrics;
 import com.fujitsu.tsc.desktop.util.ErrorInfo;
+import com.fujitsu.tsc.desktop.util.SchemaRegistry;
 import com.fujitsu.tsc.desktop.validator.DefaultValidationHandler;
 
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 
-import javax.xml.XMLConstants;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
 
 import java.lang.String;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -58,6 +67,7 @@ public class OdmImporter {
 	private ExcelStyle excelStyle;
 	private Config config;
 	private OdmModel odm;
+	private List<OdmModel> odms;	//All Study/MetaDataVersion pairs
 	private enum Type {SOFT, HARD};
 
 	public OdmImporter(Config config) {
@@ -74,30 +84,25 @@ public class OdmImporter {
 		return parse(Type.SOFT);
 	}
 
-	private List<ErrorInfo> parse(Type type) throws SAXException, ParserConfigurationException, IOException {
-
-		SchemaFactory sch_factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-		Utils.setSchemaFactorySecureFeatures(sch_factory);
-		SAXParserFactory sax_factory = null;
-		Schema schema = null;
-		
-		if (type == Type.HARD) {
-			sax_factory = SAXParserFactory.newInstance();
-//			sax_factory = SAXParserFactory.newInstance("org.apache.xerces.jaxp.SAXParserFactoryImpl", null);
-//			schema = sch_factory.newSchema(new File("./schema/hard/cdisc-odm-1.3.2/ODM1-3-2.xsd"));
-			schema = sch_factory.newSchema(this.getClass().getClassLoader().getResource("schema/hard/cdisc-odm-1.3.2/ODM1-3-2.xsd"));
-		} else {
-			sax_factory = SAXParserFactory.newInstance();
-//			schema = sch_factory.newSchema(new File("./schema/soft/cdisc-odm-1.3.2/ODM1-3-2.xsd"));
-			schema = sch_factory.newSchema(this.getClass().getClassLoader().getResource("schema/soft/cdisc-odm-1.3.2/ODM1-3-2.xsd"));
-//			schema = sch_factory.newSchema(this.getClass().getClassLoader().getResource("schema/soft/fujitsu-ddedcp-1.0/ddedcp1-0-0.xsd"));
-		}
+	/**
+	 * Bind every Study/MetaDataVersion in the ODM-XML to a separate {@link OdmModel} in one pass.
+	 * Call this method instead of validateSoft(), and then generateExcelAll().
+	 * @return
+	 * @throws SAXException
+	 * @throws ParserConfigurationException
+	 * @throws IOException
+	 */
+	public List<ErrorInfo> validateSoftAll() throws SAXException, ParserConfigurationException, IOException {
+		logger.info("Soft validation in progress...");
+		SAXParser parser = newSaxParser(Type.SOFT);
+		OdmMultiXmlReader handler = new OdmMultiXmlReader(config);
+		parser.parse(new File(config.o2eOdmLocation), handler);
+		this.odms = handler.getOdmModels();
+		return handler.getErrors();
+	}
 
-		sax_factory.setSchema(schema);
-		sax_factory.setNamespaceAware(true);
-		sax_factory.setValidating(false);
-		Utils.setSaxParserFactorySecureFeatures(sax_factory);
-		SAXParser parser = sax_factory.newSAXParser();
+	private List<ErrorInfo> parse(Type type) throws SAXException, ParserConfigurationException, IOException {
+		SAXParser parser = newSaxParser(type);
 		
 		if (type == Type.HARD) {
 			DefaultValidationHandler handler = new DefaultValidationHandler();
@@ -109,6 +114,18 @@ public class OdmImporter {
 			return handler.getErrors();
 		}
 	}
+
+	private SAXParser newSaxParser(Type type) throws SAXException, ParserConfigurationException {
+		SAXParserFactory sax_factory = SAXParserFactory.newInstance();
+		/* The schema is compiled only once in the session. */
+		Schema schema = SchemaRegistry.getOdmSchema(type == Type.HARD ? SchemaRegistry.Mode.HARD : SchemaRegistry.Mode.SOFT);
+
+		sax_factory.setSchema(schema);
+		sax_factory.setNamespaceAware(true);
+		sax_factory.setValidating(false);
+		Utils.setSaxParserFactorySecureFeatures(sax_factory);
+		return sax_factory.newSAXParser();
+	}
 	
 	public OdmModel getOdmModel() {
 		return this.odm;
@@ -118,30 +135,120 @@ public class OdmImporter {
 		this.odm = odm;
 	}
 	
+	public List<OdmModel> getOdmModels() {
+		return this.odms;
+	}
+	
 	public void generateExcel() throws IOException {
-		XSSFWorkbook wb = new XSSFWorkbook();
-		excelStyle = new ExcelStyle(wb, config);
+		SXSSFWorkbook wb = new SXSSFWorkbook(ExcelStyle.ROW_ACCESS_WINDOW_SIZE);
+		try {
+			excelStyle = new ExcelStyle(wb, config);
 
-		writeStudySheet(wb, odm);
-		writeUnitSheet(wb, odm);
-		writeEventSheet(wb, odm);
-		writeEventFormSheet(wb, odm);
-		writeFormSheet(wb, odm);
-		odm.updateFieldFormName();
-		writeFieldSheet(wb, odm);
-		writeCodelistSheet(wb, odm);
-		writeMethodSheet(wb, odm);
-		writeConditionSheet(wb, odm);
-		writeEdcKeysSheet(wb, odm);
+			writeSheet("STUDY", this::writeStudySheet, wb);
+			writeSheet("UNIT", this::writeUnitSheet, wb);
+			writeSheet("EVENT", this::writeEventSheet, wb);
+			writeSheet("EVENTxFORM", this::writeEventFormSheet, wb);
+			writeSheet("FORM", this::writeFormSheet, wb);
+			odm.updateFieldFormName();
+			writeSheet("FIELD", this::writeFieldSheet, wb);
+			writeSheet("CODELIST", this::writeCodelistSheet, wb);
+			writeSheet("METHOD", this::writeMethodSheet, wb);
+			writeSheet("CONDITION", this::writeConditionSheet, wb);
+			writeSheet("EDC_KEYS", this::writeEdcKeysSheet, wb);
 
-		FileOutputStream out = new FileOutputStream((String)config.o2eOutputLocation);
-		wb.write(out);
-		out.close();
+			ConversionMetrics.time("Write", () -> {
+				try (FileOutputStream out = new FileOutputStream(config.o2eOutputLocation)) {
+					wb.write(out);
+				}
+			});
+		} finally {
+			/* Temporary files of SXSSF are deleted even if a sheet or the file cannot be written. */
+			wb.dispose();
+			wb.close();
+		}
+	}
+
+	/*
+	 * Call a write*Sheet method as a stage of ConversionMetrics, counting the rows of the new sheet.
+	 */
+	private void writeSheet(String name, BiConsumer<Workbook, OdmModel> writer, Workbook wb) {
+		try (ConversionMetrics.Stage stage = ConversionMetrics.stage("Write " + name + " sheet")) {
+			int sheet_count = wb.getNumberOfSheets();
+			writer.accept(wb, odm);
+			if (wb.getNumberOfSheets() > sheet_count) {
+				stage.addCount(wb.getSheetAt(wb.getNumberOfSheets() - 1).getLastRowNum());
+			}
+		}
+	}
+	
+	/**
+	 * Write each model bound by validateSoftAll() to a separate workbook.
+	 * The file name is o2eOutputLocation followed by the Study OID and the MetaDataVersion OID, e.g. odm_STUDY1_MDV2.xlsx.
+	 * When file names are the same after characters not allowed in a file name are replaced, "_2", "_3", ... are appended to the later ones.
+	 * @param thread_count Number of workbooks written at the same time
+	 * @return Created files
+	 * @throws IOException A model without Study information is found, or a workbook cannot be written.
+	 * @throws InterruptedException
+	 */
+	public List<String> generateExcelAll(int thread_count) throws IOException, InterruptedException {
+		/* File names are decided before any workbook is written, so that no workbook overwrites another. */
+		List<String> output_locations = new ArrayList<>();
+		Set<String> used_locations = new HashSet<>();
+		for (int i = 0; i < this.odms.size(); i++) {
+			OdmStudyModel study = this.odms.get(i).getStudy();
+			if (study == null) {
+				throw new IOException("Study information is not found for MetaDataVersion #" + (i + 1) + " of " + config.o2eOdmLocation);
+			}
+			String output_location = getOutputLocation(study);
+			String unique_location = output_location;
+			/* File names are compared ignoring case, as on Windows. */
+			for (int n = 2; !used_locations.add(unique_location.toLowerCase()); n++) {
+				unique_location = StringUtils.removeEndIgnoreCase(output_location, ".xlsx") + "_" + n + ".xlsx";
+			}
+			if (!unique_location.equals(output_location)) {
+				logger.warn("MetaDataVersion " + study.metadata_oid + " of Study " + study.study_oid + " is written to " + unique_location
+						+ ", because " + output_location + " is used by another MetaDataVersion.");
+			}
+			output_locations.add(unique_location);
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(thread_count);
+		try {
+			List<Future<String>> futures = new ArrayList<>();
+			for (int i = 0; i < this.odms.size(); i++) {
+				/* Each workbook has its own importer, because ExcelStyle belongs to a workbook. */
+				Config model_config = new Config(config);
+				model_config.o2eOutputLocation = output_locations.get(i);
+				OdmImporter importer = new OdmImporter(model_config);
+				importer.setOdmModel(this.odms.get(i));
+				futures.add(executor.submit(() -> {
+					importer.generateExcel();
+					return model_config.o2eOutputLocation;
+				}));
+			}
+			List<String> rtn = new ArrayList<>();
+			for (Future<String> future : futures) {
+				try {
+					rtn.add(future.get());
+				} catch (ExecutionException ex) {
+					throw (ex.getCause() instanceof IOException) ? (IOException)ex.getCause() : new IOException(ex.getCause());
+				}
+			}
+			return rtn;
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	private String getOutputLocation(OdmStudyModel study) {
+		String base = StringUtils.removeEndIgnoreCase(config.o2eOutputLocation, ".xlsx");
+		String suffix = "_" + StringUtils.defaultString(study.study_oid) + "_" + StringUtils.defaultString(study.metadata_oid);
+		return base + suffix.replaceAll("[^A-Za-z0-9._-]", "_") + ".xlsx";
 	}
 
-	public void writeStudySheet(XSSFWorkbook wb, OdmModel odm) {
+	public void writeStudySheet(Workbook wb, OdmModel odm) {
 		logger.info("Generating STUDY Sheet");
-		XSSFSheet sheet = wb.createSheet("STUDY");
+		Sheet sheet = wb.createSheet("STUDY");
+		CellStyle[] styles = excelStyle.getStylesOdm_StudySheet();
 		OdmStudyModel study = odm.getStudy();
 		String[][] cells = {
 			{"Property Name",                "Property Value"},
@@ -171,121 +278,93 @@ public class OdmImporter {
 			{"User Note 1",                  ""},
 			{"User Note 2",                  ""}
 		};
-		for (int i = 0; i < cells.length; i++) {
-			Row row = sheet.createRow(i);
-			row.createCell(0).setCellValue(cells[i][0]);
-			row.createCell(1).setCellValue(cells[i][1]);
-		}
-		excelStyle.setStyleOdm_StudySheet(sheet);
+		excelStyle.createHeaderRow(sheet, cells[0], styles);
 		excelStyle.setColumnWidth(sheet);
+		for (int i = 1; i < cells.length; i++) {
+			excelStyle.createDataRow(sheet, i, cells[i], styles);
+		}
 	}
 
-	public void writeUnitSheet(XSSFWorkbook wb, OdmModel odm) {
+	public void writeUnitSheet(Workbook wb, OdmModel odm) {
 		logger.info("Generating UNIT Sheet");
-		XSSFSheet sheet = wb.createSheet("UNIT");
+		Sheet sheet = wb.createSheet("UNIT");
+		CellStyle[] styles = excelStyle.getStylesOdm_UnitSheet();
 		List<OdmUnitModel> units = odm.listUnit();
 		/* Create a header row */
 		String[] header = { "ID", "Name", "Symbol", "xml:lang", "Alias Context", "Alias Name", "User Note 1", "User Note 2" };
-		Row row = sheet.createRow(0);
-		for (int i = 0; i < header.length; i++) {
-			row.createCell(i).setCellValue(header[i]);
-		}
+		excelStyle.createHeaderRow(sheet, header, styles);
+		excelStyle.setColumnWidth(sheet);
 		/* Create data rows */
 		int row_num = 1;
 		for(OdmUnitModel unit : units) {
-			row = sheet.createRow(row_num++);
 			String[] data = { unit.unit_id, unit.unit_name, unit.symbol, unit.xml_lang, unit.alias_context, unit.alias_name, unit.user_note1, unit.user_note2 };
-			for (int i = 0; i < header.length; i++) {
-				row.createCell(i).setCellValue(data[i]);
-			}
+			excelStyle.createDataRow(sheet, row_num++, data, styles);
 		}
-		excelStyle.setStyleOdm_UnitSheet(sheet);
-		excelStyle.setColumnWidth(sheet);
 	}
 
-	public void writeEventSheet(XSSFWorkbook wb, OdmModel odm) {
+	public void writeEventSheet(Workbook wb, OdmModel odm) {
 		logger.info("Generating EVENT Sheet");
-		XSSFSheet sheet = wb.createSheet("EVENT");
+		Sheet sheet = wb.createSheet("EVENT");
+		CellStyle[] styles = excelStyle.getStylesOdm_EventSheet();
 		List<OdmEventModel> events = odm.listEvent();
 		/* Create a header row */
 		String[] header = { "ID", "Name", "Mandatory", "Repeating", "Type", "Category", "Description", "xml:lang", "Alias Context", "Alias Name", "CollectionExceptionCondition", "User Note 1", "User Note 2" };
-		Row row = sheet.createRow(0);
-		for (int i = 0; i < header.length; i++) {
-			row.createCell(i).setCellValue(header[i]);
-		}
+		excelStyle.createHeaderRow(sheet, header, styles);
+		excelStyle.setColumnWidth(sheet);
 		/* Create data rows */
 		int row_num = 1;
 		for(OdmEventModel event : events) {
-			row = sheet.createRow(row_num++);
 			String[] data = { event.event_id, event.event_name, event.mandatory, event.repeating, event.event_type, event.category, event.description, event.xml_lang, event.alias_context, event.alias_name, event.collection_exception_cnd, event.user_note1, event.user_note2 };
-			for (int i = 0; i < header.length; i++) {
-				row.createCell(i).setCellValue(data[i]);
-			}
+			excelStyle.createDataRow(sheet, row_num++, data, styles);
 		}
-		excelStyle.setStyleOdm_EventSheet(sheet);
-		excelStyle.setColumnWidth(sheet);
 	}
 
-	public void writeEventFormSheet(XSSFWorkbook wb, OdmModel odm) {
+	public void writeEventFormSheet(Workbook wb, OdmModel odm) {
 		logger.info("Generating EVENTxFORM Sheet");
-		XSSFSheet sheet = wb.createSheet("EVENTxFORM");
+		Sheet sheet = wb.createSheet("EVENTxFORM");
+		CellStyle[] styles = excelStyle.getStylesOdm_EventFormSheet();
 		List<OdmEventFormModel> eventforms = odm.listEventForm();
 		/* Create a header row */
 		String[] header = {"Event Name", "Form Name", "Mandatory", "CollectionExceptionCondition", "User Note 1", "User Note 2" };
-		Row row = sheet.createRow(0);
-		for (int i = 0; i < header.length; i++) {
-			row.createCell(i).setCellValue(header[i]);
-		}
+		excelStyle.createHeaderRow(sheet, header, styles);
+		excelStyle.setColumnWidth(sheet);
 		/* Create data rows */
 		int row_num = 1;
 		for(OdmEventFormModel eventform : eventforms) {
-			row = sheet.createRow(row_num++);
 			String[] data = { eventform.event_name, eventform.form_name, eventform.mandatory, eventform.collection_exception_cnd, eventform.user_note1, eventform.user_note2 };
-			for (int i = 0; i < header.length; i++) {
-				row.createCell(i).setCellValue(data[i]);
-			}
+			excelStyle.createDataRow(sheet, row_num++, data, styles);
 		}
-		excelStyle.setStyleOdm_EventFormSheet(sheet);
-		excelStyle.setColumnWidth(sheet);
 	}
 
-	public void writeFormSheet(XSSFWorkbook wb, OdmModel odm) {
+	public void writeFormSheet(Workbook wb, OdmModel odm) {
 		logger.info("Generating FORM Sheet");
-		XSSFSheet sheet = wb.createSheet("FORM");
+		Sheet sheet = wb.createSheet("FORM");
+		CellStyle[] styles = excelStyle.getStylesOdm_FormSheet();
 		List<OdmFormModel> forms = odm.listForm();
 		/* Create a header row */
 		String[] header = { "ID", "Name", "Repeating", "Description", "xml:lang", "PdfFileName", "Alias Context", "Alias Name", "User Note 1", "User Note 2" };
-		Row row = sheet.createRow(0);
-		for (int i = 0; i < header.length; i++) {
-			row.createCell(i).setCellValue(header[i]);
-		}
+		excelStyle.createHeaderRow(sheet, header, styles);
+		excelStyle.setColumnWidth(sheet);
 		/* Create data rows */
 		int row_num = 1;
 		for(OdmFormModel form : forms) {
-			row = sheet.createRow(row_num++);
 			String[] data = { form.form_id, form.name, form.repeating, form.description, form.xml_lang, form.pdf_file, form.alias_context, form.alias_name, form.user_note1, form.user_note2 };
-			for (int i = 0; i < header.length; i++) {
-				row.createCell(i).setCellValue(data[i]);
-			}
+			excelStyle.createDataRow(sheet, row_num++, data, styles);
 		}
-		excelStyle.setStyleOdm_FormSheet(sheet);
-		excelStyle.setColumnWidth(sheet);
 	}
 
-	public void writeFieldSheet(XSSFWorkbook wb, OdmModel odm) {
+	public void writeFieldSheet(Workbook wb, OdmModel odm) {
 		logger.info("Generating FIELD Sheet");
-		XSSFSheet sheet = wb.createSheet("FIELD");
+		Sheet sheet = wb.createSheet("FIELD");
+		CellStyle[] styles = excelStyle.getStylesOdm_FieldSheet();
 		List<OdmFieldModel> fields = odm.listField();
 		/* Create a header row */
 		String[] header = {"Form Name", "ID", "Item Name", "Level", "Mandatory", "Key Sequence", "Repeating", "IsReferenceData", "Question", "Question xml:lang", "ControlType", "IsLog", "Derived From", "Section Label", "DataType", "Length", "SignificantDigits", "SAS Name", "Description", "Description xml:lang", "Unit Name", "Codelist", "RangeCheck", "SoftHard", "RangeCheck Error Message", "Formal Expression Context", "Formal Expression", "Method ID", "Derivation", "Condition ID", "CollectionExceptionCondition", "Alias Context", "Alias Name", "User Note 1", "User Note 2" };
-		Row row = sheet.createRow(0);
-		for (int i = 0; i < header.length; i++) {
-			row.createCell(i).setCellValue(header[i]);
-		}
+		excelStyle.createHeaderRow(sheet, header, styles);
+		excelStyle.setColumnWidth(sheet);
 		/* Create data rows */
 		int row_num = 1;
 		for(OdmFieldModel field : fields) {
-			row = sheet.createRow(row_num++);
 			String[] data = { field.form_name, //
 					field.field_id, //
 					field.name, //
@@ -321,28 +400,22 @@ public class OdmImporter {
 					field.alias_name, //
 					field.user_note1, //
 					field.user_note2 };
-			for (int i = 0; i < header.length; i++) {
-				row.createCell(i).setCellValue(data[i]);
-			}
+			excelStyle.createDataRow(sheet, row_num++, data, styles);
 		}
-		excelStyle.setStyleOdm_FieldSheet(sheet);
-		excelStyle.setColumnWidth(sheet);
 	}
 
-	public void writeCodelistSheet(XSSFWorkbook wb, OdmModel odm) {
+	public void writeCodelistSheet(Workbook wb, OdmModel odm) {
 		logger.info("Generating CODELIST Sheet");
-		XSSFSheet sheet = wb.createSheet("CODELIST");
+		Sheet sheet = wb.createSheet("CODELIST");
+		CellStyle[] styles = excelStyle.getStylesOdm_CodelistSheet();
 		List<OdmCodelistModel> codelists = odm.listCodelist();
 		/* Create a header row */
 		String[] header = { "Codelist ID", "Codelist Code", "Codelist Label", "DataType", "SASFormatName", "Code", "User Code", "Decode", "xml:lang", "Order Number", "Rank", "ExtendedValue", "Submission Value", "Alias Context", "Alias Name", "User Note 1", "User Note 2" };
-		Row row = sheet.createRow(0);
-		for (int i = 0; i < header.length; i++) {
-			row.createCell(i).setCellValue(header[i]);
-		}
+		excelStyle.createHeaderRow(sheet, header, styles);
+		excelStyle.setColumnWidth(sheet);
 		/* Create data rows */
 		int row_num = 1;
 		for(OdmCodelistModel codelist : codelists) {
-			row = sheet.createRow(row_num++);
 			String[] data = { codelist.codelist, //
 					codelist.codelist_code, //
 					codelist.codelist_label, //
@@ -360,63 +433,48 @@ public class OdmImporter {
 					codelist.alias_name, //
 					codelist.user_note1, //
 					codelist.user_note2 };
-			for (int i = 0; i < header.length; i++) {
-				row.createCell(i).setCellValue(data[i]);
-			}
+			excelStyle.createDataRow(sheet, row_num++, data, styles);
 		}
-		excelStyle.setStyleOdm_CodelistSheet(sheet);
-		excelStyle.setColumnWidth(sheet);
 	}
 
-	public void writeMethodSheet(XSSFWorkbook wb, OdmModel odm) {
+	public void writeMethodSheet(Workbook wb, OdmModel odm) {
 		logger.info("Generating METHOD Sheet");
-		XSSFSheet sheet = wb.createSheet("METHOD");
+		Sheet sheet = wb.createSheet("METHOD");
+		CellStyle[] styles = excelStyle.getStylesOdm_MethodSheet();
 		List<OdmMethodModel> methods = odm.listMethod();
 		/* Create a header row */
 		String[] header = { "Method ID", "Method Name", "Method Type", "Description", "xml:lang", "Formal Expression Context", "Formal Expression", "Alias Context", "Alias Name", "User Note 1", "User Note 2" };
-		Row row = sheet.createRow(0);
-		for (int i = 0; i < header.length; i++) {
-			row.createCell(i).setCellValue(header[i]);
-		}
+		excelStyle.createHeaderRow(sheet, header, styles);
+		excelStyle.setColumnWidth(sheet);
 		/* Create data rows */
 		int row_num = 1;
 		for(OdmMethodModel method : methods) {
-			row = sheet.createRow(row_num++);
 			String[] data = { method.method_id, method.method_name, method.method_type, method.description, method.xml_lang, method.formal_expression_context, method.formal_expression, method.alias_context, method.alias_name, method.user_note1, method.user_note2 };
-			for (int i = 0; i < header.length; i++) {
-				row.createCell(i).setCellValue(data[i]);
-			}
+			excelStyle.createDataRow(sheet, row_num++, data, styles);
 		}
-		excelStyle.setStyleOdm_MethodSheet(sheet);
-		excelStyle.setColumnWidth(sheet);
 	}
 
-	public void writeConditionSheet(XSSFWorkbook wb, OdmModel odm) {
+	public void writeConditionSheet(Workbook wb, OdmModel odm) {
 		logger.info("Generating CONDITION Sheet");
-		XSSFSheet sheet = wb.createSheet("CONDITION");
+		Sheet sheet = wb.createSheet("CONDITION");
+		CellStyle[] styles = excelStyle.getStylesOdm_ConditionSheet();
 		List<OdmConditionModel> conditions = odm.listCondition();
 		/* Create a header row */
 		String[] header = { "Condition ID", "Condition Name", "Description", "xml:lang", "Formal Expression Context", "Formal Expression", "Alias Context", "Alias Name", "User Note 1", "User Note 2" };
-		Row row = sheet.createRow(0);
-		for (int i = 0; i < header.length; i++) {
-			row.createCell(i).setCellValue(header[i]);
-		}
+		excelStyle.createHeaderRow(sheet, header, styles);
+		excelStyle.setColumnWidth(sheet);
 		/* Create data rows */
 		int row_num = 1;
 		for(OdmConditionModel condition : conditions) {
-			row = sheet.createRow(row_num++);
 			String[] data = { condition.condition_id, condition.condition_name, condition.description, condition.xml_lang, condition.formal_expression_context, condition.formal_expression, condition.alias_context, condition.alias_name, condition.user_note1, condition.user_note2 };
-			for (int i = 0; i < header.length; i++) {
-				row.createCell(i).setCellValue(data[i]);
-			}
+			excelStyle.createDataRow(sheet, row_num++, data, styles);
 		}
-		excelStyle.setStyleOdm_ConditionSheet(sheet);
-		excelStyle.setColumnWidth(sheet);
 	}
 
-	public void writeEdcKeysSheet(XSSFWorkbook wb, OdmModel odm) {
+	public void writeEdcKeysSheet(Workbook wb, OdmModel odm) {
 		logger.info("Generating EDC_KEYS Sheet");
-		XSSFSheet sheet = wb.createSheet("EDC_KEYS");
+		Sheet sheet = wb.createSheet("EDC_KEYS");
+		CellStyle[] styles = excelStyle.getStylesOdm_EdcKeysSheet();
 		EdcKeysModel edc_keys = odm.getEdcKeys();
 		String[][] cells = {
 			{"ODM Key",                   "EDC Key"},
@@ -431,12 +489,10 @@ public class OdmImporter {
 			{"ItemOID",                   edc_keys.item_id},
 			{"Value",                     edc_keys.value}
 		};
-		for (int i = 0; i < cells.length; i++) {
-			Row row = sheet.createRow(i);
-			row.createCell(0).setCellValue(cells[i][0]);
-			row.createCell(1).setCellValue(cells[i][1]);
-		}
-		excelStyle.setStyleOdm_EdcKeysSheet(sheet);
+		excelStyle.createHeaderRow(sheet, cells[0], styles);
 		excelStyle.setColumnWidth(sheet);
+		for (int i = 1; i < cells.length; i++) {
+			excelStyle.createDataRow(sheet, i, cells[i], styles);
+		}
 	}
 }
@@ -0,0 +1,180 @@
+/* 
+ * Copyright (c) 2022 Fujitsu Limited. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0(the "License").
+ * You may obtain a copy of the License at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.fujitsu.tsc.desktop.importer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.xml.sax.Attributes;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.DefaultHandler;
+
+import com.fujitsu.tsc.desktop.importer.models.OdmModel;
+import com.fujitsu.tsc.desktop.util.Config;
+import com.fujitsu.tsc.desktop.util.ErrorInfo;
+
+/**
+ * This class binds every Study/MetaDataVersion in an ODM xml file to a separate {@link OdmModel} in one SAX pass.
+ * Events in each MetaDataVersion are routed to an {@link OdmXmlReader} created for the Study OID and the MetaDataVersion OID.
+ * Study level elements (e.g. GlobalVariables, BasicDefinitions) are kept and replayed to each new reader,
+ * so each model is the same as the one read by an OdmXmlReader with the OIDs.
+ * ClinicalData, AdminData and ReferenceData are skipped.
+ */
+public class OdmMultiXmlReader extends DefaultHandler {
+
+	private static Logger logger = LogManager.getLogger();
+	private Config config;
+	private Locator locator;
+	private List<ErrorInfo> errors = new ArrayList<>();
+	private Map<String, OdmXmlReader> readers = new LinkedHashMap<>();	//Key: Study OID + " " + MetaDataVersion OID
+	private List<SaxEvent> study_events = new ArrayList<>();	//Events outside MetaDataVersion
+
+	private int depth = 0;
+	private int skip_depth = 0;	//Depth of the skipped element, or 0
+	private String cached_study_oid = "";
+	private OdmXmlReader current_reader = null;	//Not null in a MetaDataVersion
+
+	public OdmMultiXmlReader(Config config) {
+		this.config = config;
+	}
+
+	public void setDocumentLocator(Locator locator) {
+		this.locator = locator;
+	}
+
+	public void startElement(String namespaceURI, String localName, String qName, Attributes attr) {
+		depth++;
+		if (skip_depth > 0) {
+			return;
+		}
+		if (depth == 2) {
+			if ("Study".equals(qName)) {
+				this.cached_study_oid = attr.getValue("OID");
+			} else {
+				skip_depth = depth;
+				return;
+			}
+		} else if (depth == 3 && "MetaDataVersion".equals(qName)) {
+			String key = this.cached_study_oid + " " + attr.getValue("OID");
+			this.current_reader = readers.get(key);
+			if (this.current_reader == null) {
+				this.current_reader = new OdmXmlReader(config, this.cached_study_oid, attr.getValue("OID"));
+				this.current_reader.setDocumentLocator(locator);
+				for (SaxEvent event : study_events) {
+					event.replay(this.current_reader);
+				}
+				readers.put(key, this.current_reader);
+			} else {
+				logger.warn("MetaDataVersion " + attr.getValue("OID") + " of Study " + this.cached_study_oid + " appears twice.");
+			}
+		}
+		if (current_reader != null) {
+			current_reader.startElement(namespaceURI, localName, qName, attr);
+		} else {
+			study_events.add(new SaxEvent(namespaceURI, localName, qName, new AttributesImpl(attr)));
+		}
+	}
+
+	public void characters(char[] ch, int start, int length) {
+		if (skip_depth > 0) {
+			return;
+		}
+		if (current_reader != null) {
+			current_reader.characters(ch, start, length);
+		} else {
+			study_events.add(new SaxEvent(new String(ch, start, length)));
+		}
+	}
+
+	public void endElement(String namespaceURI, String localName, String qName) {
+		if (skip_depth > 0) {
+			if (depth == skip_depth) {
+				skip_depth = 0;
+			}
+		} else if (current_reader != null) {
+			current_reader.endElement(namespaceURI, localName, qName);
+			if (depth == 3) {
+				current_reader = null;
+			}
+		} else {
+			study_events.add(new SaxEvent(namespaceURI, localName, qName, null));
+		}
+		depth--;
+	}
+
+	public void warning(SAXParseException exception) throws SAXException {
+	}
+
+	public void error(SAXParseException exception) throws SAXException {
+		ErrorInfo error = new ErrorInfo();
+		error.setId(exception.getSystemId());
+		error.setLine(exception.getLineNumber());
+		error.setColumn(exception.getColumnNumber());
+		error.setMessage(exception.getMessage() + "\nnear the line number " + locator.getLineNumber() + ".");
+		errors.add(error);
+	}
+
+	public void fatalError(SAXParseException exception) throws SAXException {
+		ErrorInfo error = new ErrorInfo();
+		error.setId(exception.getSystemId());
+		error.setLine(exception.getLineNumber());
+		error.setColumn(exception.getColumnNumber());
+		error.setMessage(exception.getMessage() + "\nnear the line number " + locator.getLineNumber() + ".");
+		errors.add(error);
+	}
+
+	/**
+	 * @return One model per Study/MetaDataVersion in the order of the xml file
+	 */
+	public List<OdmModel> getOdmModels() {
+		return readers.values().stream().map(OdmXmlReader::getOdmModel).collect(Collectors.toList());
+	}
+
+	public List<ErrorInfo> getErrors() {
+		return errors;
+	}
+
+	/* A SAX event outside MetaDataVersion. A start tag has attributes, an end tag has null attributes, and text has only text. */
+	private static class SaxEvent {
+		String namespace_uri;
+		String local_name;
+		String qname;
+		Attributes attr;
+		String text;
+
+		SaxEvent(String namespace_uri, String local_name, String qname, Attributes attr) {
+			this.namespace_uri = namespace_uri;
+			this.local_name = local_name;
+			this.qname = qname;
+			this.attr = attr;
+		}
+
+		SaxEvent(String text) {
+			this.text = text;
+		}
+
+		void replay(OdmXmlReader reader) {
+			if (text != null) {
+				reader.characters(text.toCharArray(), 0, text.length());
+			} else if (attr != null) {
+				reader.startElement(namespace_uri, local_name, qname, attr);
+			} else {
+				reader.endElement(namespace_uri, local_name, qname);
+			}
+		}
+	}
+}
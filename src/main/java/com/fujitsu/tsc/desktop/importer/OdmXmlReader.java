@@ -750,7 +750,7 @@ public class OdmXmlReader extends DefaultHandler {
 				}
 			}
 		} else if("/ODM/Study/BasicDefinitions/MeasurementUnit/Symbol/TranslatedText/".equals(path)) {
-			if (isTarget()) {
+			if (this.study_oid.equals(this.cached_study_oid)) {	//BasicDefinitions precede MetaDataVersion
 				OdmUnitPk key = new OdmUnitPk(this.cached_unit_id, this.cached_xml_lang);
 				OdmUnitModel unit = odm.get(key);
 				if (unit != null) {
@@ -8,6 +8,7 @@
 
 package com.fujitsu.tsc.desktop.importer;
 
+import com.fujitsu.tsc.desktop.importer.ExcelSheetSource.RowHandler;
 import com.fujitsu.tsc.desktop.importer.models.DefineARMDatasetModel;
 import com.fujitsu.tsc.desktop.importer.models.DefineARMDatasetModel.DefineARMDatasetPk;
 import com.fujitsu.tsc.desktop.importer.models.DefineARMDisplayModel;
@@ -44,10 +45,12 @@ import com.fujitsu.tsc.desktop.importer.models.DefineStandardModel.DefineStandar
 import com.fujitsu.tsc.desktop.importer.models.DefineStandardModel.StandardType;
 import com.fujitsu.tsc.desktop.util.Config;
 import com.fujitsu.tsc.desktop.util.Config.DatasetType;
+import com.fujitsu.tsc.desktop.util.ConversionMetrics;
 import com.fujitsu.tsc.desktop.util.ErrorLog;
 import com.fujitsu.tsc.desktop.util.ErrorLog.ErrorLevel;
 import com.fujitsu.tsc.desktop.util.Utils;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -56,11 +59,6 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellType;
-import org.apache.poi.ss.usermodel.DataFormatter;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 
 /**
@@ -71,59 +69,67 @@ public class SdtmAdamSpecImporter {
 
 	private Config config;
 	private DefineModel define;
-	private Workbook workbook;
+	private ExcelSheetSource source;
 
 	public SdtmAdamSpecImporter(Config config, Workbook workbook) {
+		this(config, ExcelSheetSource.fromWorkbook(workbook));
+	}
+
+	/**
+	 * @param config
+	 * @param source A spreadsheet source such as {@link ExcelSheetSource#open(java.io.File)}, which reads sheets row by row
+	 */
+	public SdtmAdamSpecImporter(Config config, ExcelSheetSource source) {
 		this.config = config;
-		this.workbook = workbook;
+		this.source = source;
 		this.define = new DefineModel();
 	}
 
 	public List<ErrorLog> parse() {
 		List<ErrorLog> rtn = new ArrayList<>();
-		List<ErrorLog> errors = importDocument(config.defineDocumentTableName);
+		List<ErrorLog> errors = importSheet(this::importDocument, config.defineDocumentTableName);
 		ErrorLog error = errors.stream().filter(o -> o.getErrorLevel()==ErrorLevel.ERROR).findAny().orElse(null);
 		if (error != null) {
 			return errors;
 		} else {
 			rtn.addAll(errors);
 		}
-		errors = importMethod(config.defineMethodTableName);
+		errors = importSheet(this::importMethod, config.defineMethodTableName);
 		error = errors.stream().filter(o -> o.getErrorLevel()==ErrorLevel.ERROR).findAny().orElse(null);
 		if (error != null) {
 			return errors;
 		} else {
 			rtn.addAll(errors);
 		}
-		errors = importComment(config.defineCommentTableName);
+		errors = importSheet(this::importComment, config.defineCommentTableName);
 		error = errors.stream().filter(o -> o.getErrorLevel()==ErrorLevel.ERROR).findAny().orElse(null);
 		if (error != null) {
 			return errors;
 		} else {
 			rtn.addAll(errors);
 		}
-		errors = importStudy(config.defineStudyTableName);
+		errors = importSheet(this::importStudy, config.defineStudyTableName);
 		error = errors.stream().filter(o -> o.getErrorLevel()==ErrorLevel.ERROR).findAny().orElse(null);
 		if (error != null) {
 			return errors;
 		} else {
 			rtn.addAll(errors);
 		}
-		errors = importStandard(config.defineStandardTableName);
+		errors = importSheet(this::importStandard, config.defineStandardTableName);
 		error = errors.stream().filter(o -> o.getErrorLevel()==ErrorLevel.ERROR).findAny().orElse(null);
 		if (error != null) {
 			return errors;
 		} else {
 			rtn.addAll(errors);
 		}
-		errors = importDataset(config.defineDatasetTableName);
+		errors = importSheet(this::importDataset, config.defineDatasetTableName);
 		error = errors.stream().filter(o -> o.getErrorLevel()==ErrorLevel.ERROR).findAny().orElse(null);
 		if (error != null) {
 			return errors;
 		} else {
 			rtn.addAll(errors);
 		}
-		errors = importCodelist(config.defineCodelistTableName);
+		errors = importSheet(this::importCodelist, config.defineCodelistTableName);
 		error = errors.stream().filter(o -> o.getErrorLevel()==ErrorLevel.ERROR).findAny().orElse(null);
 		if (error != null) {
 			return errors;
@@ -132,21 +138,21 @@ public class SdtmAdamSpecImporter {
 			rtn.addAll(errors);
 		}
 		
-		errors = importDictionary(config.defineDictionaryTableName);
+		errors = importSheet(this::importDictionary, config.defineDictionaryTableName);
 		error = errors.stream().filter(o -> o.getErrorLevel()==ErrorLevel.ERROR).findAny().orElse(null);
 		if (error != null) {
 			return errors;
 		} else {
 			rtn.addAll(errors);
 		}
-		errors = importVariable(config.defineVariableTableName);
+		errors = importSheet(this::importVariable, config.defineVariableTableName);
 		error = errors.stream().filter(o -> o.getErrorLevel()==ErrorLevel.ERROR).findAny().orElse(null);
 		if (error != null) {
 			return errors;
 		} else {
 			rtn.addAll(errors);
 		}
-		errors = importValue(config.defineValueTableName);
+		errors = importSheet(this::importValue, config.defineValueTableName);
 		error = errors.stream().filter(o -> o.getErrorLevel()==ErrorLevel.ERROR).findAny().orElse(null);
 		if (error != null) {
 			return errors;
@@ -154,14 +160,14 @@ public class SdtmAdamSpecImporter {
 			rtn.addAll(errors);
 		}
 		if (config.e2dDatasetType.equals(Config.DatasetType.ADaM) && this.config.e2dIncludeResultMetadata == true) {
-			errors = importArmDisplay(config.defineResult1TableName);
+			errors = importSheet(this::importArmDisplay, config.defineResult1TableName);
 			error = errors.stream().filter(o -> o.getErrorLevel()==ErrorLevel.ERROR).findAny().orElse(null);
 			if (error != null) {
 				return errors;
 			} else {
 				rtn.addAll(errors);
 			}
-			errors = importArmDataset(config.defineResult2TableName);
+			errors = importSheet(this::importArmDataset, config.defineResult2TableName);
 			error = errors.stream().filter(o -> o.getErrorLevel()==ErrorLevel.ERROR).findAny().orElse(null);
 			if (error != null) {
 				return errors;
@@ -171,11 +177,18 @@ public class SdtmAdamSpecImporter {
 		}
 		/* Update properties in DefineModel that have not been updated from Excel. */
 		define.updateHasSupp();
-		define.processRepeatN(config.e2dDatasetType);
+		ConversionMetrics.time("processRepeatN", () -> define.processRepeatN(config.e2dDatasetType));
 		define.updateVariableOrdinal();
 		
 		return rtn;
 	}
+
+	/**
+	 * Call an import method as a stage of {@link ConversionMetrics}, counting the rows imported.
+	 */
+	private List<ErrorLog> importSheet(Function<String, List<ErrorLog>> importer, String sheet_name) {
+		return ConversionMetrics.time("Import " + sheet_name, () -> importer.apply(sheet_name));
+	}
 	
 	List<ErrorLog> importDocument(String sheet_name) {
 		
@@ -568,7 +581,7 @@ public class SdtmAdamSpecImporter {
 				String comment_oid = ExcelCell.getAsString(cells.get("CommentOID"));
 				String str_comment = ExcelCell.getAsString(cells.get("Comment"));
 				if (StringUtils.isNotEmpty(comment_oid)) {
-					DefineCommentModel comment = define.listSortedComment().stream().filter(o -> StringUtils.equals(o.oid, comment_oid)).findFirst().orElse(null);
+					DefineCommentModel comment = define.findCommentByOid(comment_oid);
 					if (comment == null) {
 						String message = "The 'CommentOID' is not found in the " + config.defineCommentTableName + " sheet. The 'CommentOID' is ignored.";
 						ErrorLog error = new ErrorLog(ErrorLevel.WARN, message);
@@ -742,7 +755,7 @@ public class SdtmAdamSpecImporter {
 				String comment_oid = ExcelCell.getAsString(cells.get("CommentOID"));
 				String str_comment = ExcelCell.getAsString(cells.get("Comment"));
 				if (StringUtils.isNotEmpty(comment_oid)) {
-					DefineCommentModel comment = define.listSortedComment().stream().filter(o -> StringUtils.equals(o.oid, comment_oid)).findFirst().orElse(null);
+					DefineCommentModel comment = define.findCommentByOid(comment_oid);
 					if (comment == null) {
 						String message = "The 'CommentOID' is not found in the " + config.defineCommentTableName + " sheet. The 'CommentOID' is ignored.";
 						ErrorLog error = new ErrorLog(ErrorLevel.WARN, message);
@@ -955,7 +968,7 @@ public class SdtmAdamSpecImporter {
 				String comment_oid = ExcelCell.getAsString(cells.get("CommentOID"));
 				String str_comment = ExcelCell.getAsString(cells.get("Comment"));
 				if (StringUtils.isNotEmpty(comment_oid)) {
-					DefineCommentModel comment = define.listSortedComment().stream().filter(o -> StringUtils.equals(o.oid, comment_oid)).findFirst().orElse(null);
+					DefineCommentModel comment = define.findCommentByOid(comment_oid);
 					if (comment == null) {
 						String message = "The 'CommentOID' is not found in the " + config.defineCommentTableName + " sheet. The 'CommentOID' is ignored.";
 						ErrorLog error = new ErrorLog(ErrorLevel.WARN, message);
@@ -1197,8 +1210,8 @@ public class SdtmAdamSpecImporter {
 				variable.display_format = ExcelCell.getAsString(cells.get("DisplayFormat"));
 				String str_codelist = ExcelCell.getAsString(cells.get("Codelist"));
 				if (StringUtils.isNotEmpty(str_codelist)) {
-					DefineCodelistModel codelist = define.listSortedCodelist().stream().filter(o -> StringUtils.equals(o.codelist_id, str_codelist)).findAny().orElse(null);
-					DefineDictionaryModel dictionary = define.listSortedDictionary().stream().filter(o -> StringUtils.equals(o.dictionary_id, str_codelist)).findAny().orElse(null);
+					DefineCodelistModel codelist = define.findCodelistById(str_codelist);
+					DefineDictionaryModel dictionary = define.findDictionaryById(str_codelist);
 					if (codelist == null && dictionary == null) {
 						String message = "The '" + str_codelist + "' is not found in the " + config.defineCodelistTableName + " or " + config.defineDictionaryTableName + " sheet. The Codelist is ignored.";
 						ErrorLog error = new ErrorLog(ErrorLevel.WARN, message);
@@ -1227,7 +1240,7 @@ public class SdtmAdamSpecImporter {
 				String derivation = ExcelCell.getAsString(cells.get("Derivation"));
 				DefineMethodModel method = null;
 				if (StringUtils.isNotEmpty(method_oid)) {
-					method = define.listSortedMethod().stream().filter(o -> StringUtils.equals(o.oid, method_oid)).findFirst().orElse(null);
+					method = define.findMethodByOid(method_oid);
 					if (method == null) {
 						String message = "The 'MethodOID' is not found in the " + config.defineMethodTableName + " sheet. The 'MethodOID' is ignored.";
 						ErrorLog error = new ErrorLog(ErrorLevel.WARN, message);
@@ -1281,7 +1294,7 @@ public class SdtmAdamSpecImporter {
 				String comment_oid = ExcelCell.getAsString(cells.get("CommentOID"));
 				String str_comment = ExcelCell.getAsString(cells.get("Comment"));
 				if (StringUtils.isNotEmpty(comment_oid)) {
-					DefineCommentModel comment = define.listSortedComment().stream().filter(o -> StringUtils.equals(o.oid, comment_oid)).findFirst().orElse(null);
+					DefineCommentModel comment = define.findCommentByOid(comment_oid);
 					if (comment == null) {
 						String message = "The 'CommentOID' is not found in the " + config.defineCommentTableName + " sheet. The 'CommentOID' is ignored.";
 						ErrorLog error = new ErrorLog(ErrorLevel.WARN, message);
@@ -1337,7 +1350,7 @@ public class SdtmAdamSpecImporter {
 				variable.role = ExcelCell.getAsString(cells.get("Role"));
 				String str_role_codelist = ExcelCell.getAsString(cells.get("Role codelist"));
 				if (StringUtils.isNotEmpty(str_role_codelist)) {
-					DefineCodelistModel role_codelist = define.listSortedCodelist().stream().filter(o -> StringUtils.equals(o.codelist_id, str_role_codelist)).findAny().orElse(null);
+					DefineCodelistModel role_codelist = define.findCodelistById(str_role_codelist);
 					if (role_codelist == null) {
 						String message = "The '" + str_role_codelist + "' is not found in the " + config.defineCodelistTableName + " sheet. The Role Codelist is ignored.";
 						ErrorLog error = new ErrorLog(ErrorLevel.WARN, message);
@@ -1537,8 +1550,8 @@ public class SdtmAdamSpecImporter {
 					value.display_format = ExcelCell.getAsString(cells.get("DisplayFormat"));
 					String str_codelist = ExcelCell.getAsString(cells.get("Codelist"));
 					if (StringUtils.isNotEmpty(str_codelist)) {
-						DefineCodelistModel codelist = define.listSortedCodelist().stream().filter(o -> StringUtils.equals(o.codelist_id, str_codelist)).findAny().orElse(null);
-						DefineDictionaryModel dictionary = define.listSortedDictionary().stream().filter(o -> StringUtils.equals(o.dictionary_id, str_codelist)).findAny().orElse(null);
+						DefineCodelistModel codelist = define.findCodelistById(str_codelist);
+						DefineDictionaryModel dictionary = define.findDictionaryById(str_codelist);
 						if (codelist == null && dictionary == null) {
 							String message = "The '" + str_codelist + "' is not found in the " + config.defineCodelistTableName + " or " + config.defineDictionaryTableName + " sheet. The Codelist is ignored.";
 							ErrorLog error = new ErrorLog(ErrorLevel.WARN, message);
@@ -1566,7 +1579,7 @@ public class SdtmAdamSpecImporter {
 					String derivation = ExcelCell.getAsString(cells.get("Derivation"));
 					DefineMethodModel method = null;
 					if (StringUtils.isNotEmpty(method_oid)) {
-						method = define.listSortedMethod().stream().filter(o -> StringUtils.equals(o.oid, method_oid)).findFirst().orElse(null);
+						method = define.findMethodByOid(method_oid);
 						if (method == null) {
 							String message = "The 'MethodOID' is not found in the " + config.defineMethodTableName + " sheet. The 'MethodOID' is ignored.";
 							ErrorLog error = new ErrorLog(ErrorLevel.WARN, message);
@@ -1620,7 +1633,7 @@ public class SdtmAdamSpecImporter {
 					String comment_oid = ExcelCell.getAsString(cells.get("CommentOID"));
 					String str_comment = ExcelCell.getAsString(cells.get("Comment"));
 					if (StringUtils.isNotEmpty(comment_oid)) {
-						DefineCommentModel comment = define.listSortedComment().stream().filter(o -> StringUtils.equals(o.oid, comment_oid)).findFirst().orElse(null);
+						DefineCommentModel comment = define.findCommentByOid(comment_oid);
 						if (comment == null) {
 							String message = "The 'CommentOID' is not found in the " + config.defineCommentTableName + " sheet. The 'CommentOID' is ignored.";
 							ErrorLog error = new ErrorLog(ErrorLevel.WARN, message);
@@ -1713,7 +1726,7 @@ public class SdtmAdamSpecImporter {
 					String comment_oid = ExcelCell.getAsString(cells.get("WhereClause CommentOID"));
 					String str_comment = ExcelCell.getAsString(cells.get("WhereClause Comment"));
 					if (StringUtils.isNotEmpty(comment_oid)) {
-						DefineCommentModel comment = define.listSortedComment().stream().filter(o -> StringUtils.equals(o.oid, comment_oid)).findFirst().orElse(null);
+						DefineCommentModel comment = define.findCommentByOid(comment_oid);
 						if (comment == null) {
 							String message = "The 'CommentOID' is not found in the " + config.defineCommentTableName + " sheet. The 'CommentOID' is ignored.";
 							ErrorLog error = new ErrorLog(ErrorLevel.WARN, message);
@@ -1821,7 +1834,7 @@ public class SdtmAdamSpecImporter {
 				String comment_oid = ExcelCell.getAsString(cells.get("CommentOID"));
 				String str_comment = ExcelCell.getAsString(cells.get("Comment"));
 				if (StringUtils.isNotEmpty(comment_oid)) {
-					DefineCommentModel comment = define.listSortedComment().stream().filter(o -> StringUtils.equals(o.oid, comment_oid)).findFirst().orElse(null);
+					DefineCommentModel comment = define.findCommentByOid(comment_oid);
 					if (comment == null) {
 						String message = "The 'CommentOID' is not found in the " + config.defineCommentTableName + " sheet. The 'CommentOID' is ignored.";
 						ErrorLog error = new ErrorLog(ErrorLevel.WARN, message);
@@ -2016,7 +2029,7 @@ public class SdtmAdamSpecImporter {
 				}
 				result.result_lang = result_lang;
 				String param_dataset = ExcelCell.getAsString(cells.get("ParameterOID Dataset"));
-				DefineVariableModel variable = define.listSortedVariable().stream().filter(o -> StringUtils.equals(o.variable_oid, DefineVariableModel.createOid(param_dataset, "PARAMCD"))).findFirst().orElse(null);
+				DefineVariableModel variable = define.findVariableByOid(DefineVariableModel.createOid(param_dataset, "PARAMCD"));
 				if (StringUtils.isNotEmpty(param_dataset)) {
 					if (StringUtils.isNotEmpty(param_dataset) && variable == null) {
 						String message = "The PARAMCD variable of the " + param_dataset + " dataset is not found in the " + config.defineDatasetTableName + " sheet. The 'ParameterOID Dataset' is ignored.";
@@ -2058,7 +2071,7 @@ public class SdtmAdamSpecImporter {
 				String comment_oid = ExcelCell.getAsString(cells.get("Datasets CommentOID"));
 				String str_comment = ExcelCell.getAsString(cells.get("Datasets Comment"));
 				if (StringUtils.isNotEmpty(comment_oid)) {
-					DefineCommentModel comment = define.listSortedComment().stream().filter(o -> StringUtils.equals(o.oid, comment_oid)).findFirst().orElse(null);
+					DefineCommentModel comment = define.findCommentByOid(comment_oid);
 					if (comment == null) {
 						String message = "The 'Datasets CommentOID' is not found in the " + config.defineCommentTableName + " sheet. The 'Datasets CommentOID' is ignored.";
 						ErrorLog error = new ErrorLog(ErrorLevel.WARN, message);
@@ -2245,7 +2258,7 @@ public class SdtmAdamSpecImporter {
 					List<String> analysis_variables = Utils.split(ExcelCell.getAsString(cells.get("Analysis Variable")), config.valueDelimiter);
 					for (String analysis_variable : analysis_variables) {
 						String analysis_variable_oid = DefineVariableModel.createOid(dataset_name, analysis_variable);
-						DefineVariableModel variable = define.listSortedVariable().stream().filter(o -> StringUtils.equals(o.variable_oid, analysis_variable_oid)).findFirst().orElse(null);
+						DefineVariableModel variable = define.findVariableByOid(analysis_variable_oid);
 						if (variable == null) {
 							String message = "The variable " + analysis_variable + " is not found in the " + config.defineVariableTableName + " sheet. The 'Analysis Variable' is ignored.";
 							ErrorLog error = new ErrorLog(ErrorLevel.WARN, message);
@@ -2294,7 +2307,7 @@ public class SdtmAdamSpecImporter {
 					String comment_oid = ExcelCell.getAsString(cells.get("WhereClause CommentOID"));
 					String str_comment = ExcelCell.getAsString(cells.get("WhereClause Comment"));
 					if (StringUtils.isNotEmpty(comment_oid)) {
-						DefineCommentModel comment = define.listSortedComment().stream().filter(o -> StringUtils.equals(o.oid, comment_oid)).findFirst().orElse(null);
+						DefineCommentModel comment = define.findCommentByOid(comment_oid);
 						if (comment == null) {
 							String message = "The 'CommentOID' is not found in the " + config.defineCommentTableName + " sheet. The 'CommentOID' is ignored.";
 							ErrorLog error = new ErrorLog(ErrorLevel.WARN, message);
@@ -2389,7 +2402,7 @@ public class SdtmAdamSpecImporter {
 		}
 		for (int i = 0; i < document_ids.size(); i++) {
 			String document_id = document_ids.get(i);
-			DefineDocumentModel document = define.listSortedDocument().stream().filter(o -> StringUtils.equals(o.document_id, document_id)).findFirst().orElse(null);
+			DefineDocumentModel document = define.findDocumentById(document_id);
 			if (document == null) {
 				String message = "The 'DocumentID' is not found in the " + config.defineDocumentTableName + " sheet. The 'DocumentID' and associated information is ignored.";
 				ErrorLog error = new ErrorLog(ErrorLevel.WARN, message);
@@ -2460,12 +2473,42 @@ public class SdtmAdamSpecImporter {
 		boolean is_required;
 		SheetType sheet_type;
 		ExcelColumn[] columns = new ExcelColumn[]{};
+		
+		/**
+		 * Read the sheet row by row from the source.
+		 * @param handler A callback that receives each row
+		 * @return Successful reading returns empty list
+		 */
+		List<ErrorLog> readRows(RowHandler handler) {
+			return readRows(Integer.MAX_VALUE, handler);
+		}
+
+		/**
+		 * Read the sheet row by row from the source up to the given row number.
+		 * @param last_row_num Last row number to read, starting from 0
+		 * @param handler A callback that receives each row
+		 * @return Successful reading returns empty list
+		 */
+		List<ErrorLog> readRows(int last_row_num, RowHandler handler) {
+			List<ErrorLog> rtn = new ArrayList<>();
+			try {
+				source.readSheet(this.name, last_row_num, handler);
+			} catch (IOException ex) {
+				ErrorLog error = new ErrorLog(ErrorLevel.ERROR, "The sheet '" + this.name +"' could not be read. " + ex.getMessage());
+				error.setTabName(this.name);
+				rtn.add(error);
+			}
+			return rtn;
+		}
 	}
 	
 	private class VerticalExcelSheet extends ExcelSheet {
 		final int KEY_COLUMN_NUM = 0;
 		final int VALUE_COLUMN_NUM = 1; 
 		final int FIRST_ROW_NUM = 1;
+		/* Properties read by validate(), which are reused by doImport() */
+		List<String> actual_column_names = null;
+		ExcelRow cells = null;
 		
 		public VerticalExcelSheet(String name, boolean is_required, ExcelColumn[] columns) {
 			this.name = name;
@@ -2488,22 +2531,15 @@ public class SdtmAdamSpecImporter {
 		
 		public List<ErrorLog> validate() {
 			List<ErrorLog> rtn = new ArrayList<>();
-			Sheet sheet = workbook.getSheet(this.name);
-			if (sheet == null) {
+			if (!source.hasSheet(this.name)) {
 				ErrorLog error = new ErrorLog(ErrorLevel.ERROR, "The sheet '" + this.name +"' is not found in the given spreadsheet.");
 				rtn.add(error);
 				return rtn;
 			}
-			List<String> actual_column_names = new ArrayList<>();
 			/* Get actual column names */
-			for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-				Row row = sheet.getRow(i);
-				Cell cell = row.getCell(this.getKeyColumnNum());
-				if (cell == null) {
-					continue;
-				} else {
-					actual_column_names.add(ExcelCell.getAsString(cell));
-				}
+			List<ErrorLog> errors = readProperties();
+			if (!errors.isEmpty()) {
+				return errors;
 			}
 			/* Check if required columns exist in actual columns */
 			for (ExcelColumn column : this.columns) {
@@ -2521,17 +2557,41 @@ public class SdtmAdamSpecImporter {
 		}
 		
 		public List<ErrorLog> doImport(Function<ExcelRow, List<ErrorLog>> binder) {
-			Sheet sheet = workbook.getSheet(this.name);
-			ExcelRow cells = new ExcelRow();
-			for (int rowNum = this.getFirstRowNum(); rowNum <= sheet.getLastRowNum(); rowNum++) {
-				Row row = sheet.getRow(rowNum);
-				String key = ExcelCell.getAsString(row.getCell(this.getKeyColumnNum()));
+			List<ErrorLog> errors = readProperties();
+			if (!errors.isEmpty()) {
+				return errors;
+			}
+			return binder.apply(cells);
+		}
+
+		/*
+		 * Read the property names and values in one pass. The sheet is read only once for validate() and doImport().
+		 */
+		private List<ErrorLog> readProperties() {
+			if (cells != null) {
+				return new ArrayList<>();
+			}
+			List<String> column_names = new ArrayList<>();
+			ExcelRow row_cells = new ExcelRow();
+			List<ErrorLog> errors = readRows((row_num, values) -> {
+				if (row_num < this.getFirstRowNum()) {
+					return;
+				}
+				String value = ExcelCell.getValue(values, this.getKeyColumnNum());
+				if (value != null) {
+					column_names.add(value);
+				}
+				String key = ExcelCell.getAsString(value);
 				if (StringUtils.isEmpty(key)) {
-					continue;
+					return;
 				}
-				cells.put(key, row.getCell(this.getValueColumnNum()));
+				row_cells.put(key, ExcelCell.getValue(values, this.getValueColumnNum()));
+			});
+			if (errors.isEmpty()) {
+				this.actual_column_names = column_names;
+				this.cells = row_cells;
 			}
-			return binder.apply(cells);
+			return errors;
 		}
 	}
 	
@@ -2552,11 +2612,7 @@ public class SdtmAdamSpecImporter {
 		 * @return
 		 */
 		public boolean exists() {
-			Sheet sheet = workbook.getSheet(this.name);
-			if (sheet == null) {
-				return false;
-			}
-			return true;
+			return source.hasSheet(this.name);
 		}
 		
 		public int getHeaderRowNum() {
@@ -2578,26 +2634,24 @@ public class SdtmAdamSpecImporter {
 		 */
 		public List<ErrorLog> validate() {
 			List<ErrorLog> rtn = new ArrayList<>();
-			Sheet sheet = workbook.getSheet(this.name);
-			if (sheet == null) {
+			if (!source.hasSheet(this.name)) {
 				ErrorLog error = new ErrorLog(ErrorLevel.ERROR, "The sheet '" + this.name +"' is not found in the given spreadsheet.");
 				rtn.add(error);
 				return rtn;
 			}
-			List<String> actual_column_names = new ArrayList<>();
-			Row header_row = sheet.getRow(this.getHeaderRowNum());
-			if (header_row == null) {
+			List<String> header = readHeader(rtn);
+			if (!rtn.isEmpty()) {
+				return rtn;
+			}
+			if (header == null) {
 				String message = "A header row is not found.";
 				ErrorLog error = new ErrorLog(this.name, this.getHeaderRowNum() + 1, "", ErrorLevel.ERROR, message);
 				rtn.add(error);
 			} else {
 				/* Get actual column names */
-				for (int i = 0; i <= header_row.getLastCellNum(); i++) {
-					Cell cell = header_row.getCell(i);
-					if (cell == null) {
-						continue;
-					} else {
-						String column_name = ExcelCell.getAsString(cell);
+				List<String> actual_column_names = new ArrayList<>();
+				for (String column_name : header) {
+					if (column_name != null) {
 						actual_column_names.add(StringUtils.deleteWhitespace(column_name).toUpperCase());
 					}
 				}
@@ -2615,50 +2669,71 @@ public class SdtmAdamSpecImporter {
 			}
 			return rtn;
 		}
+		
+		/**
+		 * Read the header row only. Rows after the header row are not read.
+		 * @param errors Reading errors are added to this list
+		 * @return Cell values of the header row, or null if the header row is not found
+		 */
+		private List<String> readHeader(List<ErrorLog> errors) {
+			List<List<String>> header = new ArrayList<>(1);
+			errors.addAll(readRows(this.getHeaderRowNum(), (row_num, values) -> {
+				if (row_num == this.getHeaderRowNum()) {
+					header.add(new ArrayList<>(values));
+				}
+			}));
+			return header.isEmpty() ? null : header.get(0);
+		}
 
 		/**
 		 * Load the sheet data to objects using a given binder.
+		 * Rows are passed to the binder as they are read, so the whole sheet is never held in memory.
 		 * @param binder A function that defines binding rule between an Excel row and an object
 		 * @return
 		 */
 		public List<ErrorLog> doImport(Function<ExcelRow, List<ErrorLog>> binder) {
 			List<ErrorLog> rtn = new ArrayList<>();
-			Sheet sheet = workbook.getSheet(this.name);
-			Row header_row = sheet.getRow(this.HEADER_ROW_NUM);
-			for (int rowNum = this.getFirstRowNum(); rowNum <= sheet.getLastRowNum(); rowNum++) {
-				Row row = sheet.getRow(rowNum);
+			List<String> header = new ArrayList<>();
+			rtn.addAll(readRows((row_num, values) -> {
+				if (row_num == this.getHeaderRowNum()) {
+					header.addAll(values);
+				}
+				if (row_num < this.getFirstRowNum()) {
+					return;
+				}
+				ConversionMetrics.addCount(1);
 				ExcelRow cells = new ExcelRow();
-				for (int cellNum = getFirstColumnNum(); cellNum <= row.getLastCellNum(); cellNum++) {
-					String key = ExcelCell.getAsString(header_row.getCell(cellNum));
+				for (int cellNum = getFirstColumnNum(); cellNum < values.size(); cellNum++) {
+					String key = ExcelCell.getAsString(ExcelCell.getValue(header, cellNum));
 					if (StringUtils.isEmpty(key)) {
 						continue;
 					}
-					cells.put(key, row.getCell(cellNum));
+					cells.put(key, values.get(cellNum));
 				}
 				List<ErrorLog> errors = binder.apply(cells);
 				/* Update tab name and line number */
 				for (ErrorLog error : errors) {
 					error.setTabName(this.name);
-					error.setLineNum(rowNum + 1);
+					error.setLineNum(row_num + 1);
 				}
 				rtn.addAll(errors);
-			}
+			}));
 			return rtn;
 		}
 	}
 
 	/**
 	 * This class implements Map (i.e. put/get methods) that ignores cases and white spaces from column names.
-	 * Null for keys and cells is not supported.
+	 * Null for keys is not supported. A null value represents a blank cell.
 	 */
 	private class ExcelRow {
-		private Map<String, Cell> cells = new HashMap<>();
+		private Map<String, String> cells = new HashMap<>();
 		
-		public void put(String key, Cell cell) {
-			cells.put(StringUtils.deleteWhitespace(key).toUpperCase(), cell);
+		public void put(String key, String value) {
+			cells.put(StringUtils.deleteWhitespace(key).toUpperCase(), value);
 		}
 		
-		public Cell get(String key) {
+		public String get(String key) {
 			return cells.get(StringUtils.deleteWhitespace(key).toUpperCase());
 		}
 	}
@@ -2673,40 +2748,30 @@ public class SdtmAdamSpecImporter {
 		}
 	}
 	
+	/**
+	 * Cell values are already formatted by {@link ExcelSheetSource}, as DataFormatter does for a cell.
+	 */
 	private static class ExcelCell {
-		public static String getAsString(Cell cell) {
-			if (cell == null) {
+		public static String getValue(List<String> values, int col_num) {
+			if (col_num < values.size()) {
+				return values.get(col_num);
+			}
+			return null;
+		}
+		
+		public static String getAsString(String value) {
+			if (value == null) {
 				return "";
 			}
-			DataFormatter formatter = new DataFormatter();
-			return formatter.formatCellValue(cell);
-//Uncomment to change behavior per cell type
-//			CellType cell_type = cell.getCellTypeEnum();
-//			switch(cell_type) {
-//			case STRING:
-//				/* All cells in the SDTM/ADaM Spec is expected to be formatted as String. */
-//				return cell.getStringCellValue();
-//			case BOOLEAN:
-//				return String.valueOf(cell.getBooleanCellValue());
-//			case FORMULA:
-//				return cell.getCellFormula();
-//			case NUMERIC:
-//				/* 0 will be returned for a blank cell. */
-//				return String.valueOf(cell.getNumericCellValue());
-//			case ERROR:
-//				return String.valueOf(cell.getErrorCellValue());
-//			default:
-//				break;
-//			}
-//			return "";
+			return value;
 		}
 		
 		/**/
-		public static int getAsInteger(Cell cell) {
-			if (cell == null) {
+		public static int getAsInteger(String value) {
+			if (value == null) {
 				return 0;
 			}
-			String val = getAsString(cell);
+			String val = getAsString(value);
 			try {
 				val = StringUtils.removeEnd(val, ".0");
 				return Integer.parseInt(val);
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2022 Fujitsu Limited. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0(the "License").
+ * You may obtain a copy of the License at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.fujitsu.tsc.desktop.importer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import com.fujitsu.tsc.desktop.util.CellValueFormatter;
+
+/**
+ * An {@link ExcelSheetSource} that parses sheet XML of an xlsx file with SAX, one row at a time.
+ * Formulas are returned as formula text, same as {@link DataFormatter#formatCellValue(org.apache.poi.ss.usermodel.Cell)} without an evaluator.
+ */
+public class StreamingSheetSource implements ExcelSheetSource {
+
+	private OPCPackage pkg;
+	private ReadOnlySharedStringsTable shared_strings;
+	private StylesTable styles;
+	/* Sheet names are looked up ignoring case, same as Workbook.getSheet(). */
+	private Map<String, PackagePart> sheet_parts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+	public StreamingSheetSource(File file) throws IOException {
+		try {
+			this.pkg = OPCPackage.open(file, PackageAccess.READ);
+		} catch (InvalidFormatException ex) {
+			throw new IOException(ex);
+		}
+		try {
+			XSSFReader reader = new XSSFReader(pkg);
+			this.shared_strings = new ReadOnlySharedStringsTable(pkg);
+			this.styles = reader.getStylesTable();
+			XSSFReader.SheetIterator it = (XSSFReader.SheetIterator)reader.getSheetsData();
+			while (it.hasNext()) {
+				/* Only the part is kept here. Each sheet is parsed when it is read. */
+				it.next().close();
+				sheet_parts.putIfAbsent(it.getSheetName(), it.getSheetPart());
+			}
+		} catch (OpenXML4JException | SAXException | IOException ex) {
+			pkg.revert();
+			throw (ex instanceof IOException) ? (IOException)ex : new IOException(ex);
+		}
+	}
+
+	@Override
+	public boolean hasSheet(String sheet_name) {
+		return sheet_parts.containsKey(sheet_name);
+	}
+
+	@Override
+	public void readSheet(String sheet_name, int last_row_num, RowHandler handler) throws IOException {
+		PackagePart part = sheet_parts.get(sheet_name);
+		if (part == null) {
+			return;
+		}
+		SheetContentsHandler contents_handler = new SheetContentsHandler() {
+			List<String> values = new ArrayList<>();
+
+			@Override
+			public void startRow(int row_num) {
+				if (row_num > last_row_num) {
+					throw new StopReadingException();
+				}
+				values.clear();
+			}
+
+			@Override
+			public void endRow(int row_num) {
+				handler.handleRow(row_num, values);
+				if (row_num >= last_row_num) {
+					throw new StopReadingException();
+				}
+			}
+
+			@Override
+			public void cell(String cell_reference, String formatted_value, XSSFComment comment) {
+				int col_num = new CellReference(cell_reference).getCol();
+				while (values.size() <= col_num) {
+					values.add(null);
+				}
+				values.set(col_num, formatted_value);
+			}
+		};
+		try (InputStream is = part.getInputStream()) {
+			XMLReader xml_reader = XMLHelper.newXMLReader();
+			xml_reader.setContentHandler(new XSSFSheetXMLHandler(styles, null, shared_strings, contents_handler, CellValueFormatter.getDataFormatter(), true));
+			xml_reader.parse(new InputSource(is));
+		} catch (StopReadingException ex) {
+			//The last row has been read.
+		} catch (SAXException | ParserConfigurationException ex) {
+			throw new IOException(ex);
+		}
+	}
+
+	/*
+	 * Thrown from SheetContentsHandler, which cannot throw checked exceptions, to stop parsing after the last row.
+	 */
+	private static class StopReadingException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		StopReadingException() {
+			super(null, null, false, false);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		/* Opened read-only, so nothing is written back. */
+		pkg.revert();
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2022 Fujitsu Limited. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0(the "License").
+ * You may obtain a copy of the License at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.fujitsu.tsc.desktop.importer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import com.fujitsu.tsc.desktop.util.CellValueFormatter;
+
+/**
+ * An {@link ExcelSheetSource} over a workbook that has already been loaded into memory.
+ */
+public class WorkbookSheetSource implements ExcelSheetSource {
+
+	private Workbook workbook;
+
+	public WorkbookSheetSource(Workbook workbook) {
+		this.workbook = workbook;
+	}
+
+	@Override
+	public boolean hasSheet(String sheet_name) {
+		return workbook.getSheet(sheet_name) != null;
+	}
+
+	@Override
+	public void readSheet(String sheet_name, int last_row_num, RowHandler handler) throws IOException {
+		Sheet sheet = workbook.getSheet(sheet_name);
+		if (sheet == null) {
+			return;
+		}
+		List<String> values = new ArrayList<>();
+		for (int row_num = 0; row_num <= Math.min(sheet.getLastRowNum(), last_row_num); row_num++) {
+			Row row = sheet.getRow(row_num);
+			if (row == null) {
+				continue;
+			}
+			values.clear();
+			for (int cell_num = 0; cell_num < row.getLastCellNum(); cell_num++) {
+				Cell cell = row.getCell(cell_num);
+				values.add(cell == null ? null : CellValueFormatter.format(cell));
+			}
+			handler.handleRow(row_num, values);
+		}
+	}
+
+	/**
+	 * The workbook is owned by the caller and is not closed here.
+	 */
+	@Override
+	public void close() throws IOException {
+	}
+}
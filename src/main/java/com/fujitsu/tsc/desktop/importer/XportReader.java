@@ -0,0 +1,368 @@
+/*
+ * Copyright (c) 2022 Fujitsu Limited. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0(the "License").
+ * You may obtain a copy of the License at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.fujitsu.tsc.desktop.importer;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.Buffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A streaming reader of SAS transport (XPORT version 5) files.
+ * The file is read through memory-mapped windows, one observation at a time, so a large file is not loaded into memory.
+ * Only the first member (dataset) of a file is read.
+ *  - Character values are returned without trailing blanks.
+ *  - Numeric values are converted from IBM floating point. Missing values are returned as empty strings.
+ *  - Numeric values with a date format are returned as "YYYY/MM/DD", and with a datetime format as "YYYY/MM/DD HH24:MI:SS".
+ */
+public class XportReader implements Closeable {
+
+	private static Logger logger = LogManager.getLogger();
+
+	private static final int RECORD_LENGTH = 80;
+	private static final String LIBRARY_HEADER = "HEADER RECORD*******LIBRARY HEADER RECORD!!!!!!!";
+	private static final String MEMBER_HEADER = "HEADER RECORD*******MEMBER  HEADER RECORD!!!!!!!";
+	private static final String DSCRPTR_HEADER = "HEADER RECORD*******DSCRPTR HEADER RECORD!!!!!!!";
+	private static final String NAMESTR_HEADER = "HEADER RECORD*******NAMESTR HEADER RECORD!!!!!!!";
+	private static final String OBS_HEADER = "HEADER RECORD*******OBS     HEADER RECORD!!!!!!!";
+	/** Size of a memory-mapped window */
+	private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+	private static final LocalDate SAS_EPOCH = LocalDate.of(1960, 1, 1);
+	private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy/MM/dd");
+	private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm:ss");
+	private static final String[] DATETIME_FORMATS = { "DATETIME", "DATEAMPM", "E8601DT", "IS8601DT", "B8601DT" };
+	private static final String[] DATE_FORMATS = { "DATE", "YYMMDD", "MMDDYY", "DDMMYY", "E8601DA", "IS8601DA", "B8601DA", "WORDDATE", "WEEKDATE" };
+
+	/**
+	 * Metadata of a variable in the NAMESTR records
+	 */
+	public static class XportVariable {
+		private String name;
+		private String label;
+		private String format;
+		private boolean numeric;
+		private int length;
+		private int position;
+
+		public String getName() {
+			return name;
+		}
+
+		public String getLabel() {
+			return label;
+		}
+
+		/**
+		 * @return Format name such as "DATE" without width, or an empty string
+		 */
+		public String getFormat() {
+			return format;
+		}
+
+		public boolean isNumeric() {
+			return numeric;
+		}
+
+		public int getLength() {
+			return length;
+		}
+	}
+
+	private RandomAccessFile file;
+	private FileChannel channel;
+	private long file_size;
+	private MappedByteBuffer window = null;
+	private long window_start = 0;
+	private long position = 0;
+	private Charset charset;
+	private String dataset_name;
+	private String dataset_label;
+	private List<XportVariable> variables = new ArrayList<>();
+	private int observation_length = 0;
+	private byte[] observation;
+	private boolean end_of_member = false;
+	/* Position of the MEMBER header that follows the first member, or -1 */
+	private long next_member_position = -1;
+
+	/**
+	 * Open a transport file and read the headers of the first member.
+	 * @param src_file SAS transport file
+	 * @param charset Character encoding of character values, names and labels
+	 * @throws IOException If the file is not a SAS transport file
+	 */
+	public XportReader(File src_file, Charset charset) throws IOException {
+		this.file = new RandomAccessFile(src_file, "r");
+		this.channel = file.getChannel();
+		this.file_size = channel.size();
+		this.charset = charset;
+		try {
+			readHeaders();
+		} catch (IOException | RuntimeException ex) {
+			close();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Return true if the file starts with the library header of a SAS transport file.
+	 * @param src_file
+	 * @return
+	 * @throws IOException
+	 */
+	public static boolean isXport(File src_file) throws IOException {
+		if (src_file.length() < RECORD_LENGTH) {
+			return false;
+		}
+		byte[] record = new byte[LIBRARY_HEADER.length()];
+		try (RandomAccessFile raf = new RandomAccessFile(src_file, "r")) {
+			raf.readFully(record);
+		}
+		return LIBRARY_HEADER.equals(new String(record, StandardCharsets.US_ASCII));
+	}
+
+	private void readHeaders() throws IOException {
+		expectHeader(LIBRARY_HEADER);
+		/* Two records of SAS version, operating system and creation/modification date/time */
+		skip(2 * RECORD_LENGTH);
+		String member_header = expectHeader(MEMBER_HEADER);
+		int namestr_length = Integer.parseInt(member_header.substring(74, 78).trim());
+		expectHeader(DSCRPTR_HEADER);
+		byte[] record = new byte[RECORD_LENGTH];
+		read(record, RECORD_LENGTH);
+		this.dataset_name = decode(record, 8, 8);
+		read(record, RECORD_LENGTH);
+		this.dataset_label = decode(record, 32, 40);
+		String namestr_header = expectHeader(NAMESTR_HEADER);
+		int variable_count = Integer.parseInt(namestr_header.substring(54, 58).trim());
+		byte[] namestr = new byte[namestr_length];
+		for (int i = 0; i < variable_count; i++) {
+			read(namestr, namestr_length);
+			XportVariable variable = new XportVariable();
+			variable.numeric = toShort(namestr, 0) == 1;
+			variable.length = toShort(namestr, 4);
+			variable.name = decode(namestr, 8, 8);
+			variable.label = decode(namestr, 16, 40);
+			variable.format = decode(namestr, 56, 8).toUpperCase();
+			variable.position = toInt(namestr, 84);
+			variables.add(variable);
+			observation_length = Math.max(observation_length, variable.position + variable.length);
+		}
+		/* NAMESTR records are padded to a multiple of the record length. */
+		skipToRecordBoundary();
+		expectHeader(OBS_HEADER);
+		this.observation = new byte[observation_length];
+	}
+
+	public String getDatasetName() {
+		return dataset_name;
+	}
+
+	public String getDatasetLabel() {
+		return dataset_label;
+	}
+
+	public List<XportVariable> getVariables() {
+		return Collections.unmodifiableList(variables);
+	}
+
+	/**
+	 * Read the next observation.
+	 * @return Values in the order of {@link #getVariables()}, or null at the end of the member
+	 * @throws IOException
+	 */
+	public String[] readRow() throws IOException {
+		if (end_of_member) {
+			return null;
+		}
+		if (observation_length == 0 || isEndOfMember()) {
+			end_of_member = true;
+			if (next_member_position >= 0) {
+				logger.info("Only the first member \"" + dataset_name + "\" is read. Members from position " + next_member_position + " are ignored.");
+			}
+			return null;
+		}
+		read(observation, observation_length);
+		String[] row = new String[variables.size()];
+		for (int i = 0; i < row.length; i++) {
+			XportVariable variable = variables.get(i);
+			if (variable.numeric) {
+				row[i] = formatNumber(toDouble(observation, variable.position, variable.length), variable.format);
+			} else {
+				row[i] = StringUtils.stripEnd(new String(observation, variable.position, variable.length, charset), " ");
+			}
+		}
+		return row;
+	}
+
+	/*
+	 * The last observation is followed by blanks up to the record boundary, and then the end of file or the next member.
+	 * The padding can be shorter than an observation, so the rest of the record is checked whatever its length.
+	 */
+	private boolean isEndOfMember() throws IOException {
+		if (file_size - position < observation_length) {
+			return true;
+		}
+		long boundary = (position + RECORD_LENGTH - 1) / RECORD_LENGTH * RECORD_LENGTH;
+		if (position == boundary) {
+			/* The next member starts right after the last observation. */
+			return isMemberHeader(boundary);
+		}
+		long saved_position = position;
+		byte[] rest = new byte[(int)(boundary - position)];
+		read(rest, rest.length);
+		position = saved_position;
+		for (byte b : rest) {
+			if (b != ' ') {
+				return false;
+			}
+		}
+		return boundary >= file_size || isMemberHeader(boundary);
+	}
+
+	private boolean isMemberHeader(long at) throws IOException {
+		if (startsWith(at, MEMBER_HEADER)) {
+			next_member_position = at;
+			return true;
+		}
+		return false;
+	}
+
+	private boolean startsWith(long at, String header) throws IOException {
+		if (file_size - at < header.length()) {
+			return false;
+		}
+		long saved_position = position;
+		position = at;
+		byte[] bytes = new byte[header.length()];
+		read(bytes, bytes.length);
+		position = saved_position;
+		return header.equals(new String(bytes, StandardCharsets.US_ASCII));
+	}
+
+	private String expectHeader(String header) throws IOException {
+		byte[] record = new byte[RECORD_LENGTH];
+		if (file_size - position < RECORD_LENGTH) {
+			throw new IOException("Not a SAS transport file: a header record is missing.");
+		}
+		read(record, RECORD_LENGTH);
+		String str = new String(record, StandardCharsets.US_ASCII);
+		if (!str.startsWith(header)) {
+			throw new IOException("Not a SAS transport file: \"" + header + "\" is expected at " + (position - RECORD_LENGTH) + ".");
+		}
+		return str;
+	}
+
+	private void skip(long length) {
+		position += length;
+	}
+
+	private void skipToRecordBoundary() {
+		position = (position + RECORD_LENGTH - 1) / RECORD_LENGTH * RECORD_LENGTH;
+	}
+
+	/*
+	 * Copy bytes at the current position through a memory-mapped window, and advance the position.
+	 */
+	private void read(byte[] dst, int length) throws IOException {
+		if (position + length > file_size) {
+			throw new IOException("Unexpected end of the SAS transport file.");
+		}
+		int offset = 0;
+		while (offset < length) {
+			if (window == null || position < window_start || position >= window_start + window.limit()) {
+				window_start = position;
+				window = channel.map(FileChannel.MapMode.READ_ONLY, window_start, Math.min(WINDOW_SIZE, file_size - window_start));
+			}
+			int index = (int)(position - window_start);
+			int count = Math.min(length - offset, window.limit() - index);
+			/* Cast for Java 8, where position(int) is declared by Buffer */
+			((Buffer)window).position(index);
+			window.get(dst, offset, count);
+			offset += count;
+			position += count;
+		}
+	}
+
+	private String decode(byte[] bytes, int offset, int length) {
+		return new String(bytes, offset, length, charset).trim();
+	}
+
+	private static int toShort(byte[] bytes, int offset) {
+		return ((bytes[offset] & 0xff) << 8) | (bytes[offset + 1] & 0xff);
+	}
+
+	private static int toInt(byte[] bytes, int offset) {
+		return ((bytes[offset] & 0xff) << 24) | ((bytes[offset + 1] & 0xff) << 16) | ((bytes[offset + 2] & 0xff) << 8) | (bytes[offset + 3] & 0xff);
+	}
+
+	/*
+	 * Convert an IBM hexadecimal floating point number, which could be truncated to less than 8 bytes.
+	 * Returns null for a missing value (., ._ or .A-.Z).
+	 */
+	static Double toDouble(byte[] bytes, int offset, int length) {
+		long bits = 0;
+		for (int i = 0; i < 8; i++) {
+			bits = (bits << 8) | (i < length ? (bytes[offset + i] & 0xff) : 0);
+		}
+		int first = (int)(bits >>> 56);
+		long mantissa = bits & 0x00ffffffffffffffL;
+		if (mantissa == 0) {
+			if (first == '.' || first == '_' || (first >= 'A' && first <= 'Z')) {
+				return null;
+			}
+			return 0.0;
+		}
+		int exponent = (first & 0x7f) - 64;
+		double value = Math.scalb((double)mantissa, 4 * exponent - 56);
+		return (first & 0x80) == 0 ? value : -value;
+	}
+
+	private static String formatNumber(Double value, String format) {
+		if (value == null) {
+			return "";
+		}
+		if (value.isInfinite() || value.isNaN()) {
+			return String.valueOf(value);
+		}
+		if (StringUtils.startsWithAny(format, DATETIME_FORMATS)) {
+			return LocalDateTime.of(SAS_EPOCH, LocalTime.MIDNIGHT).plusSeconds((long)Math.floor(value)).format(DATETIME_FORMATTER);
+		}
+		if (StringUtils.startsWithAny(format, DATE_FORMATS)) {
+			return SAS_EPOCH.plusDays((long)Math.floor(value)).format(DATE_FORMATTER);
+		}
+		if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+			return String.valueOf(value.longValue());
+		}
+		return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+	}
+
+	@Override
+	public void close() throws IOException {
+		window = null;
+		channel.close();
+		file.close();
+	}
+}
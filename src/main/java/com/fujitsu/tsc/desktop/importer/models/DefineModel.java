@@ -9,6 +9,7 @@
 package com.fujitsu.tsc.desktop.importer.models;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -72,6 +73,26 @@ public class DefineModel {
 	private Map<DefineARMDatasetPk, DefineARMDatasetModel> map_define_arm_dataset;	//RESULT2
 	private Map<DefineMethodPk, DefineMethodModel> map_define_method;	//Methods referenced from VARIABLE and VALUE
 	private Map<DefineCommentPk, DefineCommentModel> map_define_comment;	//Comments
+	/* Sorted views of the maps above, rebuilt on the next read after the map or a sort key is modified. */
+	private SortedView<DefineStandardModel> sorted_standard;
+	private SortedView<DefineDocumentModel> sorted_document;
+	private SortedView<DefineDatasetModel> sorted_dataset;
+	private SortedView<DefineVariableModel> sorted_variable;
+	private SortedView<DefineValueModel> sorted_value;
+	private SortedView<DefineDictionaryModel> sorted_dictionary;
+	private SortedView<DefineCodelistModel> sorted_codelist;
+	private SortedView<DefineARMDisplayModel> sorted_arm_display;
+	private SortedView<DefineARMResultModel> sorted_arm_result;
+	private SortedView<DefineARMDatasetModel> sorted_arm_dataset;
+	private SortedView<DefineMethodModel> sorted_method;
+	private SortedView<DefineCommentModel> sorted_comment;
+	/* Secondary indexes maintained on put/remove, so that finders do not scan the maps above. */
+	private Map<String, DefineDocumentModel> idx_document_id;	//document_id -> DOCUMENT
+	private Map<String, List<DefineVariableModel>> idx_variable_oid;	//variable_oid -> VARIABLE(s)
+	private Map<String, DefineDictionaryModel> idx_dictionary_id;	//dictionary_id -> DICTIONARY
+	private Map<String, List<DefineCodelistModel>> idx_codelist_id;	//codelist_id -> CODELIST items
+	private Map<String, DefineMethodModel> idx_method_oid;	//oid -> METHOD
+	private Map<String, DefineCommentModel> idx_comment_oid;	//oid -> COMMENT
 	
 	public DefineModel() {
 		this.define_study = new DefineStudyModel();
@@ -88,6 +109,24 @@ public class DefineModel {
 		this.map_define_arm_dataset = new HashMap<>();
 		this.map_define_method = new HashMap<>();
 		this.map_define_comment = new HashMap<>();
+		this.sorted_standard = new SortedView<>(this.map_define_standard);
+		this.sorted_document = new SortedView<>(this.map_define_document);
+		this.sorted_dataset = new SortedView<>(this.map_define_dataset);
+		this.sorted_variable = new SortedView<>(this.map_define_variable);
+		this.sorted_value = new SortedView<>(this.map_define_value);
+		this.sorted_dictionary = new SortedView<>(this.map_define_dictionary);
+		this.sorted_codelist = new SortedView<>(this.map_define_codelist);
+		this.sorted_arm_display = new SortedView<>(this.map_define_arm_display);
+		this.sorted_arm_result = new SortedView<>(this.map_define_arm_result);
+		this.sorted_arm_dataset = new SortedView<>(this.map_define_arm_dataset);
+		this.sorted_method = new SortedView<>(this.map_define_method);
+		this.sorted_comment = new SortedView<>(this.map_define_comment);
+		this.idx_document_id = new HashMap<>();
+		this.idx_variable_oid = new HashMap<>();
+		this.idx_dictionary_id = new HashMap<>();
+		this.idx_codelist_id = new HashMap<>();
+		this.idx_method_oid = new HashMap<>();
+		this.idx_comment_oid = new HashMap<>();
 	}
 	
 	public static enum YorN {
@@ -155,6 +194,31 @@ public class DefineModel {
 			this.document_page_title = "";
 		}
 	}
+	
+	/**
+	 * Memoized sorted list of the values of a map.
+	 * The list is sorted once and reused until {@link #invalidate()} is called.
+	 */
+	private static class SortedView<T extends Comparable<? super T>> {
+		private final Map<?, T> map;
+		private List<T> sorted;
+		
+		private SortedView(Map<?, T> map) {
+			this.map = map;
+			this.sorted = null;
+		}
+		
+		private List<T> get() {
+			if (this.sorted == null) {
+				this.sorted = Collections.unmodifiableList(this.map.values().stream().sorted().collect(Collectors.toList()));
+			}
+			return this.sorted;
+		}
+		
+		private void invalidate() {
+			this.sorted = null;
+		}
+	}
 
 	
 	public void put(DefineStudyModel study) {
@@ -166,75 +230,51 @@ public class DefineModel {
 	}
 	
 	public List<DefineStandardModel> listSortedStandard() {
-		List<DefineStandardModel> rtn = new ArrayList<>();
-		rtn = this.map_define_standard.values().stream().sorted().collect(Collectors.toList());
-		return rtn;
+		return this.sorted_standard.get();
 	}
 	
 	public List<DefineDocumentModel> listSortedDocument() {
-		List<DefineDocumentModel> rtn = new ArrayList<>();
-		rtn = this.map_define_document.values().stream().sorted().collect(Collectors.toList());
-		return rtn;
+		return this.sorted_document.get();
 	}
 	
 	public List<DefineDatasetModel> listSortedDataset() {
-		List<DefineDatasetModel> rtn = new ArrayList<>();
-		rtn = this.map_define_dataset.values().stream().sorted().collect(Collectors.toList());
-		return rtn;
+		return this.sorted_dataset.get();
 	}
 	
 	public List<DefineVariableModel> listSortedVariable() {
-		List<DefineVariableModel> rtn = new ArrayList<>();
-		rtn = this.map_define_variable.values().stream().sorted().collect(Collectors.toList());
-		return rtn;
+		return this.sorted_variable.get();
 	}
 	
 	public List<DefineValueModel> listSortedValue() {
-		List<DefineValueModel> rtn = new ArrayList<>();
-		rtn = this.map_define_value.values().stream().sorted().collect(Collectors.toList());
-		return rtn;
+		return this.sorted_value.get();
 	}
 	
 	public List<DefineDictionaryModel> listSortedDictionary() {
-		List<DefineDictionaryModel> rtn = new ArrayList<>();
-		rtn = this.map_define_dictionary.values().stream().sorted().collect(Collectors.toList());
-		return rtn;
+		return this.sorted_dictionary.get();
 	}
 	
 	public List<DefineCodelistModel> listSortedCodelist() {
-		List<DefineCodelistModel> rtn = new ArrayList<>();
-		rtn = this.map_define_codelist.values().stream().sorted().collect(Collectors.toList());
-		return rtn;
+		return this.sorted_codelist.get();
 	}
 	
 	public List<DefineARMDisplayModel> listSortedARMDisplay() {
-		List<DefineARMDisplayModel> rtn = new ArrayList<>();
-		rtn = this.map_define_arm_display.values().stream().sorted().collect(Collectors.toList());
-		return rtn;
+		return this.sorted_arm_display.get();
 	}
 
 	public List<DefineARMResultModel> listSortedARMResult() {
-		List<DefineARMResultModel> rtn = new ArrayList<>();
-		rtn = this.map_define_arm_result.values().stream().sorted().collect(Collectors.toList());
-		return rtn;
+		return this.sorted_arm_result.get();
 	}
 	
 	public List<DefineARMDatasetModel> listSortedARMDataset() {
-		List<DefineARMDatasetModel> rtn = new ArrayList<>();
-		rtn = this.map_define_arm_dataset.values().stream().sorted().collect(Collectors.toList());
-		return rtn;
+		return this.sorted_arm_dataset.get();
 	}
 	
 	public List<DefineMethodModel> listSortedMethod() {
-		List<DefineMethodModel> rtn = new ArrayList<>();
-		rtn = this.map_define_method.values().stream().sorted().collect(Collectors.toList());
-		return rtn;
+		return this.sorted_method.get();
 	}
 	
 	public List<DefineCommentModel> listSortedComment() {
-		List<DefineCommentModel> rtn = new ArrayList<>();
-		rtn = this.map_define_comment.values().stream().sorted().collect(Collectors.toList());
-		return rtn;
+		return this.sorted_comment.get();
 	}
 	
 	public DefineDocumentModel get(DefineDocumentPk key) {
@@ -242,6 +282,7 @@ public class DefineModel {
 	}
 	
 	public void put(DefineStandardPk key, DefineStandardModel standard) {
+		this.sorted_standard.invalidate();
 		this.map_define_standard.put(key, standard);
 	}
 	
@@ -250,7 +291,21 @@ public class DefineModel {
 	}
 	
 	public void put(DefineDocumentPk key, DefineDocumentModel document) {
-		this.map_define_document.put(key, document);
+		this.sorted_document.invalidate();
+		DefineDocumentModel old = this.map_define_document.put(key, document);
+		if (old != null) {
+			this.idx_document_id.remove(old.document_id, old);
+		}
+		this.idx_document_id.put(document.document_id, document);
+	}
+	
+	/**
+	 * Find a document by its DocumentID.
+	 * @param document_id DocumentID
+	 * @return A document, or null if not found
+	 */
+	public DefineDocumentModel findDocumentById(String document_id) {
+		return this.idx_document_id.get(document_id);
 	}
 	
 	public DefineDatasetModel get(DefineDatasetPk key) {
@@ -258,6 +313,7 @@ public class DefineModel {
 	}
 	
 	public void put(DefineDatasetPk key, DefineDatasetModel dataset) {
+		this.sorted_dataset.invalidate();
 		this.map_define_dataset.put(key, dataset);
 	}
 	
@@ -266,23 +322,38 @@ public class DefineModel {
 	}
 	
 	public void put(DefineVariablePk key, DefineVariableModel variable) {
-		this.map_define_variable.put(key, variable);
+		this.sorted_variable.invalidate();
+		DefineVariableModel old = this.map_define_variable.put(key, variable);
+		if (old != null) {
+			removeFromIndex(this.idx_variable_oid, old.variable_oid, old);
+		}
+		addToIndex(this.idx_variable_oid, variable.variable_oid, variable);
 	}
 	
 	public void remove(DefineVariablePk key) {
-		this.map_define_variable.remove(key);
+		this.sorted_variable.invalidate();
+		DefineVariableModel old = this.map_define_variable.remove(key);
+		if (old != null) {
+			removeFromIndex(this.idx_variable_oid, old.variable_oid, old);
+		}
 	}
 	
 	public List<DefineVariableModel> getVariableByOid(String item_oid) {
-		List<DefineVariableModel> rtn = new ArrayList<>();
-		Set<Entry<DefineVariablePk, DefineVariableModel>> entries = this.map_define_variable.entrySet();
-		for (Entry<DefineVariablePk, DefineVariableModel> entry : entries) {
-			DefineVariableModel variable = entry.getValue();
-			if (StringUtils.equals(variable.variable_oid, item_oid)) {
-				rtn.add(variable);
-			}
+		List<DefineVariableModel> variables = this.idx_variable_oid.get(item_oid);
+		return (variables == null ? new ArrayList<>() : new ArrayList<>(variables));
+	}
+	
+	/**
+	 * Find a variable by its OID. If more than one variable share the OID, the first one in the sorted order is returned.
+	 * @param item_oid Variable OID
+	 * @return A variable, or null if not found
+	 */
+	public DefineVariableModel findVariableByOid(String item_oid) {
+		List<DefineVariableModel> variables = this.idx_variable_oid.get(item_oid);
+		if (variables == null) {
+			return null;
 		}
-		return rtn;
+		return variables.stream().sorted().findFirst().orElse(null);
 	}
 
 	public DefineValueModel get(DefineValuePk key) {
@@ -290,6 +361,7 @@ public class DefineModel {
 	}
 	
 	public void put(DefineValuePk key, DefineValueModel value) {
+		this.sorted_value.invalidate();
 		this.map_define_value.put(key, value);
 	}
 	
@@ -306,7 +378,21 @@ public class DefineModel {
 	}
 	
 	public void put(DefineDictionaryPk key, DefineDictionaryModel dictionary) {
-		this.map_define_dictionary.put(key, dictionary);
+		this.sorted_dictionary.invalidate();
+		DefineDictionaryModel old = this.map_define_dictionary.put(key, dictionary);
+		if (old != null) {
+			this.idx_dictionary_id.remove(old.dictionary_id, old);
+		}
+		this.idx_dictionary_id.put(dictionary.dictionary_id, dictionary);
+	}
+	
+	/**
+	 * Find a dictionary by its Dictionary ID.
+	 * @param dictionary_id Dictionary ID
+	 * @return A dictionary, or null if not found
+	 */
+	public DefineDictionaryModel findDictionaryById(String dictionary_id) {
+		return this.idx_dictionary_id.get(dictionary_id);
 	}
 	
 	public DefineCodelistModel get(DefineCodelistPk key) {
@@ -314,19 +400,27 @@ public class DefineModel {
 	}
 	
 	public void put(DefineCodelistPk key, DefineCodelistModel codelist) {
-		this.map_define_codelist.put(key, codelist);
+		this.sorted_codelist.invalidate();
+		DefineCodelistModel old = this.map_define_codelist.put(key, codelist);
+		if (old != null) {
+			removeFromIndex(this.idx_codelist_id, old.codelist_id, old);
+		}
+		addToIndex(this.idx_codelist_id, codelist.codelist_id, codelist);
 	}
 	
 	public List<DefineCodelistModel> getCodelistByCodelistId(String codelist_oid) {
-		List<DefineCodelistModel> rtn = new ArrayList<>();
-		Set<Entry<DefineCodelistPk, DefineCodelistModel>> entries = this.map_define_codelist.entrySet();
-		for (Entry<DefineCodelistPk, DefineCodelistModel> entry : entries) {
-			DefineCodelistModel codelist = entry.getValue();
-			if (StringUtils.equals(codelist.codelist_id, codelist_oid)) {
-				rtn.add(codelist);
-			}
-		}
-		return rtn;
+		List<DefineCodelistModel> codelists = this.idx_codelist_id.get(codelist_oid);
+		return (codelists == null ? new ArrayList<>() : new ArrayList<>(codelists));
+	}
+	
+	/**
+	 * Find any codelist item of the codelist.
+	 * @param codelist_id Codelist ID
+	 * @return A codelist item, or null if the codelist is not found
+	 */
+	public DefineCodelistModel findCodelistById(String codelist_id) {
+		List<DefineCodelistModel> codelists = this.idx_codelist_id.get(codelist_id);
+		return (codelists == null ? null : codelists.get(0));
 	}
 	
 	public DefineARMDisplayModel get(DefineARMDisplayPk key) {
@@ -334,6 +428,7 @@ public class DefineModel {
 	}
 	
 	public void put(DefineARMDisplayPk key, DefineARMDisplayModel arm) {
+		this.sorted_arm_display.invalidate();
 		this.map_define_arm_display.put(key, arm);
 	}
 	
@@ -342,6 +437,7 @@ public class DefineModel {
 	}
 	
 	public void put(DefineARMResultPk key, DefineARMResultModel result) {
+		this.sorted_arm_result.invalidate();
 		this.map_define_arm_result.put(key, result);
 	}
 	
@@ -350,6 +446,7 @@ public class DefineModel {
 	}
 	
 	public void put(DefineARMDatasetPk key, DefineARMDatasetModel arm) {
+		this.sorted_arm_dataset.invalidate();
 		this.map_define_arm_dataset.put(key, arm);
 	}
 	
@@ -358,7 +455,21 @@ public class DefineModel {
 	}
 	
 	public void put(DefineMethodPk key, DefineMethodModel method) {
-		this.map_define_method.put(key, method);
+		this.sorted_method.invalidate();
+		DefineMethodModel old = this.map_define_method.put(key, method);
+		if (old != null) {
+			this.idx_method_oid.remove(old.oid, old);
+		}
+		this.idx_method_oid.put(method.oid, method);
+	}
+	
+	/**
+	 * Find a method by its OID.
+	 * @param method_oid MethodOID
+	 * @return A method, or null if not found
+	 */
+	public DefineMethodModel findMethodByOid(String method_oid) {
+		return this.idx_method_oid.get(method_oid);
 	}
 	
 	public DefineCommentModel get(DefineCommentPk key) {
@@ -366,7 +477,55 @@ public class DefineModel {
 	}
 	
 	public void put(DefineCommentPk key, DefineCommentModel comment) {
-		this.map_define_comment.put(key, comment);
+		this.sorted_comment.invalidate();
+		DefineCommentModel old = this.map_define_comment.put(key, comment);
+		if (old != null) {
+			this.idx_comment_oid.remove(old.oid, old);
+		}
+		this.idx_comment_oid.put(comment.oid, comment);
+	}
+	
+	/**
+	 * Find a comment by its OID.
+	 * @param comment_oid CommentOID
+	 * @return A comment, or null if not found
+	 */
+	public DefineCommentModel findCommentByOid(String comment_oid) {
+		return this.idx_comment_oid.get(comment_oid);
+	}
+	
+	private static <T> void addToIndex(Map<String, List<T>> index, String key, T model) {
+		index.computeIfAbsent(key, k -> new ArrayList<>()).add(model);
+	}
+	
+	private static <T> void removeFromIndex(Map<String, List<T>> index, String key, T model) {
+		List<T> models = index.get(key);
+		if (models != null) {
+			models.remove(model);
+			if (models.isEmpty()) {
+				index.remove(key);
+			}
+		}
+	}
+	
+	/**
+	 * Discard all cached sorted lists.
+	 * Call this method after changing a property used for sorting (e.g. ordinal) of a model that is already in this DefineModel,
+	 * unless the change is made through a method of this class.
+	 */
+	public void invalidateSortedViews() {
+		this.sorted_standard.invalidate();
+		this.sorted_document.invalidate();
+		this.sorted_dataset.invalidate();
+		this.sorted_variable.invalidate();
+		this.sorted_value.invalidate();
+		this.sorted_dictionary.invalidate();
+		this.sorted_codelist.invalidate();
+		this.sorted_arm_display.invalidate();
+		this.sorted_arm_result.invalidate();
+		this.sorted_arm_dataset.invalidate();
+		this.sorted_method.invalidate();
+		this.sorted_comment.invalidate();
 	}
 	
 	/**
@@ -457,9 +616,12 @@ public class DefineModel {
 			variable.comment_oid = nsv.comment_oid;
 			variable.user_note1 = nsv.user_note1;
 			variable.user_note2 = nsv.user_note2;
-			this.map_define_variable.put(key, variable);
+			this.put(key, variable);
 		}
 		/* (5) Remove Dataset, Variable and VLM of SUPP datasets */
+		this.sorted_value.invalidate();
+		this.sorted_variable.invalidate();
+		this.sorted_dataset.invalidate();
 		/* Remove Values and WCs */
 		Iterator<DefineValuePk> value_iterator = this.map_define_value.keySet().iterator();
 		while (value_iterator.hasNext()) {
@@ -473,10 +635,11 @@ public class DefineModel {
 			}
 		}
 		/* Remove Variables */
-		Iterator<DefineVariablePk> variable_iterator = this.map_define_variable.keySet().iterator();
+		Iterator<Entry<DefineVariablePk, DefineVariableModel>> variable_iterator = this.map_define_variable.entrySet().iterator();
 		while (variable_iterator.hasNext()) {
-			DefineVariablePk key = variable_iterator.next();
-			if (StringUtils.startsWith(key.dataset_name, "SUPP")) {
+			Entry<DefineVariablePk, DefineVariableModel> entry = variable_iterator.next();
+			if (StringUtils.startsWith(entry.getKey().dataset_name, "SUPP")) {
+				removeFromIndex(this.idx_variable_oid, entry.getValue().variable_oid, entry.getValue());
 				variable_iterator.remove();
 			}
 		}
@@ -501,6 +664,7 @@ public class DefineModel {
 	}
 	
 	public void updateVariableOrdinal() {
+		this.sorted_variable.invalidate();
 		Set<Entry<DefineVariablePk, DefineVariableModel>> entries = this.map_define_variable.entrySet();
 		for (Entry<DefineVariablePk, DefineVariableModel> entry : entries) {
 			DefineVariableModel variable = entry.getValue();
@@ -514,6 +678,7 @@ public class DefineModel {
 	/* Update has_vlm of Variable, group_id, dataset_name, variable_name of Value and WC */
 	public void updateVLM() {
 		List<DefineVariableModel> variables = listSortedVariable();
+		this.sorted_value.invalidate();	//dataset_name and variable_name of values are updated
 		Set<Entry<DefineValuePk, DefineValueModel>> entries = this.map_define_value.entrySet();
 		for (Entry<DefineValuePk, DefineValueModel> entry : entries) {
 			DefineValueModel value = entry.getValue();
@@ -704,6 +869,7 @@ public class DefineModel {
 				variable.ordinal = variable.ordinal + 1;
 			}
 		}
+		this.sorted_variable.invalidate();
 	}
 	
 	public void shiftOrdinal(DefineValueModel val_to_insert) {
@@ -718,6 +884,7 @@ public class DefineModel {
 				value.ordinal = value.ordinal + 1;
 			}
 		}
+		this.sorted_value.invalidate();
 	}
 	
 	/* Variable Name += N */
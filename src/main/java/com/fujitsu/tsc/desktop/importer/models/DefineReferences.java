@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2022 Fujitsu Limited. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0(the "License").
+ * You may obtain a copy of the License at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.fujitsu.tsc.desktop.importer.models;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.fujitsu.tsc.desktop.importer.models.DefineModel.DocumentRef;
+import com.fujitsu.tsc.desktop.importer.models.DefineWCModel.DefineWCPk;
+
+/**
+ * Outgoing references of a {@link DefineModel}, collected in one pass over the model.
+ * Each set holds the keys of CODELIST, METHOD, COMMENT, DOCUMENT and where clause items that are referenced
+ * by another item, so that unreferenced items can be skipped without scanning the model again.
+ *  - Define-XML 2.0.0: items with Has No Data and their children are not counted as references,
+ *    and comments are referenced only from datasets, variables, values and where clauses.
+ *  - Other versions: all items are counted, including comments of the study, standards, dictionaries and codelists.
+ * Documents are counted from Origin (annotated CRF pages of variables and values), ARM, methods and comments.
+ */
+public class DefineReferences {
+
+	private Set<String> codelist_ids = new HashSet<>();
+	private Set<String> method_oids = new HashSet<>();
+	private Set<String> comment_oids = new HashSet<>();
+	private Set<String> document_ids = new HashSet<>();
+	private Set<DefineWCPk> where_clause_pks = new HashSet<>();
+
+	/**
+	 * @param define The model to be scanned
+	 * @param define_version Define-XML version such as "2.0.0" or "2.1.0"
+	 * @param include_arm true to add references from Analysis Results Metadata
+	 */
+	public DefineReferences(DefineModel define, String define_version, boolean include_arm) {
+		boolean is_v200 = "2.0.0".equals(define_version);
+
+		if (!is_v200) {
+			if (define.getStudy() != null) {
+				comment_oids.add(define.getStudy().comment_oid);
+			}
+			for (DefineStandardModel standard : define.listSortedStandard()) {
+				comment_oids.add(standard.comment_oid);
+			}
+			for (DefineDictionaryModel dictionary : define.listSortedDictionary()) {
+				comment_oids.add(dictionary.comment_oid);
+			}
+			for (DefineCodelistModel codelist : define.listSortedCodelist()) {
+				comment_oids.add(codelist.comment_oid);
+			}
+		}
+		for (DefineDatasetModel dataset : define.listSortedDataset()) {
+			if (is_v200 && dataset.has_no_data != null) {
+				continue;
+			}
+			comment_oids.add(dataset.comment_oid);
+		}
+		for (DefineVariableModel variable : define.listSortedVariable()) {
+			if (is_v200 && variable.has_no_data_derived != null) {
+				continue;
+			}
+			codelist_ids.add(variable.codelist);
+			codelist_ids.add(variable.role_codelist);
+			method_oids.add(variable.method_oid);
+			comment_oids.add(variable.comment_oid);
+			addOriginDocument(variable.crf_id, variable.crf_page_type);
+		}
+		for (DefineValueModel value : define.listSortedValue()) {
+			if (is_v200 && value.has_no_data_derived != null) {
+				continue;
+			}
+			codelist_ids.add(value.codelist);
+			method_oids.add(value.method_oid);
+			comment_oids.add(value.comment_oid);
+			addOriginDocument(value.crf_id, value.crf_page_type);
+			where_clause_pks.addAll(value.where_clause_pks);
+		}
+		if (include_arm) {
+			for (DefineARMDisplayModel display : define.listSortedARMDisplay()) {
+				addDocumentRefs(display.document_refs);
+			}
+			for (DefineARMResultModel result : define.listSortedARMResult()) {
+				comment_oids.add(result.dataset_comment_oid);
+				addDocumentRefs(result.docm_document_refs);
+				addDocumentRefs(result.prog_code_document_refs);
+			}
+			for (DefineARMDatasetModel arm_dataset : define.listSortedARMDataset()) {
+				where_clause_pks.add(arm_dataset.where_clause_pk);
+			}
+		}
+		for (DefineWCPk wc_pk : where_clause_pks) {
+			DefineWCModel wc = define.get(wc_pk);
+			if (wc != null) {
+				comment_oids.add(wc.comment_oid);
+			}
+		}
+		/* Documents are counted only from methods and comments that are referenced themselves. */
+		for (DefineMethodModel method : define.listSortedMethod()) {
+			if (method_oids.contains(method.oid)) {
+				addDocumentRefs(method.document_refs);
+			}
+		}
+		for (DefineCommentModel comment : define.listSortedComment()) {
+			if (comment_oids.contains(comment.oid)) {
+				addDocumentRefs(comment.document_refs);
+			}
+		}
+	}
+
+	/*
+	 * An Origin DocumentRef is written only when the page type is given, same as DefineXmlWriter2.
+	 */
+	private void addOriginDocument(String crf_id, String crf_page_type) {
+		if (StringUtils.isNotEmpty(crf_page_type) && StringUtils.isNotEmpty(crf_id)) {
+			document_ids.add(crf_id);
+		}
+	}
+
+	private void addDocumentRefs(List<DocumentRef> document_refs) {
+		if (document_refs == null) {
+			return;
+		}
+		for (DocumentRef document_ref : document_refs) {
+			if (StringUtils.isNotEmpty(document_ref.document_id)) {
+				document_ids.add(document_ref.document_id);
+			}
+		}
+	}
+
+	public boolean isCodelistReferenced(String codelist_id) {
+		return codelist_ids.contains(codelist_id);
+	}
+
+	public boolean isMethodReferenced(String method_oid) {
+		return method_oids.contains(method_oid);
+	}
+
+	public boolean isCommentReferenced(String comment_oid) {
+		return comment_oids.contains(comment_oid);
+	}
+
+	public boolean isDocumentReferenced(String document_id) {
+		return document_ids.contains(document_id);
+	}
+
+	public boolean isWhereClauseReferenced(DefineWCPk wc_pk) {
+		return where_clause_pks.contains(wc_pk);
+	}
+
+	public Set<String> getCodelistIds() {
+		return Collections.unmodifiableSet(codelist_ids);
+	}
+
+	public Set<String> getMethodOids() {
+		return Collections.unmodifiableSet(method_oids);
+	}
+
+	public Set<String> getCommentOids() {
+		return Collections.unmodifiableSet(comment_oids);
+	}
+
+	public Set<String> getDocumentIds() {
+		return Collections.unmodifiableSet(document_ids);
+	}
+
+	public Set<DefineWCPk> getWhereClausePks() {
+		return Collections.unmodifiableSet(where_clause_pks);
+	}
+}
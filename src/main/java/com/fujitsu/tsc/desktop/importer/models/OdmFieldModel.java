@@ -186,6 +186,9 @@ public class OdmFieldModel implements Comparable<OdmFieldModel> {
 	/** User Note 2 */
 	@ExcelColumn( name = "User Note 2" , ordinal = 35)
 	public String user_note2;
+	/** Distinct Values - number of distinct values in the source datasets, which is estimated for a large number */
+	@ExcelColumn( name = "Distinct Values" , ordinal = 36)
+	public String distinct_values;
 
 	public OdmFieldModel(OdmFieldPk key) {
 		this.form_id = key.form_id;
@@ -226,6 +229,7 @@ public class OdmFieldModel implements Comparable<OdmFieldModel> {
 		this.alias_name = "";
 		this.user_note1 = "";
 		this.user_note2 = "";
+		this.distinct_values = "";
 	}
 	
 	public OdmFieldPk getKey() {
@@ -275,6 +279,7 @@ public class OdmFieldModel implements Comparable<OdmFieldModel> {
 		new_field.alias_name = field.alias_name;
 		new_field.user_note1 = field.user_note1;
 		new_field.user_note2 = field.user_note2;
+		new_field.distinct_values = field.distinct_values;
 		return new_field;
 	}
 	
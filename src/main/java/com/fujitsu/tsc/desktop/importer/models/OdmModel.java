@@ -53,6 +53,8 @@ public class OdmModel {
 	private Map<OdmEventFormPk, OdmEventFormModel> map_odm_eventform;	//EVENTxFORM
 	private Map<OdmFormPk, OdmFormModel> map_odm_form;	//FORM
 	private Map<OdmFieldPk, OdmFieldModel> map_odm_field;	//FIELD
+	private Map<String, List<OdmFieldModel>> index_field_id;	//FIELD by field_id
+	private Map<String, List<OdmFieldModel>> index_itemgroup;	//FIELD rows of ItemGroups by item_group_oid
 	private Map<OdmCodelistPk, OdmCodelistModel> map_odm_codelist;	//CODELIST
 	private Map<OdmMethodPk, OdmMethodModel> map_odm_method;	//METHOD
 	private Map<OdmConditionPk, OdmConditionModel> map_odm_condition;	//CONDITION
@@ -66,6 +68,8 @@ public class OdmModel {
 		this.map_odm_eventform = new HashMap<>();
 		this.map_odm_form = new HashMap<>();
 		this.map_odm_field = new HashMap<>();
+		this.index_field_id = new HashMap<>();
+		this.index_itemgroup = new HashMap<>();
 		this.map_odm_codelist = new HashMap<>();
 		this.map_odm_method = new HashMap<>();
 		this.map_odm_condition = new HashMap<>();
@@ -178,35 +182,57 @@ public class OdmModel {
 	}
 	
 	public void put(OdmFieldPk key, OdmFieldModel field) {
-		this.map_odm_field.put(key, field);
+		OdmFieldModel old_field = this.map_odm_field.put(key, field);
+		if (old_field == null) {
+			addFieldIndex(field);
+		} else if (old_field != field) {
+			removeFieldIndex(old_field);
+			addFieldIndex(field);
+		}
 	}
 	
 	public OdmFieldModel get(OdmFieldPk key) {
 		return this.map_odm_field.get(key);
 	}
 	
+	/**
+	 * Return ItemGroup rows (field_id equals item_group_oid) of all forms.
+	 * The returned list is a copy, so the caller can put fields while iterating it.
+	 * @param item_group_oid
+	 * @return
+	 */
 	public List<OdmFieldModel> getItemGroupById(String item_group_oid) {
-		List<OdmFieldModel> rtn = new ArrayList<>();
-		Set<OdmFieldPk> keys = this.map_odm_field.keySet();
-		for (OdmFieldPk key : keys) {
-			OdmFieldModel itemgroup = this.map_odm_field.get(key);
-			if (itemgroup.field_id.equals(item_group_oid) && itemgroup.item_group_oid.equals(item_group_oid)) {
-				rtn.add(itemgroup);
-			}
-		}
-		return rtn;
+		List<OdmFieldModel> itemgroups = this.index_itemgroup.get(item_group_oid);
+		return itemgroups == null ? new ArrayList<>() : new ArrayList<>(itemgroups);
 	}
 	
+	/**
+	 * Return fields with the field_id in all forms and ItemGroups.
+	 * The returned list is a copy, so the caller can put fields while iterating it.
+	 * @param item_oid
+	 * @return
+	 */
 	public List<OdmFieldModel> getItemById(String item_oid) {
-		List<OdmFieldModel> rtn = new ArrayList<>();
-		Set<OdmFieldPk> keys = this.map_odm_field.keySet();
-		for (OdmFieldPk key : keys) {
-			OdmFieldModel item = this.map_odm_field.get(key);
-			if (item.field_id.equals(item_oid)) {
-				rtn.add(item);
-			}
+		List<OdmFieldModel> items = this.index_field_id.get(item_oid);
+		return items == null ? new ArrayList<>() : new ArrayList<>(items);
+	}
+	
+	private void addFieldIndex(OdmFieldModel field) {
+		this.index_field_id.computeIfAbsent(field.field_id, k -> new ArrayList<>()).add(field);
+		if (field.field_id.equals(field.item_group_oid)) {
+			this.index_itemgroup.computeIfAbsent(field.item_group_oid, k -> new ArrayList<>()).add(field);
+		}
+	}
+	
+	private void removeFieldIndex(OdmFieldModel field) {
+		List<OdmFieldModel> items = this.index_field_id.get(field.field_id);
+		if (items != null) {
+			items.remove(field);
+		}
+		List<OdmFieldModel> itemgroups = this.index_itemgroup.get(field.item_group_oid);
+		if (itemgroups != null) {
+			itemgroups.remove(field);
 		}
-		return rtn;
 	}
 	
 	/**
@@ -245,13 +271,15 @@ public class OdmModel {
 			if (!common_vars_set.contains(key.field_id)) {
 				String new_field_id = key.form_id + "." + key.field_id;
 				OdmFieldPk new_key = new OdmFieldPk(key.form_id, key.item_group_oid, new_field_id);
-				OdmFieldModel new_field = OdmFieldModel.clone(this.map_odm_field.get(key), new_key);
+				OdmFieldModel old_field = this.map_odm_field.get(key);
+				OdmFieldModel new_field = OdmFieldModel.clone(old_field, new_key);
 				iterator.remove();
+				removeFieldIndex(old_field);
 				new_fields_map.put(new_key, new_field);
 			}
 		}
 		for (OdmFieldPk key : new_fields_map.keySet()) {
-			this.map_odm_field.put(key, new_fields_map.get(key));
+			put(key, new_fields_map.get(key));
 		}
 	}
 	
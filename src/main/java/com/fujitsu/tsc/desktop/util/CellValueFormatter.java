@@ -0,0 +1,41 @@
+/* 
+ * Copyright (c) 2022 Fujitsu Limited. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0(the "License").
+ * You may obtain a copy of the License at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.fujitsu.tsc.desktop.util;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DataFormatter;
+
+/**
+ * This class formats cell values as strings in the same way as {@link DataFormatter#formatCellValue(Cell)}.
+ * A DataFormatter builds locale formats and caches while it is used, so one instance is kept per thread.
+ */
+public class CellValueFormatter {
+
+	private static final ThreadLocal<DataFormatter> formatter = ThreadLocal.withInitial(DataFormatter::new);
+
+	private CellValueFormatter() {
+	}
+
+	/**
+	 * Return the DataFormatter of the current thread. DataFormatter is not thread-safe, so do not share it with other threads.
+	 * @return
+	 */
+	public static DataFormatter getDataFormatter() {
+		return formatter.get();
+	}
+
+	/**
+	 * Format a cell value.
+	 * @param cell A cell, or null
+	 * @return An empty string for a null or blank cell
+	 */
+	public static String format(Cell cell) {
+		return formatter.get().formatCellValue(cell);
+	}
+}
@@ -8,9 +8,12 @@
 
 package com.fujitsu.tsc.desktop.util;
 
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.Properties;
 import java.util.stream.Stream;
 
@@ -53,6 +56,7 @@ public class Config {
 	public String e2dStylesheetLocation = "";
 	public String e2dDataSourceLocation = "";
 	public String e2dOutputLocation = "";
+	public int e2dThreads = 0;	//Number of E2D jobs of a batch run at the same time. 0 means the number of processors.
 	public String defineStudyTableName = "STUDY";
 	public String defineMethodTableName = "METHOD";
 	public String defineCommentTableName = "COMMENT";
@@ -72,6 +76,7 @@ public class Config {
 	public DataSourceType dataSourceType = DataSourceType.EXCEL;
 	public RunMode runMode;
 	public OidMode oidMode = OidMode.EXACT;
+	public boolean metricsJson = true;	//Write <output>.metrics.json next to the output of each conversion
 
 	/* Parameters of Import Define.xml */
 	public String d2eDefineVersion = "2.0.0";
@@ -108,6 +113,8 @@ public class Config {
 	public String o2eOdmVersion = "1.3.2";
 	public String o2eOdmLocation;
 	public String o2eOutputLocation;
+	public boolean o2eAllMetaDataVersions = false;	//Write a workbook per Study/MetaDataVersion
+	public int o2eThreads = 0;	//Number of workbooks written at the same time with o2eAllMetaDataVersions. 0 means the number of processors.
 
 	/* Parameters of Create CRF Spec from Datasets */
     public String crfArchitectLocation;
@@ -118,6 +125,7 @@ public class Config {
     public String crfDelimiter;
     public String crfTextQualifier = "\"";
     public String crfOutputLocation;
+	public int crfThreads = 0;	//Number of source files profiled at the same time. 0 means the number of processors.
 
 	/* Parameters of CreateEdtSpec */
     public String edtType = "Test Results (LAB Normalized)";
@@ -160,6 +168,28 @@ public class Config {
 	public Config() {
 	}
 
+	/**
+	 * Create a copy of the given config, so that a job can keep its parameters while the original is modified (e.g. by GUI panels).
+	 * All instance fields are public and copied; arrays are cloned.
+	 * @param config
+	 */
+	public Config(Config config) {
+		for (Field field : Config.class.getFields()) {
+			if (Modifier.isStatic(field.getModifiers())) {
+				continue;
+			}
+			try {
+				Object value = field.get(config);
+				if (value instanceof String[]) {
+					value = ((String[])value).clone();
+				}
+				field.set(this, value);
+			} catch (IllegalAccessException ex) {
+				//Not thrown for public fields.
+			}
+		}
+	}
+
 	public Config(Properties prop) {
 		try {
 			initConfig(prop);
@@ -187,6 +217,8 @@ public class Config {
 			e2dOutputLocation = prop.getProperty("e2dOutputLocation");
 		if (prop.getProperty("e2dIncludeResultMetadata", "").toUpperCase().equals("TRUE"))
 			e2dIncludeResultMetadata = true;
+		if (!prop.getProperty("e2dThreads", "").equals(""))
+			e2dThreads = NumberUtils.toInt(prop.getProperty("e2dThreads"), e2dThreads);
 		if (!prop.getProperty("defineStudyTableName", "").equals(""))
 			defineStudyTableName = prop.getProperty("defineStudyTableName");
 		if (!prop.getProperty("defineMethodTableName", "").equals(""))
@@ -213,6 +245,8 @@ public class Config {
 			defineCodelistTableName = prop.getProperty("defineCodelistTableName");
 		if (!prop.getProperty("valueDelimiter", "").equals(""))
 			valueDelimiter = prop.getProperty("valueDelimiter");
+		if (prop.getProperty("metricsJson", "").toUpperCase().equals("FALSE"))
+			metricsJson = false;
 
 		//Import Define-XML
 		if (!prop.getProperty("d2eDefineVersion", "").equals(""))
@@ -279,6 +313,10 @@ public class Config {
 			o2eOdmLocation = prop.getProperty("o2eOdmLocation");
 		if (!prop.getProperty("o2eOutputLocation", "").equals(""))
 			o2eOutputLocation = prop.getProperty("o2eOutputLocation");
+		if (prop.getProperty("o2eAllMetaDataVersions", "").toUpperCase().equals("TRUE"))
+			o2eAllMetaDataVersions = true;
+		if (!prop.getProperty("o2eThreads", "").equals(""))
+			o2eThreads = NumberUtils.toInt(prop.getProperty("o2eThreads"), o2eThreads);
 
 		// Create CRF Spec from Datasets
 		if (!prop.getProperty("crfArchitectLocation", "").equals(""))
@@ -300,6 +338,8 @@ public class Config {
 			crfTextQualifier = prop.getProperty("crfTextQualifier");
 		if (!prop.getProperty("crfOutputLocation", "").equals(""))
 			crfOutputLocation = prop.getProperty("crfOutputLocation");
+		if (!prop.getProperty("crfThreads", "").equals(""))
+			crfThreads = NumberUtils.toInt(prop.getProperty("crfThreads"), crfThreads);
 
 		// Create eDT Spec
 		if (!prop.getProperty("edtType", "").equals(""))
@@ -0,0 +1,461 @@
+/*
+ * Copyright (c) 2022 Fujitsu Limited. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0(the "License").
+ * You may obtain a copy of the License at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.fujitsu.tsc.desktop.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * This class records wall time, CPU time, allocated bytes and a row/element count per stage of a conversion.
+ * A conversion is bound to the current thread by {@link #begin(String, String)}, and stages are recorded by {@link #stage(String)}
+ * anywhere in the pipeline. When no conversion is bound, stages are not recorded.
+ * <pre>
+ * ConversionMetrics metrics = ConversionMetrics.begin("Excel to Define-XML", output);
+ * try (ConversionMetrics.Stage stage = ConversionMetrics.stage("Bind")) {
+ *     ...
+ *     stage.addCount(count);
+ * }
+ * XmlDocument xml_document = ConversionMetrics.time("Bind", () -&gt; writer.bind(define));
+ * metrics.finish();
+ * </pre>
+ * The last finished conversion is published to JMX as {@link #OBJECT_NAME}.
+ */
+public class ConversionMetrics {
+
+	private static Logger logger = LogManager.getLogger();
+	public static final String OBJECT_NAME = "com.fujitsu.tsc.desktop:type=ConversionMetrics";
+	private static final ThreadLocal<ConversionMetrics> current = new ThreadLocal<>();
+	private static final ThreadMXBean thread_bean = ManagementFactory.getThreadMXBean();
+	private static final Stage NO_STAGE = new Stage(null, "", 0);
+	private static final Publisher publisher = new Publisher();
+
+	static {
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(publisher, new ObjectName(OBJECT_NAME));
+		} catch (JMException | SecurityException ex) {
+			logger.warn("Conversion metrics are not published to JMX. " + ex.getMessage());
+		}
+	}
+
+	private String conversion;
+	private String output_location;
+	private Date start_date;
+	private List<Stage> stages = new ArrayList<>();
+	private Deque<Stage> open_stages = new ArrayDeque<>();
+	private boolean finished;
+
+	private ConversionMetrics(String conversion, String output_location) {
+		this.conversion = conversion;
+		this.output_location = output_location;
+		this.start_date = new Date();
+	}
+
+	/**
+	 * Start recording a conversion on the current thread. The whole conversion is recorded as the first stage "Total".
+	 * @param conversion Name of the conversion (e.g. "Excel to Define-XML")
+	 * @param output_location Output file of the conversion
+	 * @return
+	 */
+	public static ConversionMetrics begin(String conversion, String output_location) {
+		ConversionMetrics metrics = new ConversionMetrics(conversion, output_location);
+		current.set(metrics);
+		metrics.open("Total");
+		return metrics;
+	}
+
+	/**
+	 * Start a stage of the conversion bound to the current thread. The stage is nested in the stage that is open.
+	 * @param name Stage name
+	 * @return A stage to be closed at the end of the stage
+	 */
+	public static Stage stage(String name) {
+		ConversionMetrics metrics = current.get();
+		if (metrics == null) {
+			return NO_STAGE;
+		}
+		return metrics.open(name);
+	}
+
+	/**
+	 * Run a task as a stage of the conversion bound to the current thread. The stage is closed even if the task throws an exception.
+	 * @param name Stage name
+	 * @param task
+	 * @return Result of the task
+	 * @throws E Exception thrown by the task
+	 */
+	public static <T, E extends Exception> T time(String name, StageTask<T, E> task) throws E {
+		Stage stage = stage(name);
+		try {
+			return task.call();
+		} finally {
+			stage.close();
+		}
+	}
+
+	/**
+	 * Run an action as a stage of the conversion bound to the current thread. The stage is closed even if the action throws an exception.
+	 * @param name Stage name
+	 * @param action
+	 * @throws E Exception thrown by the action
+	 */
+	public static <E extends Exception> void time(String name, StageAction<E> action) throws E {
+		Stage stage = stage(name);
+		try {
+			action.run();
+		} finally {
+			stage.close();
+		}
+	}
+
+	/**
+	 * Add rows or elements processed to the innermost open stage.
+	 * @param count
+	 */
+	public static void addCount(long count) {
+		ConversionMetrics metrics = current.get();
+		if (metrics != null && !metrics.open_stages.isEmpty()) {
+			metrics.open_stages.peek().count += count;
+		}
+	}
+
+	private Stage open(String name) {
+		Stage stage = new Stage(this, name, open_stages.size());
+		stages.add(stage);
+		open_stages.push(stage);
+		return stage;
+	}
+
+	/**
+	 * Close all open stages, unbind the conversion from the current thread, and publish it to JMX.
+	 * Calling this method again does nothing, so it can also be called in a finally block.
+	 * @return this
+	 */
+	public ConversionMetrics finish() {
+		if (finished) {
+			return this;
+		}
+		finished = true;
+		while (!open_stages.isEmpty()) {
+			open_stages.peek().close();
+		}
+		if (current.get() == this) {
+			current.remove();
+		}
+		publisher.publish(this);
+		return this;
+	}
+
+	public String getConversion() {
+		return conversion;
+	}
+
+	public String getOutputLocation() {
+		return output_location;
+	}
+
+	public List<Stage> getStages() {
+		return Collections.unmodifiableList(stages);
+	}
+
+	/**
+	 * Return the summary as a text table, one line per stage.
+	 * @return
+	 */
+	public String toTable() {
+		StringBuilder builder = new StringBuilder();
+		builder.append(String.format("%-40s %12s %12s %12s %10s", "Stage", "Wall (ms)", "CPU (ms)", "Alloc (MB)", "Count"));
+		for (Stage stage : stages) {
+			builder.append(System.lineSeparator());
+			String name = stage.name;
+			for (int i = 0; i < stage.depth; i++) {
+				name = "  " + name;
+			}
+			builder.append(String.format("%-40s %12.1f %12s %12s %10s", name, stage.getWallTimeMillis(),
+					stage.cpu_time < 0 ? "-" : String.format("%.1f", stage.getCpuTimeMillis()),
+					stage.allocated_bytes < 0 ? "-" : String.format("%.1f", stage.allocated_bytes / 1048576.0),
+					stage.count == 0 ? "" : String.valueOf(stage.count)));
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Return the summary as a JSON object. CPU time and allocated bytes are -1 when the JVM does not support them.
+	 * @return
+	 */
+	public String toJson() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("{").append(System.lineSeparator());
+		builder.append("  \"conversion\": ").append(quote(conversion)).append(",").append(System.lineSeparator());
+		builder.append("  \"output\": ").append(quote(output_location)).append(",").append(System.lineSeparator());
+		builder.append("  \"started\": ").append(quote(new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX").format(start_date))).append(",").append(System.lineSeparator());
+		builder.append("  \"stages\": [");
+		for (int i = 0; i < stages.size(); i++) {
+			Stage stage = stages.get(i);
+			builder.append(i == 0 ? "" : ",").append(System.lineSeparator());
+			builder.append("    {\"name\": ").append(quote(stage.name))
+					.append(", \"depth\": ").append(stage.depth)
+					.append(", \"wall_ms\": ").append(String.format(Locale.ROOT, "%.3f", stage.getWallTimeMillis()))
+					.append(", \"cpu_ms\": ").append(stage.cpu_time < 0 ? "-1" : String.format(Locale.ROOT, "%.3f", stage.getCpuTimeMillis()))
+					.append(", \"allocated_bytes\": ").append(stage.allocated_bytes)
+					.append(", \"count\": ").append(stage.count).append("}");
+		}
+		builder.append(System.lineSeparator()).append("  ]").append(System.lineSeparator());
+		builder.append("}").append(System.lineSeparator());
+		return builder.toString();
+	}
+
+	/**
+	 * Write the JSON summary next to the output file as "&lt;output&gt;.metrics.json".
+	 * @return The file written, or null if the conversion has no output location
+	 * @throws IOException
+	 */
+	public File writeJson() throws IOException {
+		if (output_location == null || output_location.isEmpty()) {
+			return null;
+		}
+		File file = new File(output_location + ".metrics.json");
+		try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+			writer.write(toJson());
+		}
+		return file;
+	}
+
+	/**
+	 * Log the summary table, and write the JSON summary next to the output file if requested.
+	 * @param logger Logger of the caller, so that the table is shown where the conversion log is shown (e.g. result panels)
+	 * @param write_json
+	 */
+	public void report(Logger logger, boolean write_json) {
+		logger.info("Conversion summary:" + System.lineSeparator() + toTable());
+		if (write_json) {
+			try {
+				File file = writeJson();
+				if (file != null) {
+					logger.info("Conversion metrics have been written to " + file.getPath());
+				}
+			} catch (IOException ex) {
+				logger.warn("Conversion metrics could not be written. " + ex.getMessage());
+			}
+		}
+	}
+
+	private static String quote(String str) {
+		if (str == null) {
+			return "null";
+		}
+		StringBuilder builder = new StringBuilder(str.length() + 2).append('"');
+		for (int i = 0; i < str.length(); i++) {
+			char c = str.charAt(i);
+			if (c == '"' || c == '\\') {
+				builder.append('\\').append(c);
+			} else if (c < 0x20) {
+				builder.append(String.format("\\u%04x", (int)c));
+			} else {
+				builder.append(c);
+			}
+		}
+		return builder.append('"').toString();
+	}
+
+	private static long currentThreadAllocatedBytes() {
+		if (thread_bean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean)thread_bean;
+			if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+				return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+		return -1;
+	}
+
+	private static long currentThreadCpuTime() {
+		if (thread_bean.isCurrentThreadCpuTimeSupported() && thread_bean.isThreadCpuTimeEnabled()) {
+			return thread_bean.getCurrentThreadCpuTime();
+		}
+		return -1;
+	}
+
+	/**
+	 * A task of {@link ConversionMetrics#time(String, StageTask)}, which can throw a checked exception.
+	 */
+	@FunctionalInterface
+	public interface StageTask<T, E extends Exception> {
+		T call() throws E;
+	}
+
+	/**
+	 * An action of {@link ConversionMetrics#time(String, StageAction)}, which can throw a checked exception.
+	 */
+	@FunctionalInterface
+	public interface StageAction<E extends Exception> {
+		void run() throws E;
+	}
+
+	/**
+	 * A stage of a conversion. Measurement starts when the stage is created and ends when it is closed.
+	 */
+	public static class Stage implements AutoCloseable {
+		private ConversionMetrics metrics;
+		private String name;
+		private int depth;
+		private long start_wall_time;
+		private long start_cpu_time;
+		private long start_allocated_bytes;
+		private long wall_time;
+		private long cpu_time;
+		private long allocated_bytes;
+		private long count;
+		private boolean closed;
+
+		private Stage(ConversionMetrics metrics, String name, int depth) {
+			this.metrics = metrics;
+			this.name = name;
+			this.depth = depth;
+			this.start_allocated_bytes = currentThreadAllocatedBytes();
+			this.start_cpu_time = currentThreadCpuTime();
+			this.start_wall_time = System.nanoTime();
+		}
+
+		/**
+		 * Add rows or elements processed in this stage.
+		 * @param count
+		 */
+		public void addCount(long count) {
+			this.count += count;
+		}
+
+		/**
+		 * End the stage. Stages nested in this stage and still open are closed together.
+		 */
+		@Override
+		public void close() {
+			if (metrics == null || closed) {
+				return;
+			}
+			while (!metrics.open_stages.isEmpty()) {
+				Stage stage = metrics.open_stages.pop();
+				stage.end();
+				if (stage == this) {
+					break;
+				}
+			}
+		}
+
+		private void end() {
+			this.wall_time = System.nanoTime() - start_wall_time;
+			long cpu_time = currentThreadCpuTime();
+			this.cpu_time = (cpu_time < 0 || start_cpu_time < 0) ? -1 : cpu_time - start_cpu_time;
+			long allocated_bytes = currentThreadAllocatedBytes();
+			this.allocated_bytes = (allocated_bytes < 0 || start_allocated_bytes < 0) ? -1 : allocated_bytes - start_allocated_bytes;
+			this.closed = true;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public int getDepth() {
+			return depth;
+		}
+
+		public double getWallTimeMillis() {
+			return wall_time / 1000000.0;
+		}
+
+		public double getCpuTimeMillis() {
+			return cpu_time < 0 ? -1 : cpu_time / 1000000.0;
+		}
+
+		public long getAllocatedBytes() {
+			return allocated_bytes;
+		}
+
+		public long getCount() {
+			return count;
+		}
+
+		/**
+		 * @return Measured values of this stage in one line, e.g. "Wall: 12.3 ms, CPU: 11.0 ms, Allocated: 1.2 MB, Count: 100"
+		 */
+		@Override
+		public String toString() {
+			StringBuilder builder = new StringBuilder();
+			builder.append(String.format("Wall: %.1f ms", getWallTimeMillis()));
+			if (cpu_time >= 0) {
+				builder.append(String.format(", CPU: %.1f ms", getCpuTimeMillis()));
+			}
+			if (allocated_bytes >= 0) {
+				builder.append(String.format(", Allocated: %.1f MB", allocated_bytes / 1048576.0));
+			}
+			if (count != 0) {
+				builder.append(", Count: ").append(count);
+			}
+			return builder.toString();
+		}
+	}
+
+	private static class Publisher implements ConversionMetricsMXBean {
+		private volatile ConversionMetrics last;
+		private AtomicLong conversion_count = new AtomicLong();
+
+		void publish(ConversionMetrics metrics) {
+			this.last = metrics;
+			conversion_count.incrementAndGet();
+		}
+
+		@Override
+		public long getConversionCount() {
+			return conversion_count.get();
+		}
+
+		@Override
+		public String getLastConversion() {
+			ConversionMetrics metrics = last;
+			return metrics == null ? null : metrics.getConversion();
+		}
+
+		@Override
+		public String getLastOutputLocation() {
+			ConversionMetrics metrics = last;
+			return metrics == null ? null : metrics.getOutputLocation();
+		}
+
+		@Override
+		public List<Stage> getLastStages() {
+			ConversionMetrics metrics = last;
+			return metrics == null ? Collections.emptyList() : metrics.getStages();
+		}
+
+		@Override
+		public String getLastSummaryJson() {
+			ConversionMetrics metrics = last;
+			return metrics == null ? null : metrics.toJson();
+		}
+	}
+}
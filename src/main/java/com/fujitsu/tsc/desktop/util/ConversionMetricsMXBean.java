@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2022 Fujitsu Limited. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0(the "License").
+ * You may obtain a copy of the License at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.fujitsu.tsc.desktop.util;
+
+import java.util.List;
+
+/**
+ * This is a JMX interface to the last conversion recorded by {@link ConversionMetrics}.
+ */
+public interface ConversionMetricsMXBean {
+
+	/**
+	 * @return Number of conversions finished in this JVM
+	 */
+	public long getConversionCount();
+
+	public String getLastConversion();
+
+	public String getLastOutputLocation();
+
+	public List<ConversionMetrics.Stage> getLastStages();
+
+	public String getLastSummaryJson();
+}
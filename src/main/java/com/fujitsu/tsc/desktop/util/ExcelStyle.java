@@ -10,21 +10,24 @@ package com.fujitsu.tsc.desktop.util;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.DataFormat;
 import org.apache.poi.ss.usermodel.FillPatternType;
 import org.apache.poi.ss.usermodel.FontFamily;
 import org.apache.poi.ss.usermodel.HorizontalAlignment;
 import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.VerticalAlignment;
-import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFFont;
-import org.apache.poi.xssf.usermodel.XSSFRow;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 public class ExcelStyle {
 
+	/** Number of rows kept in memory per sheet when a workbook is written with SXSSFWorkbook */
+	public static final int ROW_ACCESS_WINDOW_SIZE = 100;
 	private final int COEFFICIENT_WIDTH = 265;
 	private Config config;
 	private CellStyle style_lightyellow;
@@ -38,6 +41,13 @@ public class ExcelStyle {
 	private XSSFFont font_white;
 	private XSSFFont font_black;
 
+	/**
+	 * Styles are created in the underlying XSSFWorkbook and can be used for the streaming sheets.
+	 */
+	public ExcelStyle(SXSSFWorkbook wb, Config config) {
+		this(wb.getXSSFWorkbook(), config);
+	}
+
 	public ExcelStyle(XSSFWorkbook wb, Config config) {
 
 		this.config = config;
@@ -168,189 +178,216 @@ public class ExcelStyle {
 		style_lightgreen.setWrapText(true);
 	}
 
-	public XSSFSheet setStyleSheet_FreeStyle(XSSFSheet sheet, CellStyle[] styles) {
-		XSSFRow topOfRow = sheet.getRow(0);
-		for (int x=0; x < styles.length; x++) {
-			for (int y=1; y < sheet.getLastRowNum() + 1; y++) {	// Header(+1)
-				XSSFRow row = sheet.getRow(y);
-				XSSFCell cell = row.getCell(x);
-				if (cell == null) {
-					cell = row.createCell(x);
-				}
-				cell.setCellStyle(styles[x]);
+	/**
+	 * Create a header row. Header cells get the dark red header style of the sheets.
+	 * @param sheet
+	 * @param header Column names
+	 * @param styles Data cell styles per column. Columns within this array get the header style.
+	 * @return
+	 */
+	public Row createHeaderRow(Sheet sheet, String[] header, CellStyle[] styles) {
+		Row row = sheet.createRow(0);
+		for (int i = 0; i < Math.max(header.length, styles.length); i++) {
+			Cell cell = row.createCell(i);
+			if (i < header.length) {
+				cell.setCellValue(header[i]);
 			}
-			XSSFCell topCell = topOfRow.getCell(x);
-			if (topCell == null) {
-				topCell = topOfRow.createCell(x);
+			if (i < styles.length) {
+				cell.setCellStyle(style_darkred);
 			}
-			topCell.setCellStyle(style_darkred);
 		}
-		return sheet;
+		return row;
+	}
+
+	/**
+	 * Create a data row with styles applied at cell creation, so that no styling pass over the sheet is needed afterwards.
+	 * @param sheet
+	 * @param row_num Row number starting from 0
+	 * @param data Cell values
+	 * @param styles Cell styles per column
+	 * @return
+	 */
+	public Row createDataRow(Sheet sheet, int row_num, String[] data, CellStyle[] styles) {
+		Row row = sheet.createRow(row_num);
+		for (int i = 0; i < Math.max(data.length, styles.length); i++) {
+			Cell cell = row.createCell(i);
+			if (i < data.length) {
+				cell.setCellValue(data[i]);
+			}
+			if (i < styles.length) {
+				cell.setCellStyle(styles[i]);
+			}
+		}
+		return row;
 	}
 
-	public XSSFSheet setStyleOdm_StudySheet(XSSFSheet sheet) {
+	public CellStyle[] getStylesOdm_StudySheet() {
 		CellStyle[] cellStyle = new CellStyle[]{
 				style_gray,
 				style_white
 		};
-		return setStyleSheet_FreeStyle(sheet, cellStyle);
+		return cellStyle;
 	}
 
-	public XSSFSheet setStyleOdm_UnitSheet(XSSFSheet sheet) {
+	public CellStyle[] getStylesOdm_UnitSheet() {
 		CellStyle[] cellStyle = new CellStyle[8];
 
 		for(int i = 0; i < cellStyle.length; cellStyle[i] = style_white, i++);
-		return setStyleSheet_FreeStyle(sheet, cellStyle);
+		return cellStyle;
 	}
 	
-	public XSSFSheet setStyleOdm_EventSheet(XSSFSheet sheet) {
+	public CellStyle[] getStylesOdm_EventSheet() {
 		CellStyle[] cellStyle = new CellStyle[13];
 
 		for(int i = 0; i < cellStyle.length; cellStyle[i] = style_white, i++);
-		return setStyleSheet_FreeStyle(sheet, cellStyle);
+		return cellStyle;
 	}
 
-	public XSSFSheet setStyleOdm_EventFormSheet(XSSFSheet sheet) {
+	public CellStyle[] getStylesOdm_EventFormSheet() {
 		CellStyle[] cellStyle = new CellStyle[6];
 
 		for(int i = 0; i < cellStyle.length; cellStyle[i] = style_white, i++);
-		return setStyleSheet_FreeStyle(sheet, cellStyle);
+		return cellStyle;
 	}
 
-	public XSSFSheet setStyleOdm_FormSheet(XSSFSheet sheet) {
+	public CellStyle[] getStylesOdm_FormSheet() {
 		CellStyle[] cellStyle = new CellStyle[10];
 
 		for(int i = 0; i < cellStyle.length; cellStyle[i] = style_white, i++);
-		return setStyleSheet_FreeStyle(sheet, cellStyle);
+		return cellStyle;
 	}
 
-	public XSSFSheet setStyleOdm_FieldSheet(XSSFSheet sheet) {
+	public CellStyle[] getStylesOdm_FieldSheet() {
 		CellStyle[] cellStyle = new CellStyle[35];
 
 		for(int i = 0; i < cellStyle.length; cellStyle[i] = style_white, i++);
-		return setStyleSheet_FreeStyle(sheet, cellStyle);
+		return cellStyle;
 	}
 
-	public XSSFSheet setStyleOdm_CodelistSheet(XSSFSheet sheet) {
+	public CellStyle[] getStylesOdm_CodelistSheet() {
 		CellStyle[] cellStyle = new CellStyle[17];
 
 		for(int i = 0; i < cellStyle.length; cellStyle[i] = style_white, i++);
-		return setStyleSheet_FreeStyle(sheet, cellStyle);
+		return cellStyle;
 	}
 
-	public XSSFSheet setStyleOdm_MethodSheet(XSSFSheet sheet) {
+	public CellStyle[] getStylesOdm_MethodSheet() {
 		CellStyle[] cellStyle = new CellStyle[11];
 
 		for(int i = 0; i < cellStyle.length; cellStyle[i] = style_white, i++);
-		return setStyleSheet_FreeStyle(sheet, cellStyle);
+		return cellStyle;
 	}
 
-	public XSSFSheet setStyleOdm_ConditionSheet(XSSFSheet sheet) {
+	public CellStyle[] getStylesOdm_ConditionSheet() {
 		CellStyle[] cellStyle = new CellStyle[10];
 
 		for(int i = 0; i < cellStyle.length; cellStyle[i] = style_white, i++);
-		return setStyleSheet_FreeStyle(sheet, cellStyle);
+		return cellStyle;
 	}
 
-	public XSSFSheet setStyleOdm_EdcKeysSheet(XSSFSheet sheet) {
+	public CellStyle[] getStylesOdm_EdcKeysSheet() {
 		CellStyle[] cellStyle = new CellStyle[]{
 				style_gray,
 				style_white
 		};
-		return setStyleSheet_FreeStyle(sheet, cellStyle);
+		return cellStyle;
 	}
 
-	public XSSFSheet setStyleDefine_StudySheet(XSSFSheet sheet) {
+	public CellStyle[] getStylesDefine_StudySheet() {
 		CellStyle[] cellStyle = new CellStyle[]{
 				style_gray,
 				style_white
 		};
-		return setStyleSheet_FreeStyle(sheet, cellStyle);
+		return cellStyle;
 	}
 
-	public XSSFSheet setStyleDefine_StandardSheet(XSSFSheet sheet) {
+	public CellStyle[] getStylesDefine_StandardSheet() {
 		CellStyle[] cellStyle = new CellStyle[16];
 
 		for(int i = 0; i < cellStyle.length; cellStyle[i] = style_white, i++);
-		return setStyleSheet_FreeStyle(sheet, cellStyle);
+		return cellStyle;
 	}
 
-	public XSSFSheet setStyleDefine_DocumentSheet(XSSFSheet sheet) {
+	public CellStyle[] getStylesDefine_DocumentSheet() {
 		CellStyle[] cellStyle = new CellStyle[6];
 
 		for(int i = 0; i < cellStyle.length; cellStyle[i] = style_white, i++);
-		return setStyleSheet_FreeStyle(sheet, cellStyle);
+		return cellStyle;
 	}
 
-	public XSSFSheet setStyleDefine_DatasetSheet(XSSFSheet sheet) {
+	public CellStyle[] getStylesDefine_DatasetSheet() {
 		CellStyle[] cellStyle = new CellStyle[27];
 
 		for(int i = 0; i < cellStyle.length; cellStyle[i] = style_white, i++);
-		return setStyleSheet_FreeStyle(sheet, cellStyle);
+		return cellStyle;
 	}
 
-	public XSSFSheet setStyleDefine_VariableSheet(XSSFSheet sheet) {
+	public CellStyle[] getStylesDefine_VariableSheet() {
 		CellStyle[] cellStyle = new CellStyle[46];
 
 		for(int i = 0; i < cellStyle.length; cellStyle[i] = style_white, i++);
-		return setStyleSheet_FreeStyle(sheet, cellStyle);
+		return cellStyle;
 	}
 
-	public XSSFSheet setStyleDefine_ValueSheet(XSSFSheet sheet) {
+	public CellStyle[] getStylesDefine_ValueSheet() {
 		CellStyle[] cellStyle = new CellStyle[47];
 
 		for(int i = 0; i < cellStyle.length; cellStyle[i] = style_white, i++);
-		return setStyleSheet_FreeStyle(sheet, cellStyle);
+		return cellStyle;
 	}
 
-	public XSSFSheet setStyleDefine_Result1Sheet(XSSFSheet sheet) {
+	public CellStyle[] getStylesDefine_Result1Sheet() {
 		CellStyle[] cellStyle = new CellStyle[38];
 
 		for(int i = 0; i < cellStyle.length; cellStyle[i] = style_white, i++);
-		return setStyleSheet_FreeStyle(sheet, cellStyle);
+		return cellStyle;
 	}
 
-	public XSSFSheet setStyleDefine_Result2Sheet(XSSFSheet sheet) {
+	public CellStyle[] getStylesDefine_Result2Sheet() {
 		CellStyle[] cellStyle = new CellStyle[13];
 
 		for(int i = 0; i < cellStyle.length; cellStyle[i] = style_white, i++);
-		return setStyleSheet_FreeStyle(sheet, cellStyle);
+		return cellStyle;
 	}
 
-	public XSSFSheet setStyleDefine_DictionarySheet(XSSFSheet sheet) {
+	public CellStyle[] getStylesDefine_DictionarySheet() {
 		CellStyle[] cellStyle = new CellStyle[17];
 
 		for(int i = 0; i < cellStyle.length; cellStyle[i] = style_white, i++);
-		return setStyleSheet_FreeStyle(sheet, cellStyle);
+		return cellStyle;
 	}
 
-	public XSSFSheet setStyleDefine_MethodSheet(XSSFSheet sheet) {
+	public CellStyle[] getStylesDefine_MethodSheet() {
 		CellStyle[] cellStyle = new CellStyle[15];
 
 		for(int i = 0; i < cellStyle.length; cellStyle[i] = style_white, i++);
-		return setStyleSheet_FreeStyle(sheet, cellStyle);
+		return cellStyle;
 	}
 
-	public XSSFSheet setStyleDefine_CommentSheet(XSSFSheet sheet) {
+	public CellStyle[] getStylesDefine_CommentSheet() {
 		CellStyle[] cellStyle = new CellStyle[11];
 
 		for(int i = 0; i < cellStyle.length; cellStyle[i] = style_white, i++);
-		return setStyleSheet_FreeStyle(sheet, cellStyle);
+		return cellStyle;
 	}
 
-	public XSSFSheet setStyleDefine_CodelistSheet(XSSFSheet sheet) {
+	public CellStyle[] getStylesDefine_CodelistSheet() {
 		CellStyle[] cellStyle = new CellStyle[27];
 
 		for(int i = 0; i < cellStyle.length; cellStyle[i] = style_white, i++);
-		return setStyleSheet_FreeStyle(sheet, cellStyle);
+		return cellStyle;
 	}
 
-	public XSSFSheet setColumnWidth(XSSFSheet sheet) {
+	/**
+	 * Set column widths based on the header row. Call this method right after the header row is created,
+	 * because rows of a streaming sheet are flushed as data rows are added.
+	 */
+	public Sheet setColumnWidth(Sheet sheet) {
 
 		String sheet_name = sheet.getSheetName();
-		XSSFRow column = sheet.getRow(0);
+		Row column = sheet.getRow(0);
 		for (int i = 0; i < column.getLastCellNum(); i++) {
-			XSSFCell cell = column.getCell(i);
+			Cell cell = column.getCell(i);
 			if (cell == null) {
 				continue;
 			}
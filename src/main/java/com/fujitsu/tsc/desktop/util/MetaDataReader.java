@@ -19,6 +19,9 @@ public interface MetaDataReader {
 	
 	Hashtable<String, String> read();
 	Hashtable<String, String> read(String tableName);
+	/* Index based access without creating a Hashtable per row. The returned array must not be modified. */
+	String[] readRow();
+	int getColumnIndex(String columnName);
 // Changed for v1.1.0 - now MetaDataReader allows a WhereClause array.
 // MetaDataReader connects multiple WhereClauses as logical AND.
 //	void setTable(String tableName, WhereClause clause) throws TableNotFoundException;
@@ -0,0 +1,177 @@
+/* 
+ * Copyright (c) 2022 Fujitsu Limited. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0(the "License").
+ * You may obtain a copy of the License at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.fujitsu.tsc.desktop.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.xml.XMLConstants;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.xml.sax.SAXException;
+
+/**
+ * This class compiles XML schemas once and shares them in the session.
+ * A compiled {@link Schema} is immutable and thread-safe, so the same instance can be used by multiple parsers.
+ */
+public class SchemaRegistry {
+	private static Logger logger = LogManager.getLogger();
+
+	public enum Mode {HARD, SOFT}
+
+	private static final Map<String, Schema> resource_schemas = new HashMap<>();
+	private static final Map<String, CachedSchema> file_schemas = new HashMap<>();
+
+	private SchemaRegistry() {
+	}
+
+	/**
+	 * Return the bundled Define-XML schema (including the ARM extension).
+	 * @param define_version "2.0.0" or "2.1.n"
+	 * @param mode Hard validation uses the XML namespace schema only.
+	 * @return
+	 * @throws SAXException
+	 */
+	public static Schema getDefineSchema(String define_version, Mode mode) throws SAXException {
+		if (mode == Mode.HARD) {
+			return getResourceSchema("schema/xml/xml.xsd");
+		} else if ("2.1.n".equals(define_version)) {
+			return getResourceSchema("schema/2.1.n/cdisc-arm-1.0/arm1-0-0.xsd");
+		} else {
+			return getResourceSchema("schema/2.0.0/cdisc-arm-1.0/arm1-0-0.xsd");
+		}
+	}
+
+	/**
+	 * Return the bundled ODM 1.3.2 schema.
+	 * @param mode
+	 * @return
+	 * @throws SAXException
+	 */
+	public static Schema getOdmSchema(Mode mode) throws SAXException {
+		if (mode == Mode.HARD) {
+			return getResourceSchema("schema/hard/cdisc-odm-1.3.2/ODM1-3-2.xsd");
+		} else {
+			return getResourceSchema("schema/soft/cdisc-odm-1.3.2/ODM1-3-2.xsd");
+		}
+	}
+
+	/**
+	 * Return a schema bundled in the class path, e.g. "schema/soft/cdisc-odm-1.3.2/ODM1-3-2.xsd".
+	 * @param resource_path
+	 * @return
+	 * @throws SAXException
+	 */
+	public static synchronized Schema getResourceSchema(String resource_path) throws SAXException {
+		Schema schema = resource_schemas.get(resource_path);
+		if (schema == null) {
+			URL url = SchemaRegistry.class.getClassLoader().getResource(resource_path);
+			if (url == null) {
+				throw new SAXException("The schema " + resource_path + " is not found.");
+			}
+			logger.debug("Compiling " + resource_path);
+			schema = newSchemaFactory().newSchema(url);
+			resource_schemas.put(resource_path, schema);
+		}
+		return schema;
+	}
+
+	/**
+	 * Return a schema file selected by a user. The schema is compiled again when the file
+	 * or a local file included or imported by it has been updated.
+	 * @param file
+	 * @return
+	 * @throws SAXException
+	 * @throws IOException
+	 */
+	public static synchronized Schema getFileSchema(File file) throws SAXException, IOException {
+		String path = file.getCanonicalPath();
+		CachedSchema cached = file_schemas.get(path);
+		if (cached == null || cached.isModified()) {
+			logger.debug("Compiling " + path);
+			Map<File, Long> last_modified = new LinkedHashMap<>();
+			last_modified.put(file, file.lastModified());
+			SchemaFactory factory = newSchemaFactory();
+			/* Record the local files of xs:include/xs:import/xs:redefine. Returning null keeps the default resolution. */
+			factory.setResourceResolver((type, namespace_uri, public_id, system_id, base_uri) -> {
+				File included = toFile(system_id, base_uri);
+				if (included != null) {
+					last_modified.put(included, included.lastModified());
+				}
+				return null;
+			});
+			cached = new CachedSchema(factory.newSchema(file), last_modified);
+			file_schemas.put(path, cached);
+		}
+		return cached.schema;
+	}
+
+	/* Return the local file of a schema location, or null if it is not a file. */
+	private static File toFile(String system_id, String base_uri) {
+		if (system_id == null) {
+			return null;
+		}
+		try {
+			/* schemaLocation is not always escaped, e.g. "sub dir/sub.xsd". */
+			URI uri = new URI(system_id.replace(" ", "%20"));
+			if (base_uri != null) {
+				uri = new URI(base_uri.replace(" ", "%20")).resolve(uri);
+			}
+			if ("file".equalsIgnoreCase(uri.getScheme())) {
+				return new File(uri);
+			}
+		} catch (URISyntaxException | IllegalArgumentException ex) {
+			logger.debug("Unresolved schema location " + system_id);
+		}
+		return null;
+	}
+
+	/**
+	 * Discard all compiled schemas.
+	 */
+	public static synchronized void clear() {
+		resource_schemas.clear();
+		file_schemas.clear();
+	}
+
+	/* SchemaFactory is not thread-safe, so a new one is created for each compilation. */
+	private static SchemaFactory newSchemaFactory() throws SAXException {
+		SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+		Utils.setSchemaFactorySecureFeatures(factory);
+		return factory;
+	}
+
+	private static class CachedSchema {
+		Schema schema;
+		Map<File, Long> last_modified;
+
+		CachedSchema(Schema schema, Map<File, Long> last_modified) {
+			this.schema = schema;
+			this.last_modified = last_modified;
+		}
+
+		boolean isModified() {
+			for (Map.Entry<File, Long> entry : last_modified.entrySet()) {
+				if (entry.getKey().lastModified() != entry.getValue()) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+}
@@ -0,0 +1,118 @@
+/* 
+ * Copyright (c) 2022 Fujitsu Limited. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0(the "License").
+ * You may obtain a copy of the License at
+ * https://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package com.fujitsu.tsc.desktop.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * This class compiles XSL stylesheets once and shares them in the session.
+ * A compiled {@link Templates} is thread-safe, while a Transformer is created for each transformation.
+ */
+public class StylesheetRegistry {
+	private static Logger logger = LogManager.getLogger();
+
+	private static final Map<String, CachedTemplates> templates_map = new HashMap<>();
+
+	private StylesheetRegistry() {
+	}
+
+	/**
+	 * Return a compiled stylesheet. The stylesheet is compiled again when the file has been updated.
+	 * @param xsl Stylesheet file
+	 * @return
+	 * @throws TransformerException
+	 * @throws IOException
+	 */
+	public static synchronized Templates getTemplates(File xsl) throws TransformerException, IOException {
+		String path = xsl.getCanonicalPath();
+		long last_modified = xsl.lastModified();
+		CachedTemplates cached = templates_map.get(path);
+		if (cached == null || cached.last_modified != last_modified) {
+			logger.debug("Compiling " + path);
+			/* TransformerFactory is not thread-safe, so a new one is created for each compilation. */
+			TransformerFactory factory = TransformerFactory.newInstance();
+			Utils.setTransformerFactorySecureFeatures(factory);
+			cached = new CachedTemplates(factory.newTemplates(new StreamSource(xsl)), last_modified);
+			templates_map.put(path, cached);
+		}
+		return cached.templates;
+	}
+
+	/**
+	 * Transform an XML file with a stylesheet.
+	 * @param xsl Stylesheet file
+	 * @param xml XML file
+	 * @param output Output file
+	 * @throws TransformerException
+	 * @throws IOException
+	 */
+	public static void transform(File xsl, File xml, File output) throws TransformerException, IOException {
+		getTemplates(xsl).newTransformer().transform(new StreamSource(xml), new StreamResult(output));
+	}
+
+	/**
+	 * Transform all XML files (*.xml) in a folder with the same compiled stylesheet.
+	 * Each output file is named after the XML file with the extension .html.
+	 * @param xsl Stylesheet file
+	 * @param xml_dir A folder that contains XML files
+	 * @param output_dir Output folder
+	 * @return Created files
+	 * @throws TransformerException
+	 * @throws IOException
+	 */
+	public static List<File> transformAll(File xsl, File xml_dir, File output_dir) throws TransformerException, IOException {
+		File[] xml_files = xml_dir.listFiles((dir, name) -> StringUtils.endsWithIgnoreCase(name, ".xml"));
+		if (xml_files == null) {
+			throw new IOException(xml_dir.getPath() + " is not a folder.");
+		}
+		Arrays.sort(xml_files);
+		Templates templates = getTemplates(xsl);
+		List<File> rtn = new ArrayList<>();
+		for (File xml : xml_files) {
+			File output = new File(output_dir, StringUtils.removeEndIgnoreCase(xml.getName(), ".xml") + ".html");
+			templates.newTransformer().transform(new StreamSource(xml), new StreamResult(output));
+			logger.info(xml.getName() + " -> " + output.getName());
+			rtn.add(output);
+		}
+		return rtn;
+	}
+
+	/**
+	 * Discard all compiled stylesheets.
+	 */
+	public static synchronized void clear() {
+		templates_map.clear();
+	}
+
+	private static class CachedTemplates {
+		Templates templates;
+		long last_modified;
+
+		CachedTemplates(Templates templates, long last_modified) {
+			this.templates = templates;
+			this.last_modified = last_modified;
+		}
+	}
+}
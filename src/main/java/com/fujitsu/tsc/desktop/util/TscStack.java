@@ -9,17 +9,34 @@
 package com.fujitsu.tsc.desktop.util;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * A stack of element names. The path of each element is kept in a tree of nodes while the document is parsed,
+ * so {@link #getPath()} returns the same interned String for the same path without building it again.
+ */
 public class TscStack {
 	private List<String> stack;
+	private List<PathNode> nodes;
+	private PathNode root;
 
 	public TscStack() {
  		stack = new ArrayList<String>();
+		nodes = new ArrayList<PathNode>();
+		root = new PathNode("/");
 	}
 
 	public void push(String qName) {
+		PathNode parent = nodes.isEmpty() ? root : nodes.get(nodes.size() - 1);
+		PathNode node = parent.children.get(qName);
+		if (node == null) {
+			node = new PathNode((parent.path + qName + "/").intern());
+			parent.children.put(qName, node);
+		}
 		stack.add(qName);
+		nodes.add(node);
 	}
 
 	private String popData(Boolean canRemove) {
@@ -36,6 +53,7 @@ public class TscStack {
 			result = stack.get(pos);
 			if(canRemove) {
 				stack.remove(pos);
+				nodes.remove(pos);
 			}
 		}
 
@@ -54,14 +72,12 @@ public class TscStack {
 		return popData(false, 1);
 	}
 
+	/**
+	 * Return the path of the current element, e.g. "/ODM/Study/".
+	 * @return An interned String
+	 */
 	public String getPath() {
-		String separator = "/";
-		String result = separator;
-
-		for(String qName: stack) {
-			result += qName + separator;
-		}
-		return result;
+		return nodes.isEmpty() ? root.path : nodes.get(nodes.size() - 1).path;
 	}
 
 	public int getSize() {
@@ -71,4 +87,13 @@ public class TscStack {
 	public int getPosition() {
 		return this.stack.size() - 1;
 	}
+
+	private static class PathNode {
+		String path;
+		Map<String, PathNode> children = new HashMap<>();
+
+		PathNode(String path) {
+			this.path = path;
+		}
+	}
 }